@@ -0,0 +1,175 @@
+/*
+ * ChecksumUtilBenchmark.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import net.druppi.util.ChecksumAlgorithm;
+import net.druppi.util.ChecksumUtil;
+import net.druppi.util.MultiChecksum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link ChecksumUtil} on files of various sizes.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChecksumUtilBenchmark {
+
+    /** The size of the checksummed file. */
+    @Param({"1024", "1048576", "67108864" })
+    private int size;
+
+    /** The checksummed file. */
+    private File file;
+
+    /** The URL of the checksummed file. */
+    private URL url;
+
+    /** The content of the file. */
+    private byte[] data;
+
+    /** The executor used by the parallel checksum. */
+    private ExecutorService executor;
+
+    /**
+     * Creates the checksummed file.
+     *
+     * @throws IOException if the file cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        data = new byte[size];
+        new Random(size).nextBytes(data);
+        file = File.createTempFile("bench", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+        url = file.toURI().toURL();
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Deletes the checksummed file.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        file.delete();
+    }
+
+    /**
+     * Benchmark of {@link ChecksumUtil#getCRCChecksum(File)}.
+     *
+     * @return the checksum.
+     * @throws IOException if the file cannot be read.
+     */
+    @Benchmark
+    public long crcFile() throws IOException {
+        return ChecksumUtil.getCRCChecksum(file);
+    }
+
+    /**
+     * Benchmark of {@link ChecksumUtil#getCRCChecksum(URL)}.
+     *
+     * @return the checksum.
+     * @throws IOException if the file cannot be read.
+     */
+    @Benchmark
+    public long crcURL() throws IOException {
+        return ChecksumUtil.getCRCChecksum(url);
+    }
+
+    /**
+     * Benchmark of {@link ChecksumUtil#getParallelCRCChecksum(File, ExecutorService)}.
+     *
+     * @return the checksum.
+     * @throws IOException if the file cannot be read.
+     */
+    @Benchmark
+    public long crcParallel() throws IOException {
+        return ChecksumUtil.getParallelCRCChecksum(file, executor);
+    }
+
+    /**
+     * Benchmark of {@link ChecksumUtil#getCRCChecksum(byte[], int, int)}.
+     *
+     * @return the checksum.
+     */
+    @Benchmark
+    public long crcBytes() {
+        return ChecksumUtil.getCRCChecksum(data, 0, data.length);
+    }
+
+    /**
+     * Benchmark of {@link ChecksumUtil#getSHAChecksum(File)}.
+     *
+     * @return the checksum.
+     * @throws IOException if the file cannot be read.
+     * @throws NoSuchAlgorithmException if the SHA algorithm cannot be found.
+     */
+    @Benchmark
+    public byte[] shaFile() throws IOException, NoSuchAlgorithmException {
+        return ChecksumUtil.getSHAChecksum(file);
+    }
+
+    /**
+     * Benchmark of {@link ChecksumUtil#getChecksums(File, ChecksumAlgorithm...)} computing
+     * a CRC-32 and a SHA-1 in one pass.
+     *
+     * @return the checksums.
+     * @throws IOException if the file cannot be read.
+     * @throws NoSuchAlgorithmException if the SHA algorithm cannot be found.
+     */
+    @Benchmark
+    public MultiChecksum crcAndShaFile() throws IOException, NoSuchAlgorithmException {
+        return ChecksumUtil.getChecksums(file, ChecksumAlgorithm.CRC32, ChecksumAlgorithm.SHA);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * ColorUtilBenchmark.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.bench;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import net.druppi.util.ColorUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link ColorUtil#decode(String)} for each supported format.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ColorUtilBenchmark {
+
+    /** The decoded color. */
+    @Param({"#FFC8D3", "#80FFC8D3", "255, 200, 211", "255, 200, 211, 128" })
+    private String color;
+
+    /**
+     * Benchmark of {@link ColorUtil#decode(String)}.
+     *
+     * @return the color.
+     */
+    @Benchmark
+    public Color decode() {
+        return ColorUtil.decode(color);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * ComparatorBenchmark.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.bench;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.druppi.util.ColorComparator;
+import net.druppi.util.FontComparator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the sort of colors and fonts with {@link ColorComparator} and
+ * {@link FontComparator}.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ComparatorBenchmark {
+
+    /** The font names used to create fonts. */
+    private static final String[] FONT_NAMES = {
+        "Dialog", "Serif", "SansSerif", "Monospaced" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    };
+
+    /** The number of sorted elements. */
+    @Param({"100", "10000" })
+    private int count;
+
+    /** The colors to sort. */
+    private Color[] colors;
+
+    /** The fonts to sort. */
+    private Font[] fonts;
+
+    /**
+     * Creates the sorted elements.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(count);
+        colors = new Color[count];
+        fonts = new Font[count];
+        for (int i = 0; i < count; i++) {
+            colors[i] = new Color(random.nextInt(), true);
+            fonts[i] = new Font(FONT_NAMES[random.nextInt(FONT_NAMES.length)],
+                    random.nextInt(4), 8 + random.nextInt(16));
+        }
+    }
+
+    /**
+     * Benchmark of the sort of colors.
+     *
+     * @return the sorted colors.
+     */
+    @Benchmark
+    public Color[] sortColors() {
+        Color[] sorted = colors.clone();
+        Arrays.sort(sorted, ColorComparator.getInstance());
+        return sorted;
+    }
+
+    /**
+     * Benchmark of the sort of fonts.
+     *
+     * @return the sorted fonts.
+     */
+    @Benchmark
+    public Font[] sortFonts() {
+        Font[] sorted = fonts.clone();
+        Arrays.sort(sorted, FontComparator.getInstance());
+        return sorted;
+    }
+}
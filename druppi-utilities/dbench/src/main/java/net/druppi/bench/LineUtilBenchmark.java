@@ -0,0 +1,79 @@
+/*
+ * LineUtilBenchmark.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.bench;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.util.concurrent.TimeUnit;
+
+import net.druppi.util.LineUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link LineUtil#getLineLineIntersection(Line2D, Line2D)}.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LineUtilBenchmark {
+
+    /** A line. */
+    private final Line2D line1 = new Line2D.Double(0, 0, 10, 10);
+
+    /** A line crossing line1. */
+    private final Line2D line2 = new Line2D.Double(0, 10, 10, 0);
+
+    /** A line parallel to line1. */
+    private final Line2D line3 = new Line2D.Double(0, 1, 10, 11);
+
+    /**
+     * Benchmark of the intersection of crossing lines.
+     *
+     * @return the intersection.
+     */
+    @Benchmark
+    public Point2D crossing() {
+        return LineUtil.getLineLineIntersection(line1, line2);
+    }
+
+    /**
+     * Benchmark of the intersection of parallel lines.
+     *
+     * @return the intersection.
+     */
+    @Benchmark
+    public Point2D parallel() {
+        return LineUtil.getLineLineIntersection(line1, line3);
+    }
+}
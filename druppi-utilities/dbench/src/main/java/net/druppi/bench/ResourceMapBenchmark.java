@@ -0,0 +1,171 @@
+/*
+ * ResourceMapBenchmark.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.bench;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.Icon;
+
+import net.druppi.util.ResourceManager;
+import net.druppi.util.ResourceMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link ResourceMap} and {@link ResourceManager}.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ResourceMapBenchmark {
+
+    /** The benchmarked ResourceMap. */
+    private ResourceMap resourceMap;
+
+    /** The builder reused by {@link #appendString()}. */
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * Loads the ResourceMap.
+     */
+    @Setup
+    public void setUp() {
+        resourceMap = ResourceManager.getResourceMap(ResourceMapBenchmark.class);
+    }
+
+    /**
+     * Benchmark of {@link ResourceMap#getString(String)}.
+     *
+     * @return the string.
+     */
+    @Benchmark
+    public String getString() {
+        return resourceMap.getString("Bench.text"); //$NON-NLS-1$
+    }
+
+    /**
+     * Benchmark of {@link ResourceMap#getString(String, Object...)}.
+     *
+     * @return the string.
+     */
+    @Benchmark
+    public String getStringFormat() {
+        return resourceMap.getString("Bench.format", 12, 345, "tools"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Benchmark of {@link ResourceMap#appendString(StringBuilder, String, Object...)}.
+     *
+     * @return the builder.
+     */
+    @Benchmark
+    public StringBuilder appendString() {
+        builder.setLength(0);
+        return resourceMap.appendString(builder, "Bench.format", 12, 345, "tools"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Benchmark of {@link ResourceMap#getString(String)} with a missing key.
+     *
+     * @return the string.
+     */
+    @Benchmark
+    public String getStringMissing() {
+        return resourceMap.getString("Bench.missing"); //$NON-NLS-1$
+    }
+
+    /**
+     * Benchmark of {@link ResourceMap#getColor(String)}.
+     *
+     * @return the color.
+     */
+    @Benchmark
+    public Color getColor() {
+        return resourceMap.getColor("Bench.hexColor"); //$NON-NLS-1$
+    }
+
+    /**
+     * Benchmark of {@link ResourceMap#getFont(String)}.
+     *
+     * @return the font.
+     */
+    @Benchmark
+    public Font getFont() {
+        return resourceMap.getFont("Bench.font"); //$NON-NLS-1$
+    }
+
+    /**
+     * Benchmark of {@link ResourceMap#getInteger(String)}.
+     *
+     * @return the integer.
+     */
+    @Benchmark
+    public int getInteger() {
+        return resourceMap.getInteger("Bench.integer"); //$NON-NLS-1$
+    }
+
+    /**
+     * Benchmark of {@link ResourceMap#getIcon(String)}.
+     *
+     * @return the icon.
+     */
+    @Benchmark
+    public Icon getIcon() {
+        return resourceMap.getIcon("Bench.icon"); //$NON-NLS-1$
+    }
+
+    /**
+     * Benchmark of {@link ResourceManager#getResourceMap(Class)}.
+     *
+     * @return the ResourceMap.
+     */
+    @Benchmark
+    public ResourceMap getResourceMap() {
+        return ResourceManager.getResourceMap(ResourceMapBenchmark.class);
+    }
+
+    /**
+     * Benchmark of {@link ResourceManager#getResourceMap(Class)} called concurrently.
+     *
+     * @return the ResourceMap.
+     */
+    @Benchmark
+    @Threads(4)
+    public ResourceMap getResourceMapConcurrent() {
+        return ResourceManager.getResourceMap(ResourceMapBenchmark.class);
+    }
+}
@@ -31,6 +31,7 @@ import java.beans.PropertyChangeListener;
 import javax.swing.JComponent;
 
 import net.druppi.util.ResourceManager;
+import net.druppi.util.ResourceMap;
 
 /**
  * @author Olivier Sechet
@@ -57,7 +58,7 @@ public class Desk extends JComponent {
      * Creates a new Desk with a default background image.
      */
     public Desk() {
-        this(ResourceManager.getResourceMap(Desk.class).getImage("Desk.image")); //$NON-NLS-1$
+        this(loadDefaultImage());
     }
 
     /**
@@ -71,6 +72,18 @@ public class Desk extends JComponent {
         setLayout(new DeskLayout());
     }
 
+    /**
+     * Loads the default background image. The drawing pin is loaded in the background at
+     * the same time.
+     *
+     * @return the default background image.
+     */
+    private static Image loadDefaultImage() {
+        ResourceMap resourceMap = ResourceManager.getResourceMap(Desk.class);
+        resourceMap.prefetch("Desk.image", "Desk.drawing-pin"); //$NON-NLS-1$ //$NON-NLS-2$
+        return resourceMap.getImage("Desk.image"); //$NON-NLS-1$
+    }
+
     /**
      * Adds a document to the desktop.
      *
@@ -0,0 +1,116 @@
+/*
+ * CacheStatistics.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+/**
+ * A snapshot of the statistics of a cache.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public final class CacheStatistics {
+
+    /** The number of entries. */
+    private final int size;
+
+    /** The number of lookups that found a value. */
+    private final long hitCount;
+
+    /** The number of lookups that did not find a value. */
+    private final long missCount;
+
+    /** The number of values loaded. */
+    private final long loadCount;
+
+    /** The number of entries evicted. */
+    private final long evictionCount;
+
+    /**
+     * Creates a new CacheStatistics.
+     *
+     * @param size the number of entries.
+     * @param hitCount the number of lookups that found a value.
+     * @param missCount the number of lookups that did not find a value.
+     * @param loadCount the number of values loaded.
+     * @param evictionCount the number of entries evicted.
+     */
+    CacheStatistics(final int size, final long hitCount, final long missCount,
+            final long loadCount, final long evictionCount) {
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups that found a value.
+     *
+     * @return the number of hits.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a value.
+     *
+     * @return the number of misses.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of values loaded.
+     *
+     * @return the number of loads.
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Returns the number of entries evicted.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CacheStatistics[size=" + size + ", hits=" + hitCount //$NON-NLS-1$ //$NON-NLS-2$
+                + ", misses=" + missCount + ", loads=" + loadCount //$NON-NLS-1$ //$NON-NLS-2$
+                + ", evictions=" + evictionCount + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * ChecksumAlgorithm.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.Adler32;
+import java.util.zip.Checksum;
+
+/**
+ * The checksum algorithms supported by {@link ChecksumUtil}. The 32 bits checksums are
+ * returned as 4 bytes, most significant first.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public enum ChecksumAlgorithm {
+
+    /** The CRC-32 checksum. */
+    CRC32 {
+        @Override
+        public byte[] checksum(final File file) throws IOException {
+            return toBytes(ChecksumUtil.getCRCChecksum(file));
+        }
+
+        @Override
+        Digester newDigester() {
+            return new ChecksumDigester(new java.util.zip.CRC32());
+        }
+    },
+
+    /** The Adler-32 checksum. */
+    ADLER32 {
+        @Override
+        Digester newDigester() {
+            return new ChecksumDigester(new Adler32());
+        }
+    },
+
+    /** The SHA-1 digest. */
+    SHA {
+        @Override
+        public byte[] checksum(final File file) throws IOException, NoSuchAlgorithmException {
+            return ChecksumUtil.getSHAChecksum(file);
+        }
+
+        @Override
+        Digester newDigester() throws NoSuchAlgorithmException {
+            return new MessageDigester(MessageDigest.getInstance("SHA")); //$NON-NLS-1$
+        }
+    },
+
+    /** The SHA-256 digest. */
+    SHA256 {
+        @Override
+        Digester newDigester() throws NoSuchAlgorithmException {
+            return new MessageDigester(MessageDigest.getInstance("SHA-256")); //$NON-NLS-1$
+        }
+    },
+
+    /** The MD5 digest. */
+    MD5 {
+        @Override
+        Digester newDigester() throws NoSuchAlgorithmException {
+            return new MessageDigester(MessageDigest.getInstance("MD5")); //$NON-NLS-1$
+        }
+    };
+
+    /**
+     * Calculate and returns the checksum of the given file.
+     *
+     * @param file the file to use.
+     * @return the file's checksum.
+     * @throws IOException if an error occurs when opening or reading the file.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    public byte[] checksum(final File file) throws IOException, NoSuchAlgorithmException {
+        return ChecksumUtil.getChecksums(file, this).get(this);
+    }
+
+    /**
+     * Creates a new digester computing a checksum with this algorithm.
+     *
+     * @return a digester.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    abstract Digester newDigester() throws NoSuchAlgorithmException;
+
+    /**
+     * Converts a 32 bits checksum to bytes.
+     *
+     * @param value the checksum.
+     * @return 4 bytes, most significant first.
+     */
+    static byte[] toBytes(final long value) {
+        return new byte[] {
+            (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value
+        };
+    }
+
+    /**
+     * Converts the bytes of a 32 bits checksum to a long.
+     *
+     * @param bytes the bytes, most significant first.
+     * @return the checksum.
+     */
+    static long toLong(final byte[] bytes) {
+        long value = 0;
+        for (byte b : bytes) {
+            value = (value << 8) | (b & 0xff);
+        }
+        return value;
+    }
+
+    /**
+     * Accumulates data and computes its checksum.
+     */
+    interface Digester {
+
+        /**
+         * Updates the checksum with the given bytes.
+         *
+         * @param buffer the data.
+         * @param offset the offset of the data in the buffer.
+         * @param length the length of the data.
+         */
+        void update(byte[] buffer, int offset, int length);
+
+        /**
+         * Returns the checksum of the data.
+         *
+         * @return the checksum.
+         */
+        byte[] digest();
+
+        /**
+         * Resets the digester so that it can compute another checksum.
+         */
+        void reset();
+    }
+
+    /**
+     * A digester based on a Checksum.
+     */
+    private static final class ChecksumDigester implements Digester {
+
+        /** The checksum. */
+        private final Checksum checksum;
+
+        /**
+         * Creates a new ChecksumDigester.
+         *
+         * @param checksum the checksum.
+         */
+        ChecksumDigester(final Checksum checksum) {
+            this.checksum = checksum;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void update(final byte[] buffer, final int offset, final int length) {
+            checksum.update(buffer, offset, length);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte[] digest() {
+            return toBytes(checksum.getValue());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            checksum.reset();
+        }
+    }
+
+    /**
+     * A digester based on a MessageDigest.
+     */
+    private static final class MessageDigester implements Digester {
+
+        /** The digest. */
+        private final MessageDigest digest;
+
+        /**
+         * Creates a new MessageDigester.
+         *
+         * @param digest the digest.
+         */
+        MessageDigester(final MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void update(final byte[] buffer, final int offset, final int length) {
+            digest.update(buffer, offset, length);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte[] digest() {
+            return digest.digest();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() {
+            digest.reset();
+        }
+    }
+}
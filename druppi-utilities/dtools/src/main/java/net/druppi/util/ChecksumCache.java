@@ -0,0 +1,270 @@
+/*
+ * ChecksumCache.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * A cache of file checksums persisted in an index file. Each entry associates a file
+ * and an algorithm with the checksum of the file and the size and last modification
+ * date the file had when the checksum was computed. A file is checksummed again only if
+ * its size or its last modification date changed.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class ChecksumCache {
+
+    /** The class logger. */
+    private static final Logger LOGGER = Logger.getLogger(ChecksumCache.class.getName());
+
+    /** The magic number identifying an index file. */
+    private static final int MAGIC = 0x44435343;
+
+    /** The version of the index file format. */
+    private static final int VERSION = 1;
+
+    /** The index file. */
+    private final File indexFile;
+
+    /** The cache entries by key. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    /** True if the entries were modified since the last load or save. */
+    private volatile boolean dirty;
+
+    /**
+     * Creates a new ChecksumCache. The index file is not read until {@link #load()} is
+     * called.
+     *
+     * @param indexFile the index file (cannot be null).
+     */
+    public ChecksumCache(final File indexFile) {
+        if (indexFile == null) {
+            throw new IllegalArgumentException("The index file cannot be null."); //$NON-NLS-1$
+        }
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Loads the entries of the index file. Nothing is loaded if the file does not exist.
+     *
+     * @throws IOException if an error occurs when reading the index file.
+     */
+    public synchronized void load() throws IOException {
+        if (!indexFile.isFile()) {
+            return;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(indexFile)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.warning("Ignoring invalid checksum index: " + indexFile); //$NON-NLS-1$
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                ChecksumAlgorithm algorithm = ChecksumAlgorithm.valueOf(in.readUTF());
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                byte[] checksum = new byte[in.readUnsignedShort()];
+                in.readFully(checksum);
+                entries.put(getKey(path, algorithm), new Entry(size, lastModified, checksum));
+            }
+            dirty = false;
+        } catch (final IllegalArgumentException ex) {
+            throw new IOException("Invalid checksum index: " + indexFile); //$NON-NLS-1$
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Saves the entries to the index file if they were modified. The index is written to
+     * a temporary file which then replaces the index file.
+     *
+     * @throws IOException if an error occurs when writing the index file.
+     */
+    public synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        // Cleared before the snapshot so that concurrent modifications are saved next time
+        dirty = false;
+        Map<String, Entry> snapshot = new HashMap<String, Entry>(entries);
+        try {
+            write(snapshot);
+        } catch (final IOException ex) {
+            dirty = true;
+            throw ex;
+        } catch (final RuntimeException ex) {
+            dirty = true;
+            throw ex;
+        }
+    }
+
+    /**
+     * Writes the given entries to a temporary file which then replaces the index file. The
+     * temporary file is synced to the disk before it is renamed.
+     *
+     * @param snapshot the entries to write.
+     * @throws IOException if an error occurs when writing the index file.
+     */
+    private void write(final Map<String, Entry> snapshot) throws IOException {
+        File tmpFile = FileUtil.getTemporaryFile(indexFile);
+        FileOutputStream fileOut = new FileOutputStream(tmpFile);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> mapEntry : snapshot.entrySet()) {
+                String key = mapEntry.getKey();
+                int separator = key.lastIndexOf('\0');
+                Entry entry = mapEntry.getValue();
+                out.writeUTF(key.substring(0, separator));
+                out.writeUTF(key.substring(separator + 1));
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                out.writeShort(entry.checksum.length);
+                out.write(entry.checksum);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } finally {
+            out.close();
+        }
+        FileUtil.replace(tmpFile, indexFile);
+    }
+
+    /**
+     * Returns the checksum of the given file. The cached checksum is returned if the size
+     * and the last modification date of the file did not change, otherwise the checksum is
+     * computed and cached.
+     *
+     * @param file the file to use.
+     * @param algorithm the algorithm to use.
+     * @return the file's checksum.
+     * @throws IOException if an error occurs when opening or reading the file.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    public byte[] getChecksum(final File file, final ChecksumAlgorithm algorithm)
+            throws IOException, NoSuchAlgorithmException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        if (algorithm == null) {
+            throw new IllegalArgumentException("The algorithm cannot be null."); //$NON-NLS-1$
+        }
+        String key = getKey(file.getAbsolutePath(), algorithm);
+        long size = file.length();
+        long lastModified = file.lastModified();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            return entry.checksum.clone();
+        }
+
+        byte[] checksum = algorithm.checksum(file);
+        entries.put(key, new Entry(size, lastModified, checksum.clone()));
+        dirty = true;
+        return checksum;
+    }
+
+    /**
+     * Removes the entries of the given file.
+     *
+     * @param file the file.
+     */
+    public void invalidate(final File file) {
+        for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+            if (entries.remove(getKey(file.getAbsolutePath(), algorithm)) != null) {
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public void clear() {
+        entries.clear();
+        dirty = true;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the key of the entry of the given file.
+     *
+     * @param path the absolute path of the file.
+     * @param algorithm the algorithm.
+     * @return a key.
+     */
+    private static String getKey(final String path, final ChecksumAlgorithm algorithm) {
+        return path + '\0' + algorithm.name();
+    }
+
+    /**
+     * A cache entry.
+     */
+    private static final class Entry {
+
+        /** The size of the file. */
+        private final long size;
+
+        /** The last modification date of the file. */
+        private final long lastModified;
+
+        /** The checksum of the file. */
+        private final byte[] checksum;
+
+        /**
+         * Creates a new Entry.
+         *
+         * @param size the size of the file.
+         * @param lastModified the last modification date of the file.
+         * @param checksum the checksum of the file.
+         */
+        Entry(final long size, final long lastModified, final byte[] checksum) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * ChecksumListener.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+/**
+ * A listener notified each time a checksum computed by a batch of
+ * {@link ChecksumUtil} is available.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public interface ChecksumListener {
+
+    /**
+     * Called when the checksum of a file has been computed or has failed. The results are
+     * delivered in completion order, on the thread that started the batch.
+     *
+     * @param result the result.
+     */
+    void checksumComputed(ChecksumResult result);
+}
@@ -0,0 +1,106 @@
+/*
+ * ChecksumResult.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.io.File;
+
+/**
+ * The result of the checksum of a file computed by
+ * {@link ChecksumUtil#checksumAll(File, ChecksumAlgorithm, java.util.concurrent.ExecutorService,
+ * ChecksumListener)}. A result holds either the checksum or the error that prevented its
+ * computation.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public final class ChecksumResult {
+
+    /** The checksummed file. */
+    private final File file;
+
+    /** The algorithm used. */
+    private final ChecksumAlgorithm algorithm;
+
+    /** The checksum or null if an error occurred. */
+    private final byte[] checksum;
+
+    /** The error or null if the checksum was computed. */
+    private final Exception error;
+
+    /**
+     * Creates a new ChecksumResult.
+     *
+     * @param file the checksummed file.
+     * @param algorithm the algorithm used.
+     * @param checksum the checksum or null if an error occurred.
+     * @param error the error or null if the checksum was computed.
+     */
+    ChecksumResult(final File file, final ChecksumAlgorithm algorithm, final byte[] checksum,
+            final Exception error) {
+        this.file = file;
+        this.algorithm = algorithm;
+        this.checksum = checksum;
+        this.error = error;
+    }
+
+    /**
+     * Returns the checksummed file.
+     *
+     * @return a file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the algorithm used to compute the checksum.
+     *
+     * @return an algorithm.
+     */
+    public ChecksumAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns the checksum of the file.
+     *
+     * @return the checksum or null if an error occurred.
+     */
+    public byte[] getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Returns the error that prevented the computation of the checksum.
+     *
+     * @return the error or null if the checksum was computed.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Returns true if the checksum was computed.
+     *
+     * @return true if no error occurred.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -18,14 +18,31 @@
  */
 package net.druppi.util;
 
-import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.CRC32;
-import java.util.zip.CheckedInputStream;
 
 /**
  * Utility class to calculate checksums.
@@ -36,21 +53,288 @@ import java.util.zip.CheckedInputStream;
 public final class ChecksumUtil {
 
     /** The size of the buffer used when reading. */
-    private static final int BUFFER_LENGTH = 2048;
+    private static final int BUFFER_LENGTH = 64 * 1024;
+
+    /** The size up to which regions are read into the buffer instead of being mapped. */
+    private static final int MAP_THRESHOLD = BUFFER_LENGTH;
+
+    /** The maximum size of a region mapped at once. */
+    private static final long MAP_LENGTH = 64L * 1024 * 1024;
+
+    /** The default size of the segments checksummed in parallel. */
+    private static final long SEGMENT_LENGTH = 16L * 1024 * 1024;
+
+    /** The reversed CRC-32 polynomial, used to combine segment checksums. */
+    private static final long CRC32_POLYNOMIAL = 0xedb88320L;
+
+    /** The number of bits of a CRC-32 value. */
+    private static final int CRC32_BITS = 32;
+
+    /** The maximum number of checksums waiting for completion in a batch. */
+    private static final int MAX_PENDING_CHECKSUMS = 256;
+
+    /** The checksum objects and buffer reused by each thread. */
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<Context>() {
+        @Override
+        protected Context initialValue() {
+            return new Context();
+        }
+    };
 
     /**
-     * Calculate and returns the checksum of the given file.
+     * Calculate and returns the checksum of the given file. The file is memory-mapped
+     * instead of being read through a stream.
      *
      * @param file the file to use.
      * @return the file's checksum.
      * @throws IOException if an error occurs when opening or reading the file.
      */
     public static long getCRCChecksum(final File file) throws IOException {
-        return getCRCChecksum(file.toURI().toURL());
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        FileChannel channel = new FileInputStream(file).getChannel();
+        try {
+            return getCRCChecksum(channel, 0, channel.size());
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Calculate and returns the checksum of the given file. The file is split in segments
+     * that are checksummed in parallel by the given executor, the segments' checksums are
+     * then combined. The result is the same as the one of {@link #getCRCChecksum(File)}.
+     *
+     * @param file the file to use.
+     * @param executor the executor used to checksum the segments.
+     * @return the file's checksum.
+     * @throws IOException if an error occurs when opening or reading the file.
+     */
+    public static long getParallelCRCChecksum(final File file, final ExecutorService executor)
+            throws IOException {
+        return getParallelCRCChecksum(file, executor, SEGMENT_LENGTH);
+    }
+
+    /**
+     * Calculate and returns the checksum of the given file using segments of the given
+     * length.
+     *
+     * @param file the file to use.
+     * @param executor the executor used to checksum the segments.
+     * @param segmentLength the length of each segment.
+     * @return the file's checksum.
+     * @throws IOException if an error occurs when opening or reading the file.
+     */
+    static long getParallelCRCChecksum(final File file, final ExecutorService executor,
+            final long segmentLength) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor cannot be null."); //$NON-NLS-1$
+        }
+        final FileChannel channel = new FileInputStream(file).getChannel();
+        try {
+            long size = channel.size();
+            if (size <= segmentLength) {
+                return getCRCChecksum(channel, 0, size);
+            }
+
+            List<Future<Long>> futures = new ArrayList<Future<Long>>();
+            for (long position = 0; position < size; position += segmentLength) {
+                final long start = position;
+                final long length = Math.min(segmentLength, size - position);
+                futures.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws IOException {
+                        return getCRCChecksum(channel, start, length);
+                    }
+                }));
+            }
+
+            long crc = 0;
+            long position = 0;
+            for (Future<Long> future : futures) {
+                long length = Math.min(segmentLength, size - position);
+                crc = combineCRC(crc, future.get(), length);
+                position += length;
+            }
+            return crc;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while computing the checksum: " //$NON-NLS-1$
+                    + file);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Calculate the checksum of a region of the given channel. The region is mapped by
+     * blocks of at most MAP_LENGTH bytes, unless it is small enough to be read into the
+     * thread's buffer.
+     *
+     * @param channel the channel to read.
+     * @param position the position of the region.
+     * @param length the length of the region.
+     * @return the region's checksum.
+     * @throws IOException if an error occurs when mapping the channel.
+     */
+    static long getCRCChecksum(final FileChannel channel, final long position,
+            final long length) throws IOException {
+        Context context = CONTEXT.get();
+        CRC32 crc = context.getCRC();
+        byte[] buffer = context.buffer;
+        if (length <= MAP_THRESHOLD) {
+            crc.update(buffer, 0, read(channel, position, (int) length, context));
+            return crc.getValue();
+        }
+        long end = position + length;
+        for (long start = position; start < end; start += MAP_LENGTH) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(MAP_LENGTH, end - start));
+            while (mapped.hasRemaining()) {
+                int len = Math.min(buffer.length, mapped.remaining());
+                mapped.get(buffer, 0, len);
+                crc.update(buffer, 0, len);
+            }
+        }
+        return crc.getValue();
     }
 
     /**
-     * Calculate and returns the checksum of the given URL.
+     * Reads a region of the given channel into the buffer of the given context. Small
+     * regions are cheaper to read than to map.
+     *
+     * @param channel the channel to read.
+     * @param position the position of the region.
+     * @param length the length of the region, at most the length of the buffer.
+     * @param context the context providing the buffer.
+     * @return the number of bytes read, less than the length if the end of the channel
+     *         is reached.
+     * @throws IOException if an error occurs when reading the channel.
+     */
+    private static int read(final FileChannel channel, final long position, final int length,
+            final Context context) throws IOException {
+        ByteBuffer wrapper = context.wrapper;
+        wrapper.clear();
+        wrapper.limit(length);
+        while (wrapper.hasRemaining()
+                && channel.read(wrapper, position + wrapper.position()) >= 0) {
+            // Read until the region is complete or the end of the channel
+        }
+        return wrapper.position();
+    }
+
+    /**
+     * Combines two CRC-32 checksums. The result is the checksum of the concatenation of
+     * the two blocks. This is the algorithm of zlib's crc32_combine().
+     *
+     * @param crc1 the checksum of the first block.
+     * @param crc2 the checksum of the second block.
+     * @param length2 the length of the second block.
+     * @return the checksum of the two blocks.
+     */
+    static long combineCRC(final long crc1, final long crc2, final long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        long[] even = new long[CRC32_BITS];
+        long[] odd = new long[CRC32_BITS];
+
+        // Operator for one zero bit
+        odd[0] = CRC32_POLYNOMIAL;
+        long row = 1;
+        for (int n = 1; n < CRC32_BITS; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        // Operators for two and four zero bits
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+
+        // Apply length2 zeros to crc1
+        long crc = crc1;
+        long len = length2;
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((len & 1) != 0) {
+                crc = gf2MatrixTimes(even, crc);
+            }
+            len >>= 1;
+            if (len == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((len & 1) != 0) {
+                crc = gf2MatrixTimes(odd, crc);
+            }
+            len >>= 1;
+        } while (len != 0);
+
+        return crc ^ crc2;
+    }
+
+    /**
+     * Multiplies a GF(2) matrix by a vector.
+     *
+     * @param matrix the matrix.
+     * @param vector the vector.
+     * @return the product.
+     */
+    private static long gf2MatrixTimes(final long[] matrix, final long vector) {
+        long sum = 0;
+        long vec = vector;
+        for (int i = 0; vec != 0; i++, vec >>>= 1) {
+            if ((vec & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Squares a GF(2) matrix.
+     *
+     * @param square the matrix receiving the result.
+     * @param matrix the matrix to square.
+     */
+    private static void gf2MatrixSquare(final long[] square, final long[] matrix) {
+        for (int n = 0; n < CRC32_BITS; n++) {
+            square[n] = gf2MatrixTimes(matrix, matrix[n]);
+        }
+    }
+
+    /**
+     * Returns the file designated by the given URL or null if the URL does not
+     * designate a local file.
+     *
+     * @param url the URL.
+     * @return a file or null.
+     */
+    static File toFile(final URL url) {
+        if (!"file".equals(url.getProtocol())) { //$NON-NLS-1$
+            return null;
+        }
+        try {
+            File file = new File(url.toURI());
+            return file.isFile() ? file : null;
+        } catch (final URISyntaxException ex) {
+            return null;
+        } catch (final IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Calculate and returns the checksum of the given URL. Local files are
+     * memory-mapped.
      *
      * @param url the URL to use.
      * @return the file's checksum.
@@ -60,15 +344,69 @@ public final class ChecksumUtil {
         if (url == null) {
             throw new IllegalArgumentException("The URL cannot be null."); //$NON-NLS-1$
         }
-        CheckedInputStream stream = new CheckedInputStream(url.openStream(), new CRC32());
+        File file = toFile(url);
+        if (file != null) {
+            return getCRCChecksum(file);
+        }
+        Context context = CONTEXT.get();
+        CRC32 crc = context.getCRC();
+        byte[] buffer = context.buffer;
+        InputStream stream = url.openStream();
+        try {
+            int len = stream.read(buffer);
+            while (len >= 0) {
+                crc.update(buffer, 0, len);
+                len = stream.read(buffer);
+            }
+        } finally {
+            stream.close();
+        }
+        return crc.getValue();
+    }
 
-        int len;
-        byte[] buffer = new byte[BUFFER_LENGTH];
-        do {
-            len = stream.read(buffer);
-        } while (len >= 0);
+    /**
+     * Calculate and returns the checksum of the given bytes. The method does not allocate
+     * any object.
+     *
+     * @param data the data.
+     * @param offset the offset of the data in the array.
+     * @param length the length of the data.
+     * @return the data's checksum.
+     */
+    public static long getCRCChecksum(final byte[] data, final int offset, final int length) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data cannot be null."); //$NON-NLS-1$
+        }
+        CRC32 crc = CONTEXT.get().getCRC();
+        crc.update(data, offset, length);
+        return crc.getValue();
+    }
 
-        return stream.getChecksum().getValue();
+    /**
+     * Calculate and returns the checksum of the remaining bytes of the given buffer. The
+     * buffer's position is moved to its limit. The method does not allocate any object.
+     *
+     * @param data the data.
+     * @return the data's checksum.
+     */
+    public static long getCRCChecksum(final ByteBuffer data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data cannot be null."); //$NON-NLS-1$
+        }
+        Context context = CONTEXT.get();
+        CRC32 crc = context.getCRC();
+        if (data.hasArray()) {
+            crc.update(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            data.position(data.limit());
+        } else {
+            byte[] buffer = context.buffer;
+            while (data.hasRemaining()) {
+                int len = Math.min(buffer.length, data.remaining());
+                data.get(buffer, 0, len);
+                crc.update(buffer, 0, len);
+            }
+        }
+        return crc.getValue();
     }
 
     /**
@@ -85,7 +423,34 @@ public final class ChecksumUtil {
     }
 
     /**
-     * Calculate and returns the checksum of the given file.
+     * Checks the given checksum against the given file. The checksum of the file is
+     * taken from the given cache and is only computed if the file changed.
+     *
+     * @param file the file to check.
+     * @param checksum the checksum to compare.
+     * @param cache the cache to use.
+     * @return true if the checksums are equals.
+     * @throws IOException if an error occurs when opening or reading the file.
+     */
+    public static boolean checkCRCChecksum(final File file, final long checksum,
+            final ChecksumCache cache) throws IOException {
+        if (cache == null) {
+            throw new IllegalArgumentException("The cache cannot be null."); //$NON-NLS-1$
+        }
+        byte[] bytes;
+        try {
+            bytes = cache.getChecksum(file, ChecksumAlgorithm.CRC32);
+        } catch (final NoSuchAlgorithmException ex) {
+            // CRC32 does not rely on a security provider
+            throw new IllegalStateException(ex);
+        }
+        return checksum == ChecksumAlgorithm.toLong(bytes);
+    }
+
+    /**
+     * Calculate and returns the checksum of the given file. The file is memory-mapped
+     * and the mapped buffers are given directly to the digest. Small files are read
+     * instead.
      *
      * @param file the file to use.
      * @return the file's checksum.
@@ -93,11 +458,31 @@ public final class ChecksumUtil {
      * @throws NoSuchAlgorithmException if the SHA algorithm cannot be found.
      */
     public static byte[] getSHAChecksum(final File file) throws IOException, NoSuchAlgorithmException {
-        return getSHAChecksum(file.toURI().toURL());
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        Context context = CONTEXT.get();
+        MessageDigest msgDigest = context.getSHA();
+        FileChannel channel = new FileInputStream(file).getChannel();
+        try {
+            long size = channel.size();
+            if (size <= MAP_THRESHOLD) {
+                msgDigest.update(context.buffer, 0, read(channel, 0, (int) size, context));
+                return msgDigest.digest();
+            }
+            for (long start = 0; start < size; start += MAP_LENGTH) {
+                msgDigest.update(channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(MAP_LENGTH, size - start)));
+            }
+        } finally {
+            channel.close();
+        }
+        return msgDigest.digest();
     }
 
     /**
-     * Calculate and returns the checksum of the given URL.
+     * Calculate and returns the checksum of the given URL. Local files are
+     * memory-mapped.
      *
      * @param url the URL to use.
      * @return the file's checksum.
@@ -108,18 +493,76 @@ public final class ChecksumUtil {
         if (url == null) {
             throw new IllegalArgumentException("The URL cannot be null."); //$NON-NLS-1$
         }
+        File file = toFile(url);
+        if (file != null) {
+            return getSHAChecksum(file);
+        }
 
-        MessageDigest msgDigest = MessageDigest.getInstance("SHA"); //$NON-NLS-1$
-        BufferedInputStream stream = new BufferedInputStream(url.openStream());
-        byte[] buffer = new byte[BUFFER_LENGTH];
-        int len = stream.read(buffer);
-        while (len >= 0) {
-            msgDigest.update(buffer, 0, len);
-            len = stream.read(buffer);
+        Context context = CONTEXT.get();
+        MessageDigest msgDigest = context.getSHA();
+        byte[] buffer = context.buffer;
+        InputStream stream = url.openStream();
+        try {
+            int len = stream.read(buffer);
+            while (len >= 0) {
+                msgDigest.update(buffer, 0, len);
+                len = stream.read(buffer);
+            }
+        } finally {
+            stream.close();
         }
         return msgDigest.digest();
     }
 
+    /**
+     * Calculate and returns the checksum of the given bytes.
+     *
+     * @param data the data.
+     * @param offset the offset of the data in the array.
+     * @param length the length of the data.
+     * @return the data's checksum.
+     * @throws NoSuchAlgorithmException if the SHA algorithm cannot be found.
+     */
+    public static byte[] getSHAChecksum(final byte[] data, final int offset, final int length)
+            throws NoSuchAlgorithmException {
+        if (data == null) {
+            throw new IllegalArgumentException("The data cannot be null."); //$NON-NLS-1$
+        }
+        MessageDigest msgDigest = CONTEXT.get().getSHA();
+        msgDigest.update(data, offset, length);
+        return msgDigest.digest();
+    }
+
+    /**
+     * Calculate the checksum of the remaining bytes of the given buffer and stores it in
+     * the given array. The buffer's position is moved to its limit. The method does not
+     * allocate any object.
+     *
+     * @param data the data.
+     * @param digest the array receiving the checksum.
+     * @param offset the offset of the checksum in the array.
+     * @return the length of the checksum.
+     * @throws NoSuchAlgorithmException if the SHA algorithm cannot be found.
+     * @throws IllegalArgumentException if the array is too small.
+     */
+    public static int getSHAChecksum(final ByteBuffer data, final byte[] digest,
+            final int offset) throws NoSuchAlgorithmException {
+        if (data == null) {
+            throw new IllegalArgumentException("The data cannot be null."); //$NON-NLS-1$
+        }
+        if (digest == null) {
+            throw new IllegalArgumentException("The digest cannot be null."); //$NON-NLS-1$
+        }
+        MessageDigest msgDigest = CONTEXT.get().getSHA();
+        msgDigest.update(data);
+        try {
+            return msgDigest.digest(digest, offset, digest.length - offset);
+        } catch (final DigestException ex) {
+            msgDigest.reset();
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+    }
+
     /**
      * Checks the given checksums against the given URL.
      *
@@ -132,4 +575,346 @@ public final class ChecksumUtil {
     public static boolean checkSHAChecksum(final URL url, final byte[] digest) throws NoSuchAlgorithmException, IOException {
         return MessageDigest.isEqual(digest, getSHAChecksum(url));
     }
+
+    /**
+     * Checks the given checksum against the given file. The checksum of the file is
+     * taken from the given cache and is only computed if the file changed.
+     *
+     * @param file the file to check.
+     * @param digest the checksum to compare.
+     * @param cache the cache to use.
+     * @return true if the checksums are equals.
+     * @throws IOException if an error occurs when opening or reading the file.
+     * @throws NoSuchAlgorithmException if the SHA algorithm cannot be found.
+     */
+    public static boolean checkSHAChecksum(final File file, final byte[] digest,
+            final ChecksumCache cache) throws NoSuchAlgorithmException, IOException {
+        if (cache == null) {
+            throw new IllegalArgumentException("The cache cannot be null."); //$NON-NLS-1$
+        }
+        return MessageDigest.isEqual(digest, cache.getChecksum(file, ChecksumAlgorithm.SHA));
+    }
+
+    /**
+     * Calculate the checksums of the given file with several algorithms. The file is read
+     * only once: each block is given to all the algorithms. Only the files larger than the
+     * read buffer are memory-mapped.
+     *
+     * @param file the file to use.
+     * @param algorithms the algorithms to use.
+     * @return the file's checksums.
+     * @throws IOException if an error occurs when opening or reading the file.
+     * @throws NoSuchAlgorithmException if one of the algorithms cannot be found.
+     */
+    public static MultiChecksum getChecksums(final File file,
+            final ChecksumAlgorithm... algorithms) throws IOException, NoSuchAlgorithmException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        EnumMap<ChecksumAlgorithm, ChecksumAlgorithm.Digester> digesters =
+                newDigesters(algorithms);
+        ChecksumAlgorithm.Digester[] targets = digesters.values().toArray(
+                new ChecksumAlgorithm.Digester[digesters.size()]);
+
+        FileChannel channel = new FileInputStream(file).getChannel();
+        try {
+            long size = channel.size();
+            Context context = CONTEXT.get();
+            byte[] buffer = context.buffer;
+            if (size <= MAP_THRESHOLD) {
+                int len = read(channel, 0, (int) size, context);
+                for (ChecksumAlgorithm.Digester digester : targets) {
+                    digester.update(buffer, 0, len);
+                }
+                return toMultiChecksum(digesters);
+            }
+            for (long start = 0; start < size; start += MAP_LENGTH) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(MAP_LENGTH, size - start));
+                while (mapped.hasRemaining()) {
+                    int len = Math.min(buffer.length, mapped.remaining());
+                    mapped.get(buffer, 0, len);
+                    for (ChecksumAlgorithm.Digester digester : targets) {
+                        digester.update(buffer, 0, len);
+                    }
+                }
+            }
+        } finally {
+            channel.close();
+        }
+        return toMultiChecksum(digesters);
+    }
+
+    /**
+     * Calculate the checksums of the given URL with several algorithms. The URL is read
+     * only once: each block is given to all the algorithms. Local files are memory-mapped.
+     *
+     * @param url the URL to use.
+     * @param algorithms the algorithms to use.
+     * @return the URL's checksums.
+     * @throws IOException if an error occurs when opening or reading the URL.
+     * @throws NoSuchAlgorithmException if one of the algorithms cannot be found.
+     */
+    public static MultiChecksum getChecksums(final URL url, final ChecksumAlgorithm... algorithms)
+            throws IOException, NoSuchAlgorithmException {
+        if (url == null) {
+            throw new IllegalArgumentException("The URL cannot be null."); //$NON-NLS-1$
+        }
+        File file = toFile(url);
+        if (file != null) {
+            return getChecksums(file, algorithms);
+        }
+        EnumMap<ChecksumAlgorithm, ChecksumAlgorithm.Digester> digesters =
+                newDigesters(algorithms);
+        ChecksumAlgorithm.Digester[] targets = digesters.values().toArray(
+                new ChecksumAlgorithm.Digester[digesters.size()]);
+
+        InputStream stream = url.openStream();
+        try {
+            byte[] buffer = CONTEXT.get().buffer;
+            int len = stream.read(buffer);
+            while (len >= 0) {
+                for (ChecksumAlgorithm.Digester digester : targets) {
+                    digester.update(buffer, 0, len);
+                }
+                len = stream.read(buffer);
+            }
+        } finally {
+            stream.close();
+        }
+        return toMultiChecksum(digesters);
+    }
+
+    /**
+     * Creates the digesters of the given algorithms.
+     *
+     * @param algorithms the algorithms.
+     * @return the digesters by algorithm.
+     * @throws NoSuchAlgorithmException if one of the algorithms cannot be found.
+     */
+    private static EnumMap<ChecksumAlgorithm, ChecksumAlgorithm.Digester> newDigesters(
+            final ChecksumAlgorithm... algorithms) throws NoSuchAlgorithmException {
+        if (algorithms == null || algorithms.length == 0) {
+            throw new IllegalArgumentException("At least one algorithm is needed."); //$NON-NLS-1$
+        }
+        EnumMap<ChecksumAlgorithm, ChecksumAlgorithm.Digester> digesters =
+                new EnumMap<ChecksumAlgorithm, ChecksumAlgorithm.Digester>(ChecksumAlgorithm.class);
+        for (ChecksumAlgorithm algorithm : algorithms) {
+            if (algorithm == null) {
+                throw new IllegalArgumentException("The algorithm cannot be null."); //$NON-NLS-1$
+            }
+            if (!digesters.containsKey(algorithm)) {
+                digesters.put(algorithm, algorithm.newDigester());
+            }
+        }
+        return digesters;
+    }
+
+    /**
+     * Collects the checksums of the given digesters.
+     *
+     * @param digesters the digesters by algorithm.
+     * @return the checksums.
+     */
+    private static MultiChecksum toMultiChecksum(
+            final EnumMap<ChecksumAlgorithm, ChecksumAlgorithm.Digester> digesters) {
+        EnumMap<ChecksumAlgorithm, byte[]> checksums =
+                new EnumMap<ChecksumAlgorithm, byte[]>(ChecksumAlgorithm.class);
+        for (Map.Entry<ChecksumAlgorithm, ChecksumAlgorithm.Digester> entry
+                : digesters.entrySet()) {
+            checksums.put(entry.getKey(), entry.getValue().digest());
+        }
+        return new MultiChecksum(checksums);
+    }
+
+    /**
+     * Calculate the checksums of all the files contained in the given directory and its
+     * sub-directories. The checksums are computed concurrently by the given executor and
+     * the listener is notified, on the calling thread, as soon as each result is
+     * available. A failure on a file is reported to the listener and does not abort the
+     * batch. If root is a file, only this file is checksummed.
+     *
+     * @param root the root directory.
+     * @param algorithm the algorithm to use.
+     * @param executor the executor used to compute the checksums.
+     * @param listener the listener notified of each result.
+     * @return the number of results notified to the listener.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for
+     *         a result.
+     */
+    public static int checksumAll(final File root, final ChecksumAlgorithm algorithm,
+            final ExecutorService executor, final ChecksumListener listener)
+            throws InterruptedException {
+        if (root == null) {
+            throw new IllegalArgumentException("The root cannot be null."); //$NON-NLS-1$
+        }
+        if (algorithm == null) {
+            throw new IllegalArgumentException("The algorithm cannot be null."); //$NON-NLS-1$
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor cannot be null."); //$NON-NLS-1$
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("The listener cannot be null."); //$NON-NLS-1$
+        }
+
+        CompletionService<ChecksumResult> service =
+                new ExecutorCompletionService<ChecksumResult>(executor);
+        int count = 0;
+        int pending = 0;
+
+        LinkedList<File> files = new LinkedList<File>();
+        files.add(root);
+        while (!files.isEmpty()) {
+            File file = files.removeFirst();
+            if (file.isDirectory()) {
+                File[] children = file.listFiles();
+                if (children == null) {
+                    listener.checksumComputed(new ChecksumResult(file, algorithm, null,
+                            new IOException("Cannot list the directory: " + file))); //$NON-NLS-1$
+                    count++;
+                } else {
+                    for (File child : children) {
+                        files.add(child);
+                    }
+                }
+                continue;
+            }
+
+            // Bound the number of pending checksums to keep the memory usage flat
+            if (pending >= MAX_PENDING_CHECKSUMS) {
+                listener.checksumComputed(takeResult(service));
+                pending--;
+                count++;
+            }
+            service.submit(new ChecksumTask(file, algorithm));
+            pending++;
+        }
+
+        while (pending > 0) {
+            listener.checksumComputed(takeResult(service));
+            pending--;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Calculate the checksums of all the files contained in the given directory and its
+     * sub-directories using a pool of the given number of threads.
+     *
+     * @param root the root directory.
+     * @param algorithm the algorithm to use.
+     * @param threads the number of threads used to compute the checksums.
+     * @param listener the listener notified of each result.
+     * @return the number of results notified to the listener.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for
+     *         a result.
+     * @see #checksumAll(File, ChecksumAlgorithm, ExecutorService, ChecksumListener)
+     */
+    public static int checksumAll(final File root, final ChecksumAlgorithm algorithm,
+            final int threads, final ChecksumListener listener) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return checksumAll(root, algorithm, executor, listener);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for the next result of the given service.
+     *
+     * @param service the service.
+     * @return the next result.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private static ChecksumResult takeResult(final CompletionService<ChecksumResult> service)
+            throws InterruptedException {
+        try {
+            return service.take().get();
+        } catch (final ExecutionException ex) {
+            // ChecksumTask catches its exceptions, only errors can get here
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * A task computing the checksum of a file.
+     */
+    private static final class ChecksumTask implements Callable<ChecksumResult> {
+
+        /** The file to checksum. */
+        private final File file;
+
+        /** The algorithm to use. */
+        private final ChecksumAlgorithm algorithm;
+
+        /**
+         * Creates a new ChecksumTask.
+         *
+         * @param file the file to checksum.
+         * @param algorithm the algorithm to use.
+         */
+        ChecksumTask(final File file, final ChecksumAlgorithm algorithm) {
+            this.file = file;
+            this.algorithm = algorithm;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ChecksumResult call() {
+            try {
+                return new ChecksumResult(file, algorithm, algorithm.checksum(file), null);
+            } catch (final Exception ex) {
+                return new ChecksumResult(file, algorithm, null, ex);
+            }
+        }
+    }
+
+    /**
+     * The checksum objects and buffer of a thread. They are reused by the successive
+     * calls in order to avoid allocations.
+     */
+    private static final class Context {
+
+        /** The buffer used when reading. */
+        private final byte[] buffer = new byte[BUFFER_LENGTH];
+
+        /** The buffer wrapped for channel reads. */
+        private final ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+
+        /** The CRC-32 checksum. */
+        private final CRC32 crc = new CRC32();
+
+        /** The SHA digest, created on first use. */
+        private MessageDigest sha;
+
+        /**
+         * Returns the CRC-32 checksum, reset.
+         *
+         * @return the checksum.
+         */
+        CRC32 getCRC() {
+            crc.reset();
+            return crc;
+        }
+
+        /**
+         * Returns the SHA digest, reset.
+         *
+         * @return the digest.
+         * @throws NoSuchAlgorithmException if the SHA algorithm cannot be found.
+         */
+        MessageDigest getSHA() throws NoSuchAlgorithmException {
+            if (sha == null) {
+                sha = MessageDigest.getInstance("SHA"); //$NON-NLS-1$
+            } else {
+                sha.reset();
+            }
+            return sha;
+        }
+    }
 }
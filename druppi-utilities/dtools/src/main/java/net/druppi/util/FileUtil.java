@@ -0,0 +1,74 @@
+/*
+ * FileUtil.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Utility methods writing files safely.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class FileUtil {
+
+    /**
+     * Creates a new FileUtil. The constructor is private because the class is a utility
+     * class.
+     */
+    private FileUtil() {
+        // no op
+    }
+
+    /**
+     * Returns the temporary file a new version of the given file is written to before it
+     * replaces the file (see {@link #replace(File, File)}).
+     *
+     * @param file the file.
+     * @return the temporary file, in the same directory.
+     */
+    static File getTemporaryFile(final File file) {
+        return new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+    }
+
+    /**
+     * Replaces a file with a temporary file. The temporary file should be synchronized
+     * with the storage device before, so that the new content is durable once it is
+     * renamed.
+     * <p>
+     * The replacement is atomic on the platforms that can rename a file over an existing
+     * one. On the other platforms, e.g. Windows, the file is deleted then the temporary
+     * file is renamed: this fallback is not atomic, a crash between the two steps leaves
+     * no file but the temporary file, which holds the new content.
+     *
+     * @param tmpFile the temporary file.
+     * @param file the file to replace.
+     * @throws IOException if the file cannot be replaced.
+     */
+    static void replace(final File tmpFile, final File file) throws IOException {
+        if (tmpFile.renameTo(file)) {
+            return;
+        }
+        // Some platforms cannot rename over an existing file
+        if (!file.delete() || !tmpFile.renameTo(file)) {
+            throw new IOException("Cannot replace the file: " + file); //$NON-NLS-1$
+        }
+    }
+}
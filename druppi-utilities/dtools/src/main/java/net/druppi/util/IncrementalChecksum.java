@@ -0,0 +1,180 @@
+/*
+ * IncrementalChecksum.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * A CRC-32 checksum of a file that grows by appending. The checksum remembers how many
+ * bytes were already checksummed, so that an update only reads the bytes appended since
+ * the previous update. The state can be persisted with {@link #write(DataOutput)} and
+ * restored with {@link #read(DataInput)}.
+ * <p>
+ * The last bytes checksummed are fingerprinted: if they changed, or if the file got
+ * shorter, the file was not only appended and the checksum is computed from the start.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public final class IncrementalChecksum {
+
+    /** The maximum number of bytes used for the fingerprint. */
+    private static final int FINGERPRINT_LENGTH = 4096;
+
+    /** The number of bytes checksummed. */
+    private long length;
+
+    /** The checksum of the first length bytes. */
+    private long value;
+
+    /** The CRC-32 of the last bytes checksummed. */
+    private long fingerprint;
+
+    /**
+     * Creates a new IncrementalChecksum. No byte is checksummed yet.
+     */
+    public IncrementalChecksum() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Creates a new IncrementalChecksum with the given state.
+     *
+     * @param length the number of bytes checksummed.
+     * @param value the checksum of the bytes.
+     * @param fingerprint the CRC-32 of the last bytes checksummed.
+     */
+    private IncrementalChecksum(final long length, final long value, final long fingerprint) {
+        this.length = length;
+        this.value = value;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Updates the checksum with the bytes appended to the given file and returns the
+     * checksum of the whole file. The result is the same as the one of
+     * {@link ChecksumUtil#getCRCChecksum(File)}.
+     *
+     * @param file the file to use.
+     * @return the file's checksum.
+     * @throws IOException if an error occurs when opening or reading the file.
+     */
+    public synchronized long update(final File file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        FileChannel channel = new FileInputStream(file).getChannel();
+        try {
+            long size = channel.size();
+            if (size < length || getFingerprint(channel, length) != fingerprint) {
+                // The file was not only appended
+                length = 0;
+                value = 0;
+            }
+            if (size > length) {
+                long crc = ChecksumUtil.getCRCChecksum(channel, length, size - length);
+                value = ChecksumUtil.combineCRC(value, crc, size - length);
+                length = size;
+                fingerprint = getFingerprint(channel, length);
+            }
+            return value;
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Checks the given checksum against the given file. Only the bytes appended since
+     * the last update are read.
+     *
+     * @param file the file to check.
+     * @param checksum the checksum to compare.
+     * @return true if the checksums are equals.
+     * @throws IOException if an error occurs when opening or reading the file.
+     */
+    public boolean check(final File file, final long checksum) throws IOException {
+        return checksum == update(file);
+    }
+
+    /**
+     * Returns the checksum of the bytes checksummed so far.
+     *
+     * @return the checksum.
+     */
+    public synchronized long getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the number of bytes checksummed so far.
+     *
+     * @return a number of bytes.
+     */
+    public synchronized long getLength() {
+        return length;
+    }
+
+    /**
+     * Writes the state of the checksum.
+     *
+     * @param out the output.
+     * @throws IOException if an error occurs when writing.
+     */
+    public synchronized void write(final DataOutput out) throws IOException {
+        out.writeLong(length);
+        out.writeInt((int) value);
+        out.writeInt((int) fingerprint);
+    }
+
+    /**
+     * Reads the state of a checksum written with {@link #write(DataOutput)}.
+     *
+     * @param in the input.
+     * @return the checksum.
+     * @throws IOException if an error occurs when reading.
+     */
+    public static IncrementalChecksum read(final DataInput in) throws IOException {
+        long length = in.readLong();
+        long value = in.readInt() & 0xffffffffL;
+        long fingerprint = in.readInt() & 0xffffffffL;
+        if (length < 0) {
+            throw new IOException("Invalid checksum length: " + length); //$NON-NLS-1$
+        }
+        return new IncrementalChecksum(length, value, fingerprint);
+    }
+
+    /**
+     * Returns the CRC-32 of the bytes preceding the given position.
+     *
+     * @param channel the channel to read.
+     * @param position the position.
+     * @return the fingerprint.
+     * @throws IOException if an error occurs when reading.
+     */
+    private static long getFingerprint(final FileChannel channel, final long position)
+            throws IOException {
+        long start = Math.max(0, position - FINGERPRINT_LENGTH);
+        return ChecksumUtil.getCRCChecksum(channel, start, position - start);
+    }
+}
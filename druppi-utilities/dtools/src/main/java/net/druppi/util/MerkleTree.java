@@ -0,0 +1,421 @@
+/*
+ * MerkleTree.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A hash tree of the fixed size blocks of a file. The leaves are the checksums of the
+ * blocks and each node is the checksum of its two children, the root summarizes the whole
+ * file. The tree allows to localize a corruption and to verify a part of a file without
+ * reading the whole file.
+ * <p>
+ * A leaf is the checksum of the byte 0 followed by the block, a node the checksum of
+ * the byte 1 followed by the checksums of its children. A node without sibling is
+ * promoted to the next level unchanged.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public final class MerkleTree {
+
+    /** The magic number identifying a serialized tree. */
+    private static final int MAGIC = 0x444d4b54;
+
+    /** The prefix of the leaves' data. */
+    private static final byte LEAF_PREFIX = 0;
+
+    /** The prefix of the nodes' data. */
+    private static final byte NODE_PREFIX = 1;
+
+    /** The minimum number of bytes hashed by a parallel task. */
+    private static final long MIN_TASK_LENGTH = 4L * 1024 * 1024;
+
+    /** The maximum size of a region mapped at once. */
+    private static final long MAP_LENGTH = 64L * 1024 * 1024;
+
+    /** The size of the buffer used to copy mapped data. */
+    private static final int BUFFER_LENGTH = 64 * 1024;
+
+    /** The algorithm used to compute the checksums. */
+    private final ChecksumAlgorithm algorithm;
+
+    /** The size of the blocks. */
+    private final int blockSize;
+
+    /** The length of the file. */
+    private final long length;
+
+    /** The levels of the tree, from the leaves to the root. */
+    private final List<byte[][]> levels;
+
+    /**
+     * Creates a new MerkleTree from its leaves.
+     *
+     * @param algorithm the algorithm used to compute the checksums.
+     * @param blockSize the size of the blocks.
+     * @param length the length of the file.
+     * @param leaves the checksums of the blocks.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    private MerkleTree(final ChecksumAlgorithm algorithm, final int blockSize, final long length,
+            final byte[][] leaves) throws NoSuchAlgorithmException {
+        this.algorithm = algorithm;
+        this.blockSize = blockSize;
+        this.length = length;
+        this.levels = new ArrayList<byte[][]>();
+
+        byte[][] level = leaves;
+        levels.add(level);
+        ChecksumAlgorithm.Digester digester = algorithm.newDigester();
+        byte[] prefix = new byte[] {NODE_PREFIX};
+        while (level.length > 1) {
+            byte[][] parents = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < parents.length; i++) {
+                if (2 * i + 1 < level.length) {
+                    digester.reset();
+                    digester.update(prefix, 0, 1);
+                    digester.update(level[2 * i], 0, level[2 * i].length);
+                    digester.update(level[2 * i + 1], 0, level[2 * i + 1].length);
+                    parents[i] = digester.digest();
+                } else {
+                    parents[i] = level[2 * i];
+                }
+            }
+            level = parents;
+            levels.add(level);
+        }
+    }
+
+    /**
+     * Builds the tree of the given file. If an executor is given, the blocks are hashed in
+     * parallel.
+     *
+     * @param file the file to use.
+     * @param blockSize the size of the blocks.
+     * @param algorithm the algorithm used to compute the checksums.
+     * @param executor the executor used to hash the blocks or null to hash them in the
+     *        calling thread.
+     * @return the tree.
+     * @throws IOException if an error occurs when opening or reading the file.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    public static MerkleTree build(final File file, final int blockSize,
+            final ChecksumAlgorithm algorithm, final ExecutorService executor)
+            throws IOException, NoSuchAlgorithmException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("The block size must be positive."); //$NON-NLS-1$
+        }
+        if (algorithm == null) {
+            throw new IllegalArgumentException("The algorithm cannot be null."); //$NON-NLS-1$
+        }
+        final FileChannel channel = new FileInputStream(file).getChannel();
+        try {
+            final long size = channel.size();
+            final byte[][] leaves = new byte[getBlockCount(size, blockSize)][];
+            if (executor == null) {
+                hashBlocks(channel, size, blockSize, algorithm, leaves, 0, leaves.length);
+                return new MerkleTree(algorithm, blockSize, size, leaves);
+            }
+
+            int blocksPerTask = (int) Math.max(1, MIN_TASK_LENGTH / blockSize);
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int first = 0; first < leaves.length; first += blocksPerTask) {
+                final int from = first;
+                final int to = Math.min(leaves.length, first + blocksPerTask);
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException, NoSuchAlgorithmException {
+                        hashBlocks(channel, size, blockSize, algorithm, leaves, from, to);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            return new MerkleTree(algorithm, blockSize, size, leaves);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while hashing: " + file); //$NON-NLS-1$
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            if (ex.getCause() instanceof NoSuchAlgorithmException) {
+                throw (NoSuchAlgorithmException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Returns the indexes of the blocks overlapping the given range whose checksum does
+     * not match the tree. Only these blocks are read.
+     *
+     * @param file the file to verify.
+     * @param offset the offset of the range.
+     * @param count the length of the range.
+     * @return the indexes of the corrupted blocks, an empty array if the range is valid.
+     * @throws IOException if an error occurs when opening or reading the file or if the
+     *         file does not have the length of the tree.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    public int[] getCorruptedBlocks(final File file, final long offset, final long count)
+            throws IOException, NoSuchAlgorithmException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        if (offset < 0 || count < 0 || offset + count > length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + count); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        FileChannel channel = new FileInputStream(file).getChannel();
+        try {
+            if (channel.size() != length) {
+                throw new IOException("The file length changed: " + file); //$NON-NLS-1$
+            }
+            byte[][] leaves = levels.get(0);
+            int first = (int) (offset / blockSize);
+            int last = (count == 0) ? first : (int) ((offset + count - 1) / blockSize);
+            last = Math.min(last, leaves.length - 1);
+
+            byte[][] hashes = new byte[leaves.length][];
+            hashBlocks(channel, length, blockSize, algorithm, hashes, first, last + 1);
+            int[] corrupted = new int[last - first + 1];
+            int corruptedCount = 0;
+            for (int i = first; i <= last; i++) {
+                if (!MessageDigest.isEqual(leaves[i], hashes[i])) {
+                    corrupted[corruptedCount++] = i;
+                }
+            }
+            int[] result = new int[corruptedCount];
+            System.arraycopy(corrupted, 0, result, 0, corruptedCount);
+            return result;
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Verifies the given range of the file against the tree. Only the blocks overlapping
+     * the range are read.
+     *
+     * @param file the file to verify.
+     * @param offset the offset of the range.
+     * @param count the length of the range.
+     * @return true if the range matches the tree, false if it does not or if the file
+     *         length changed.
+     * @throws IOException if an error occurs when opening or reading the file.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    public boolean verify(final File file, final long offset, final long count)
+            throws IOException, NoSuchAlgorithmException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        if (file.length() != length) {
+            return false;
+        }
+        return getCorruptedBlocks(file, offset, count).length == 0;
+    }
+
+    /**
+     * Returns the root checksum of the tree. Comparing the root with a trusted value
+     * validates the whole tree.
+     *
+     * @return the root checksum.
+     */
+    public byte[] getRoot() {
+        return levels.get(levels.size() - 1)[0].clone();
+    }
+
+    /**
+     * Returns the checksum of the given block.
+     *
+     * @param index the index of the block.
+     * @return the block's checksum.
+     */
+    public byte[] getBlockChecksum(final int index) {
+        return levels.get(0)[index].clone();
+    }
+
+    /**
+     * Returns the number of blocks.
+     *
+     * @return the number of blocks.
+     */
+    public int getBlockCount() {
+        return levels.get(0).length;
+    }
+
+    /**
+     * Returns the size of the blocks.
+     *
+     * @return a number of bytes.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns the length of the file.
+     *
+     * @return a number of bytes.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the algorithm used to compute the checksums.
+     *
+     * @return an algorithm.
+     */
+    public ChecksumAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Writes the tree. Only the leaves are written, the nodes are computed again when the
+     * tree is read.
+     *
+     * @param out the output.
+     * @throws IOException if an error occurs when writing.
+     */
+    public void write(final DataOutput out) throws IOException {
+        byte[][] leaves = levels.get(0);
+        out.writeInt(MAGIC);
+        out.writeUTF(algorithm.name());
+        out.writeInt(blockSize);
+        out.writeLong(length);
+        out.writeInt(leaves.length);
+        out.writeShort(leaves[0].length);
+        for (byte[] leaf : leaves) {
+            out.write(leaf);
+        }
+    }
+
+    /**
+     * Reads a tree written with {@link #write(DataOutput)}.
+     *
+     * @param in the input.
+     * @return the tree.
+     * @throws IOException if an error occurs when reading or if the data is not a tree.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    public static MerkleTree read(final DataInput in) throws IOException,
+            NoSuchAlgorithmException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid Merkle tree."); //$NON-NLS-1$
+        }
+        ChecksumAlgorithm algorithm;
+        try {
+            algorithm = ChecksumAlgorithm.valueOf(in.readUTF());
+        } catch (final IllegalArgumentException ex) {
+            throw new IOException("Invalid Merkle tree algorithm."); //$NON-NLS-1$
+        }
+        int blockSize = in.readInt();
+        long length = in.readLong();
+        int count = in.readInt();
+        int checksumLength = in.readUnsignedShort();
+        if (blockSize <= 0 || length < 0 || count != getBlockCount(length, blockSize)) {
+            throw new IOException("Invalid Merkle tree header."); //$NON-NLS-1$
+        }
+        byte[][] leaves = new byte[count][checksumLength];
+        for (byte[] leaf : leaves) {
+            in.readFully(leaf);
+        }
+        return new MerkleTree(algorithm, blockSize, length, leaves);
+    }
+
+    /**
+     * Returns the number of blocks of a file.
+     *
+     * @param size the size of the file.
+     * @param blockSize the size of the blocks.
+     * @return the number of blocks, at least one.
+     */
+    private static int getBlockCount(final long size, final int blockSize) {
+        long count = Math.max(1, (size + blockSize - 1) / blockSize);
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The block size is too small."); //$NON-NLS-1$
+        }
+        return (int) count;
+    }
+
+    /**
+     * Hashes the given blocks of the channel.
+     *
+     * @param channel the channel to read.
+     * @param size the size of the channel.
+     * @param blockSize the size of the blocks.
+     * @param algorithm the algorithm used to compute the checksums.
+     * @param hashes the array receiving the checksums.
+     * @param from the index of the first block.
+     * @param to the index following the last block.
+     * @throws IOException if an error occurs when reading.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    private static void hashBlocks(final FileChannel channel, final long size,
+            final int blockSize, final ChecksumAlgorithm algorithm, final byte[][] hashes,
+            final int from, final int to) throws IOException, NoSuchAlgorithmException {
+        byte[] buffer = new byte[Math.min(BUFFER_LENGTH, blockSize)];
+        byte[] prefix = new byte[] {LEAF_PREFIX};
+        ChecksumAlgorithm.Digester digester = algorithm.newDigester();
+        int blocksPerMap = (int) Math.max(1, MAP_LENGTH / blockSize);
+        for (int first = from; first < to; first += blocksPerMap) {
+            int last = Math.min(to, first + blocksPerMap);
+            long start = (long) first * blockSize;
+            long end = Math.min(size, (long) last * blockSize);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    end - start);
+            for (int i = first; i < last; i++) {
+                digester.reset();
+                digester.update(prefix, 0, 1);
+                int remaining = (int) Math.min(blockSize, end - (long) i * blockSize);
+                while (remaining > 0) {
+                    int len = Math.min(buffer.length, remaining);
+                    mapped.get(buffer, 0, len);
+                    digester.update(buffer, 0, len);
+                    remaining -= len;
+                }
+                hashes[i] = digester.digest();
+            }
+        }
+    }
+}
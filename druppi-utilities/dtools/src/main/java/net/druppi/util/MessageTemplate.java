@@ -0,0 +1,425 @@
+/*
+ * MessageTemplate.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Formattable;
+import java.util.Locale;
+
+/**
+ * A message pattern, as accepted by {@link String#format(String, Object...)}, parsed
+ * once. The simple patterns, made of <code>%s</code> and <code>%d</code> specifiers
+ * with an optional argument index, '-' flag and width, and of <code>%%</code> and
+ * <code>%n</code>, are formatted without parsing the pattern again and without creating
+ * a Formatter. The other patterns, and the arguments the fast path cannot format exactly
+ * like String.format() does, are formatted with String.format().
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class MessageTemplate {
+
+    /** The maximum capacity of the reused builders. Larger builders are discarded. */
+    private static final int MAX_BUILDER_CAPACITY = 1024;
+
+    /** The flags of a specifier. */
+    private static final String FLAGS = "-#+ 0,(<"; //$NON-NLS-1$
+
+    /**
+     * The per-thread builder used to format the messages. The slot is empty while the
+     * builder is in use, so that a message formatted by an argument's toString() does not
+     * reuse it.
+     */
+    private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder();
+        }
+    };
+
+    /** The last default locale checked and whether it uses the ASCII digits. */
+    private static volatile LocaleDigits localeDigits = new LocaleDigits(null, false);
+
+    /** The pattern. */
+    private final String pattern;
+
+    /**
+     * The literal parts of the pattern: the part before each specifier and the part after
+     * the last one. It is null when the pattern is not simple.
+     */
+    private final String[] literals;
+
+    /** The argument index of each specifier, -1 for the ordinary index. */
+    private final int[] indexes;
+
+    /** The conversion of each specifier: 's' or 'd'. */
+    private final char[] conversions;
+
+    /** The minimum width of each specifier, 0 if none. */
+    private final int[] widths;
+
+    /** Whether each specifier is left justified. */
+    private final boolean[] leftJustified;
+
+    /**
+     * Creates a new MessageTemplate.
+     *
+     * @param pattern the pattern.
+     * @param literals the literal parts of the pattern or null if it is not simple.
+     * @param indexes the argument indexes.
+     * @param conversions the conversions.
+     * @param widths the widths.
+     * @param leftJustified the justifications.
+     */
+    private MessageTemplate(final String pattern, final String[] literals, final int[] indexes,
+            final char[] conversions, final int[] widths, final boolean[] leftJustified) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.indexes = indexes;
+        this.conversions = conversions;
+        this.widths = widths;
+        this.leftJustified = leftJustified;
+    }
+
+    /**
+     * Parses a pattern.
+     *
+     * @param pattern the pattern (cannot be null).
+     * @return the template.
+     */
+    static MessageTemplate compile(final String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("The pattern cannot be null."); //$NON-NLS-1$
+        }
+        int count = 0;
+        for (int i = pattern.indexOf('%'); i >= 0; i = pattern.indexOf('%', i + 2)) {
+            count++;
+        }
+        String[] literals = new String[count + 1];
+        int[] indexes = new int[count];
+        char[] conversions = new char[count];
+        int[] widths = new int[count];
+        boolean[] leftJustified = new boolean[count];
+
+        StringBuilder literal = new StringBuilder();
+        int specifiers = 0;
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            // %[argument_index$][flags][width]conversion
+            int j = i + 1;
+            int index = -1;
+            int digitsEnd = skipDigits(pattern, j);
+            if (digitsEnd > j && digitsEnd < length && pattern.charAt(digitsEnd) == '$') {
+                index = parseInt(pattern, j, digitsEnd) - 1;
+                j = digitsEnd + 1;
+                if (index < 0) {
+                    return new MessageTemplate(pattern, null, null, null, null, null);
+                }
+            }
+            int flagsStart = j;
+            while (j < length && FLAGS.indexOf(pattern.charAt(j)) >= 0) {
+                j++;
+            }
+            String flags = pattern.substring(flagsStart, j);
+            int widthEnd = skipDigits(pattern, j);
+            int width = (widthEnd > j) ? parseInt(pattern, j, widthEnd) : 0;
+            j = widthEnd;
+            if (j >= length) {
+                return new MessageTemplate(pattern, null, null, null, null, null);
+            }
+            char conversion = pattern.charAt(j);
+            boolean plain = (index == -1) && (width == 0) && (flags.length() == 0);
+            if (conversion == '%' && plain) {
+                literal.append('%');
+            } else if (conversion == 'n' && plain) {
+                literal.append(System.getProperty("line.separator")); //$NON-NLS-1$
+            } else if ((conversion == 's' || conversion == 'd')
+                    && (flags.length() == 0 || ("-".equals(flags) && width > 0))) { //$NON-NLS-1$
+                literals[specifiers] = literal.toString();
+                literal.setLength(0);
+                indexes[specifiers] = index;
+                conversions[specifiers] = conversion;
+                widths[specifiers] = width;
+                leftJustified[specifiers] = (flags.length() > 0);
+                specifiers++;
+            } else {
+                return new MessageTemplate(pattern, null, null, null, null, null);
+            }
+            i = j + 1;
+        }
+        literals[specifiers] = literal.toString();
+        return new MessageTemplate(pattern, trim(literals, specifiers + 1), trim(indexes,
+                specifiers), trim(conversions, specifiers), trim(widths, specifiers), trim(
+                leftJustified, specifiers));
+    }
+
+    /**
+     * Returns the pattern.
+     *
+     * @return the pattern.
+     */
+    String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Formats the message with the given arguments.
+     *
+     * @param args the arguments.
+     * @return the message.
+     * @see String#format(String, Object...)
+     */
+    String format(final Object... args) {
+        StringBuilder builder = BUILDER.get();
+        if (builder == null) {
+            // Nested call: the thread's builder is used by an enclosing call
+            builder = new StringBuilder();
+        } else {
+            BUILDER.set(null);
+            builder.setLength(0);
+        }
+        try {
+            if (formatTo(builder, args)) {
+                return builder.toString();
+            }
+            return String.format(pattern, args);
+        } finally {
+            if (builder.capacity() > MAX_BUILDER_CAPACITY) {
+                BUILDER.remove();
+            } else {
+                BUILDER.set(builder);
+            }
+        }
+    }
+
+    /**
+     * Appends the message formatted with the given arguments to a builder.
+     *
+     * @param builder the builder.
+     * @param args the arguments.
+     * @see String#format(String, Object...)
+     */
+    void appendTo(final StringBuilder builder, final Object... args) {
+        int start = builder.length();
+        if (!formatTo(builder, args)) {
+            builder.setLength(start);
+            builder.append(String.format(pattern, args));
+        }
+    }
+
+    /**
+     * Formats the message with the fast path.
+     *
+     * @param builder the builder receiving the message.
+     * @param args the arguments.
+     * @return false if the message cannot be formatted with the fast path. The builder
+     *         then contains a part of the message.
+     */
+    private boolean formatTo(final StringBuilder builder, final Object[] args) {
+        if (literals == null || args == null) {
+            return false;
+        }
+        int ordinary = 0;
+        for (int i = 0; i < conversions.length; i++) {
+            builder.append(literals[i]);
+            int index = (indexes[i] < 0) ? ordinary++ : indexes[i];
+            if (index >= args.length) {
+                return false;
+            }
+            Object arg = args[index];
+            String value;
+            if (arg == null) {
+                value = "null"; //$NON-NLS-1$
+            } else if (conversions[i] == 's') {
+                if (arg instanceof Formattable) {
+                    return false;
+                }
+                value = arg.toString();
+            } else if ((arg instanceof Integer || arg instanceof Long || arg instanceof Short
+                    || arg instanceof Byte) && hasAsciiDigits()) {
+                value = arg.toString();
+            } else {
+                return false;
+            }
+            int padding = widths[i] - value.length();
+            if (padding > 0 && leftJustified[i]) {
+                builder.append(value);
+                appendSpaces(builder, padding);
+            } else {
+                appendSpaces(builder, padding);
+                builder.append(value);
+            }
+        }
+        builder.append(literals[conversions.length]);
+        return true;
+    }
+
+    /**
+     * Returns whether the default locale formats the integers with the ASCII digits.
+     *
+     * @return true if the digits of the default locale are the ASCII digits.
+     */
+    private static boolean hasAsciiDigits() {
+        Locale locale = Locale.getDefault();
+        LocaleDigits digits = localeDigits;
+        if (digits.locale != locale) {
+            digits = new LocaleDigits(locale,
+                    DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0');
+            localeDigits = digits;
+        }
+        return digits.ascii;
+    }
+
+    /**
+     * Appends spaces to a builder.
+     *
+     * @param builder the builder.
+     * @param count the number of spaces, nothing is appended if it is not positive.
+     */
+    private static void appendSpaces(final StringBuilder builder, final int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(' ');
+        }
+    }
+
+    /**
+     * Returns the end of the digits starting at the given position.
+     *
+     * @param str the string.
+     * @param start the start position.
+     * @return the position of the first non digit character.
+     */
+    private static int skipDigits(final String str, final int start) {
+        int end = start;
+        while (end < str.length() && str.charAt(end) >= '0' && str.charAt(end) <= '9') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Parses the digits of a string. The value saturates instead of overflowing.
+     *
+     * @param str the string.
+     * @param start the position of the first digit.
+     * @param end the position after the last digit.
+     * @return the value.
+     */
+    private static int parseInt(final String str, final int start, final int end) {
+        long value = 0;
+        for (int i = start; i < end && value <= Integer.MAX_VALUE; i++) {
+            value = value * 10 + (str.charAt(i) - '0');
+        }
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first elements of an array.
+     *
+     * @param array the array.
+     * @param length the number of elements.
+     * @return the array itself if it has the given length, a copy otherwise.
+     */
+    private static String[] trim(final String[] array, final int length) {
+        if (array.length == length) {
+            return array;
+        }
+        String[] copy = new String[length];
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * Returns the first elements of an array.
+     *
+     * @param array the array.
+     * @param length the number of elements.
+     * @return the array itself if it has the given length, a copy otherwise.
+     */
+    private static int[] trim(final int[] array, final int length) {
+        if (array.length == length) {
+            return array;
+        }
+        int[] copy = new int[length];
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * Returns the first elements of an array.
+     *
+     * @param array the array.
+     * @param length the number of elements.
+     * @return the array itself if it has the given length, a copy otherwise.
+     */
+    private static char[] trim(final char[] array, final int length) {
+        if (array.length == length) {
+            return array;
+        }
+        char[] copy = new char[length];
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * Returns the first elements of an array.
+     *
+     * @param array the array.
+     * @param length the number of elements.
+     * @return the array itself if it has the given length, a copy otherwise.
+     */
+    private static boolean[] trim(final boolean[] array, final int length) {
+        if (array.length == length) {
+            return array;
+        }
+        boolean[] copy = new boolean[length];
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * Whether a locale formats the integers with the ASCII digits.
+     */
+    private static final class LocaleDigits {
+
+        /** The locale. */
+        private final Locale locale;
+
+        /** Whether the locale uses the ASCII digits. */
+        private final boolean ascii;
+
+        /**
+         * Creates a new LocaleDigits.
+         *
+         * @param locale the locale.
+         * @param ascii whether the locale uses the ASCII digits.
+         */
+        LocaleDigits(final Locale locale, final boolean ascii) {
+            this.locale = locale;
+            this.ascii = ascii;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MultiChecksum.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The checksums of the same data computed with several algorithms in a single pass.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ * @see ChecksumUtil#getChecksums(java.io.File, ChecksumAlgorithm...)
+ */
+public final class MultiChecksum {
+
+    /** The checksums by algorithm. */
+    private final Map<ChecksumAlgorithm, byte[]> checksums;
+
+    /**
+     * Creates a new MultiChecksum.
+     *
+     * @param checksums the checksums by algorithm.
+     */
+    MultiChecksum(final EnumMap<ChecksumAlgorithm, byte[]> checksums) {
+        this.checksums = checksums;
+    }
+
+    /**
+     * Returns the checksum computed with the given algorithm.
+     *
+     * @param algorithm the algorithm.
+     * @return the checksum or null if the algorithm was not requested.
+     */
+    public byte[] get(final ChecksumAlgorithm algorithm) {
+        byte[] checksum = checksums.get(algorithm);
+        return (checksum == null) ? null : checksum.clone();
+    }
+
+    /**
+     * Returns the CRC-32 checksum.
+     *
+     * @return the checksum.
+     * @throws IllegalStateException if the CRC-32 was not requested.
+     */
+    public long getCRC() {
+        byte[] checksum = checksums.get(ChecksumAlgorithm.CRC32);
+        if (checksum == null) {
+            throw new IllegalStateException("The CRC-32 was not computed."); //$NON-NLS-1$
+        }
+        return ChecksumAlgorithm.toLong(checksum);
+    }
+
+    /**
+     * Returns the algorithms used.
+     *
+     * @return a set of algorithms.
+     */
+    public Set<ChecksumAlgorithm> getAlgorithms() {
+        return Collections.unmodifiableSet(checksums.keySet());
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * PreferenceChangeListener.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.util.Set;
+
+/**
+ * A listener notified when preferences are modified. The modifications are coalesced:
+ * the keys modified since the last notification are delivered together.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ * @see Preferences#addPreferenceChangeListener(String, PreferenceChangeListener)
+ */
+public interface PreferenceChangeListener {
+
+    /**
+     * Called when preferences were modified. The listener is called by the executor given
+     * when it was added, on the event dispatch thread by default.
+     *
+     * @param preferences the modified preferences.
+     * @param keys the modified keys watched by the listener, never empty.
+     */
+    void preferencesChanged(Preferences preferences, Set<String> keys);
+}
@@ -19,17 +19,52 @@
 package net.druppi.util;
 
 import java.awt.Rectangle;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.swing.SwingUtilities;
+
 /**
+ * The preferences of an application, stored in a properties file.
+ * <p>
+ * The preferences can be saved automatically: the file is then written only when the
+ * preferences were modified, at most one period after the first unsaved modification.
+ * The file is always written to a temporary file which then replaces it, so that a
+ * crash during the write does not corrupt it.
+ * <p>
+ * The preferences can be read and modified by several threads. The typed values are
+ * parsed once and cached with the string they were parsed from.
+ * <p>
+ * The listeners added with {@link #addPreferenceChangeListener(String,
+ * PreferenceChangeListener)} are notified of the modifications in batches.
+ * <p>
+ * The large preferences can be saved to an append-only log instead of a properties file
+ * (see {@link #saveLog(String, long)}): each save then only writes the modified keys.
+ * They can also be saved to a binary table (see {@link #saveTable(String)}) whose values
+ * are decoded lazily when it is loaded.
+ *
  * @author Olivier Sechet
  * @version 1.0 - Jul 21, 2009
  */
@@ -38,16 +73,96 @@ public class Preferences {
     /** The class logger. */
     private static final Logger LOGGER = Logger.getLogger(Preferences.class.getName());
 
+    /** The parser of the integer values. */
+    private static final Parser<Integer> INTEGER_PARSER = new Parser<Integer>() {
+        @Override
+        public Integer parse(final String value) {
+            return Integer.valueOf(value);
+        }
+    };
+
+    /** The parser of the long values. */
+    private static final Parser<Long> LONG_PARSER = new Parser<Long>() {
+        @Override
+        public Long parse(final String value) {
+            return Long.valueOf(value);
+        }
+    };
+
+    /** The parser of the float values. */
+    private static final Parser<Float> FLOAT_PARSER = new Parser<Float>() {
+        @Override
+        public Float parse(final String value) {
+            return Float.valueOf(value);
+        }
+    };
+
+    /** The parser of the double values. */
+    private static final Parser<Double> DOUBLE_PARSER = new Parser<Double>() {
+        @Override
+        public Double parse(final String value) {
+            return Double.valueOf(value);
+        }
+    };
+
+    /** The parser of the boolean values. */
+    private static final Parser<Boolean> BOOLEAN_PARSER = new Parser<Boolean>() {
+        @Override
+        public Boolean parse(final String value) {
+            return Boolean.valueOf(value);
+        }
+    };
+
+    /** The executor calling the listeners on the event dispatch thread. */
+    private static final Executor EDT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            SwingUtilities.invokeLater(command);
+        }
+    };
+
     /** The preferences storage. */
-    private Properties prefs = new Properties();
+    private final Properties prefs = new Properties();
+
+    /** The number of modifications of the preferences. */
+    private final AtomicLong modifications = new AtomicLong();
+
+    /** The keys modified since the last automatic save. */
+    private final Set<String> modifiedKeys =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /** Whether an automatic save is scheduled. */
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    /** The lock serializing the writes of the preferences file. */
+    private final Object saveLock = new Object();
 
-    /** The timer */
-    private Timer timer;
+    /** The number of modifications saved to the file. Guarded by saveLock. */
+    private long savedModifications;
 
-    /** The task called to periodically save. */
-    private TimerTask saveTask;
+    /** The timer running the automatic saves. */
+    private volatile Timer timer;
 
-    private String prefFilePath;
+    /** The change listeners. */
+    private final List<ListenerRegistration> listeners =
+            new CopyOnWriteArrayList<ListenerRegistration>();
+
+    /** The parsed values by key. */
+    private final ConcurrentMap<String, ParsedValue> parsedValues =
+            new ConcurrentHashMap<String, ParsedValue>();
+
+    /** The parsed rectangles by key. */
+    private final ConcurrentMap<String, RectangleValue> rectangles =
+            new ConcurrentHashMap<String, RectangleValue>();
+
+    /** The table holding the values not read yet, null if none. */
+    private volatile PreferencesTable table;
+
+    /** The store the preferences are automatically saved to, null if none. */
+    private volatile Store store;
+
+    /** The maximum time in milliseconds between a modification and its automatic save. */
+    private volatile long savePeriod;
 
     /**
      * @param path
@@ -55,49 +170,202 @@ public class Preferences {
      * @throws IOException
      */
     public void load(final String path) throws FileNotFoundException, IOException {
-        prefs.load(new FileInputStream(path));
+        Properties loaded = new Properties();
+        InputStream in = new FileInputStream(path);
+        try {
+            loaded.load(in);
+        } finally {
+            in.close();
+        }
+        putAll(loaded);
     }
 
     /**
-     * @param path
+     * Loads the preferences saved to a log by {@link #saveLog(String, long)}. The records
+     * following a truncated or corrupted record, e.g. written during a crash, are ignored.
+     *
+     * @param path the path of the log.
+     * @throws IOException if an error occurs when reading the log or if the file is not a
+     *         preferences log.
+     */
+    public void loadLog(final String path) throws IOException {
+        Properties loaded = new Properties();
+        new PreferencesLog(new File(path)).load(loaded);
+        putAll(loaded);
+    }
+
+    /**
+     * Loads the preferences saved to a table by {@link #saveTable(String)}. The table is
+     * read into memory but not decoded: each value is decoded the first time it is used,
+     * so the cost of the loading is a single read of the file. The file is not kept open
+     * and the preferences can be saved back to it. The values already set, e.g. by a
+     * previous loading, take precedence over the values of the table.
+     *
+     * @param path the path of the table.
+     * @throws IOException if an error occurs when reading the table or if the file is not
+     *         a preferences table.
+     */
+    public void loadTable(final String path) throws IOException {
+        table = PreferencesTable.open(new File(path));
+    }
+
+    /**
+     * Saves the preferences to the given table. The table is a binary file whose values
+     * are decoded lazily by {@link #loadTable(String)}.
+     *
+     * @param path the path of the table.
+     * @throws IOException if an error occurs when writing the table.
+     */
+    public void saveTable(final String path) throws IOException {
+        synchronized (saveLock) {
+            PreferencesTable.write(new File(path), getAll());
+        }
+    }
+
+    /**
+     * Saves the preferences to the given table, then saves them automatically each time
+     * they are modified. The modifications are coalesced as with
+     * {@link #save(String, long)}.
+     *
+     * @param path the path of the table.
+     * @param period the maximum time in milliseconds between a modification and its save.
+     * @throws IOException if an error occurs when writing the table.
+     */
+    public void saveTable(final String path, final long period) throws IOException {
+        autosave(new TableStore(new File(path)), period);
+    }
+
+    /**
+     * Converts a preferences file to a preferences table.
+     *
+     * @param propertiesPath the path of the preferences file.
+     * @param tablePath the path of the table.
+     * @throws IOException if an error occurs when reading the file or writing the table.
+     */
+    public static void convertToTable(final String propertiesPath, final String tablePath)
+            throws IOException {
+        Preferences preferences = new Preferences();
+        preferences.load(propertiesPath);
+        preferences.saveTable(tablePath);
+    }
+
+    /**
+     * Converts a preferences table to a preferences file.
+     *
+     * @param tablePath the path of the table.
+     * @param propertiesPath the path of the preferences file.
+     * @throws IOException if an error occurs when reading the table or writing the file.
+     */
+    public static void convertToProperties(final String tablePath, final String propertiesPath)
+            throws IOException {
+        Preferences preferences = new Preferences();
+        preferences.loadTable(tablePath);
+        preferences.save(propertiesPath);
+    }
+
+    /**
+     * Saves the preferences to the given file. The preferences are written to a temporary
+     * file which then replaces the file.
+     *
+     * @param path the path of the file.
+     * @throws IOException if an error occurs when writing the file.
      */
     public void save(final String path) throws IOException {
-        prefs.store(new FileOutputStream(path), ""); //$NON-NLS-1$
+        synchronized (saveLock) {
+            write(path, (Properties) getAll().clone());
+        }
     }
 
     /**
-     * @param path
-     * @param period time in milliseconds between successive save.
+     * Saves the preferences to the given file, then saves them automatically each time
+     * they are modified. The modifications are coalesced: the file is written at most one
+     * period after the first unsaved modification, and is not written if nothing changed.
+     *
+     * @param path the path of the file.
+     * @param period the maximum time in milliseconds between a modification and its save.
+     * @throws IOException if an error occurs when writing the file.
      */
     public void save(final String path, final long period) throws IOException {
-        // Cancel any running task
-        if (saveTask != null) {
-            saveTask.cancel();
-        }
-
-        // Call the store method a first time to ensure no error happens during its execution.
-        prefs.store(new FileOutputStream(path), ""); //$NON-NLS-1$
-
-        // Save the path of the file used to store the preferences
-        this.prefFilePath = path;
-
-        if (timer == null) {
-            timer = new Timer("Preferences"); //$NON-NLS-1$
-            saveTask = new TimerTask() {
-
-                @Override
-                public void run() {
-                    try {
-                        LOGGER.log(Level.FINE, "Autoaving preferences."); //$NON-NLS-1$
-                        prefs.store(new FileOutputStream(prefFilePath), ""); //$NON-NLS-1$
-                    } catch (final IOException ex) {
-                        LOGGER.log(Level.SEVERE, "Autosave failed.", ex); //$NON-NLS-1$
-                        cancel();
-                    }
-                }
-            };
+        autosave(new PropertiesStore(path), period);
+    }
+
+    /**
+     * Saves the preferences to the given log, then appends the modified preferences to
+     * the log each time they are modified. The cost of a save is proportional to the
+     * number of modified keys; the log is compacted when it holds too many obsolete
+     * records. The modifications are coalesced as with {@link #save(String, long)}. The
+     * log is read with {@link #loadLog(String)}.
+     *
+     * @param path the path of the log.
+     * @param period the maximum time in milliseconds between a modification and its save.
+     * @throws IOException if an error occurs when writing the log.
+     */
+    public void saveLog(final String path, final long period) throws IOException {
+        autosave(new LogStore(new PreferencesLog(new File(path))), period);
+    }
+
+    /**
+     * Saves the preferences to the given store, then saves them automatically each time
+     * they are modified.
+     *
+     * @param autosaveStore the store.
+     * @param period the maximum time in milliseconds between a modification and its save.
+     * @throws IOException if an error occurs when writing the store.
+     */
+    private void autosave(final Store autosaveStore, final long period) throws IOException {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be positive."); //$NON-NLS-1$
+        }
+        boolean pending;
+        synchronized (saveLock) {
+            // Write the file a first time to ensure no error happens during the write.
+            long count = modifications.get();
+            modifiedKeys.clear();
+            autosaveStore.saveAll(getAll());
+            savedModifications = count;
+
+            // Publish the store last: a concurrent put() schedules a save as soon as it
+            // sees the store, which needs the timer and the period
+            if (timer == null) {
+                timer = new Timer("Preferences"); //$NON-NLS-1$
+            }
+            this.savePeriod = period;
+            this.store = autosaveStore;
+            // The modifications made during the first write did not schedule a save
+            pending = (modifications.get() != count);
+        }
+        if (pending) {
+            scheduleSave();
+        }
+    }
+
+    /**
+     * Writes the pending modifications to the file the preferences are automatically saved
+     * to. The method returns once the file is written. It does nothing if the preferences
+     * are not saved automatically or were not modified.
+     *
+     * @throws IOException if an error occurs when writing the file.
+     */
+    public void flush() throws IOException {
+        synchronized (saveLock) {
+            Store autosaveStore = store;
+            long count = modifications.get();
+            if (autosaveStore == null || count == savedModifications) {
+                return;
+            }
+            List<String> keys = new ArrayList<String>();
+            for (Iterator<String> it = modifiedKeys.iterator(); it.hasNext();) {
+                keys.add(it.next());
+                it.remove();
+            }
+            try {
+                autosaveStore.save(getAll(), keys);
+            } catch (final IOException ex) {
+                modifiedKeys.addAll(keys);
+                throw ex;
+            }
+            savedModifications = count;
         }
-        timer.schedule(saveTask, period, period);
     }
 
     /**
@@ -105,7 +373,7 @@ public class Preferences {
      * @return
      */
     public String get(final String key) {
-        return prefs.getProperty(key);
+        return getProperty(key);
     }
 
     /**
@@ -113,7 +381,68 @@ public class Preferences {
      * @param value
      */
     public void put(final String key, final String value) {
-        prefs.put(key, value);
+        Object previous = prefs.put(key, value);
+        if (value.equals(previous)) {
+            // Nothing to save nor to notify
+            return;
+        }
+        modifiedKeys.add(key);
+        modifications.incrementAndGet();
+        if (store != null) {
+            scheduleSave();
+        }
+        fireChanged(key);
+    }
+
+    /**
+     * Adds a listener notified on the event dispatch thread when the given preferences
+     * are modified.
+     *
+     * @param pattern the key of the preference, or a prefix followed by {@code *}, e.g.
+     *        {@code window.main.*}, to watch all the keys starting with the prefix.
+     * @param listener the listener (cannot be null).
+     * @see #addPreferenceChangeListener(String, PreferenceChangeListener, Executor)
+     */
+    public void addPreferenceChangeListener(final String pattern,
+            final PreferenceChangeListener listener) {
+        addPreferenceChangeListener(pattern, listener, EDT_EXECUTOR);
+    }
+
+    /**
+     * Adds a listener notified when the given preferences are modified. The notifications
+     * are coalesced: the listener is called once by the executor with all the keys
+     * modified since the previous call, and is not called if the values did not change.
+     *
+     * @param pattern the key of the preference, or a prefix followed by {@code *}, e.g.
+     *        {@code window.main.*}, to watch all the keys starting with the prefix.
+     * @param listener the listener (cannot be null).
+     * @param executor the executor calling the listener (cannot be null).
+     */
+    public void addPreferenceChangeListener(final String pattern,
+            final PreferenceChangeListener listener, final Executor executor) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("The pattern cannot be null."); //$NON-NLS-1$
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("The listener cannot be null."); //$NON-NLS-1$
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor cannot be null."); //$NON-NLS-1$
+        }
+        listeners.add(new ListenerRegistration(pattern, listener, executor));
+    }
+
+    /**
+     * Removes a listener from all the preferences it watches.
+     *
+     * @param listener the listener.
+     */
+    public void removePreferenceChangeListener(final PreferenceChangeListener listener) {
+        for (ListenerRegistration registration : listeners) {
+            if (registration.listener == listener) {
+                listeners.remove(registration);
+            }
+        }
     }
 
     /**
@@ -124,12 +453,36 @@ public class Preferences {
         return get(key);
     }
 
+    /**
+     * Returns the string value of the given key.
+     *
+     * @param key the key.
+     * @param defaultValue the value returned if the key is missing.
+     * @return the value.
+     */
+    public String getString(final String key, final String defaultValue) {
+        String value = get(key);
+        return (value == null) ? defaultValue : value;
+    }
+
     /**
      * @param key
      * @return
      */
     public int getInteger(final String key) {
-        return Integer.parseInt(get(key));
+        return getRequiredValue(key, INTEGER_PARSER).intValue();
+    }
+
+    /**
+     * Returns the integer value of the given key.
+     *
+     * @param key the key.
+     * @param defaultValue the value returned if the key is missing or is not an integer.
+     * @return the value.
+     */
+    public int getInteger(final String key, final int defaultValue) {
+        Integer value = getValue(key, INTEGER_PARSER);
+        return (value == null) ? defaultValue : value.intValue();
     }
 
     /**
@@ -137,7 +490,7 @@ public class Preferences {
      * @param value
      */
     public void put(final String key, final int value) {
-        put(key, Integer.toString(value));
+        putValue(key, Integer.toString(value), INTEGER_PARSER, Integer.valueOf(value));
     }
 
     /**
@@ -145,7 +498,29 @@ public class Preferences {
      * @return
      */
     public long getLong(final String key) {
-        return Long.parseLong(get(key));
+        return getRequiredValue(key, LONG_PARSER).longValue();
+    }
+
+    /**
+     * Returns the long value of the given key.
+     *
+     * @param key the key.
+     * @param defaultValue the value returned if the key is missing or is not a long.
+     * @return the value.
+     */
+    public long getLong(final String key, final long defaultValue) {
+        Long value = getValue(key, LONG_PARSER);
+        return (value == null) ? defaultValue : value.longValue();
+    }
+
+    /**
+     * Sets the long value of the given key.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    public void put(final String key, final long value) {
+        putValue(key, Long.toString(value), LONG_PARSER, Long.valueOf(value));
     }
 
     /**
@@ -153,7 +528,29 @@ public class Preferences {
      * @return
      */
     public float getFloat(final String key) {
-        return Float.parseFloat(get(key));
+        return getRequiredValue(key, FLOAT_PARSER).floatValue();
+    }
+
+    /**
+     * Returns the float value of the given key.
+     *
+     * @param key the key.
+     * @param defaultValue the value returned if the key is missing or is not a float.
+     * @return the value.
+     */
+    public float getFloat(final String key, final float defaultValue) {
+        Float value = getValue(key, FLOAT_PARSER);
+        return (value == null) ? defaultValue : value.floatValue();
+    }
+
+    /**
+     * Sets the float value of the given key.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    public void put(final String key, final float value) {
+        putValue(key, Float.toString(value), FLOAT_PARSER, Float.valueOf(value));
     }
 
     /**
@@ -161,7 +558,29 @@ public class Preferences {
      * @return
      */
     public double getDouble(final String key) {
-        return Double.parseDouble(get(key));
+        return getRequiredValue(key, DOUBLE_PARSER).doubleValue();
+    }
+
+    /**
+     * Returns the double value of the given key.
+     *
+     * @param key the key.
+     * @param defaultValue the value returned if the key is missing or is not a double.
+     * @return the value.
+     */
+    public double getDouble(final String key, final double defaultValue) {
+        Double value = getValue(key, DOUBLE_PARSER);
+        return (value == null) ? defaultValue : value.doubleValue();
+    }
+
+    /**
+     * Sets the double value of the given key.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    public void put(final String key, final double value) {
+        putValue(key, Double.toString(value), DOUBLE_PARSER, Double.valueOf(value));
     }
 
     /**
@@ -169,7 +588,29 @@ public class Preferences {
      * @return
      */
     public boolean getBoolean(final String key) {
-        return Boolean.parseBoolean(get(key));
+        return getBoolean(key, false);
+    }
+
+    /**
+     * Returns the boolean value of the given key.
+     *
+     * @param key the key.
+     * @param defaultValue the value returned if the key is missing.
+     * @return the value.
+     */
+    public boolean getBoolean(final String key, final boolean defaultValue) {
+        Boolean value = getValue(key, BOOLEAN_PARSER);
+        return (value == null) ? defaultValue : value.booleanValue();
+    }
+
+    /**
+     * Sets the boolean value of the given key.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    public void put(final String key, final boolean value) {
+        putValue(key, Boolean.toString(value), BOOLEAN_PARSER, Boolean.valueOf(value));
     }
 
     /**
@@ -177,15 +618,46 @@ public class Preferences {
      * @return
      */
     public Rectangle getRectangle(final String key) {
+        String[] keys;
+        RectangleValue cached = rectangles.get(key);
+        if (cached != null) {
+            if (cached.isValid(prefs)) {
+                return new Rectangle(cached.rectangle);
+            }
+            keys = cached.keys;
+        } else {
+            keys = new String[] {
+                key + ".x", //$NON-NLS-1$
+                key + ".y", //$NON-NLS-1$
+                key + ".width", //$NON-NLS-1$
+                key + ".height" //$NON-NLS-1$
+            };
+        }
+        String[] raws = new String[keys.length];
+        int[] values = new int[keys.length];
         try {
-            int x = getInteger(key + ".x"); //$NON-NLS-1$
-            int y = getInteger(key + ".y"); //$NON-NLS-1$
-            int width = getInteger(key + ".width"); //$NON-NLS-1$
-            int height = getInteger(key + ".height"); //$NON-NLS-1$
-            return new Rectangle(x, y, width, height);
+            for (int i = 0; i < keys.length; i++) {
+                raws[i] = getProperty(keys[i]);
+                values[i] = Integer.parseInt(raws[i]);
+            }
         } catch (final NumberFormatException ex) {
             return null;
         }
+        Rectangle rect = new Rectangle(values[0], values[1], values[2], values[3]);
+        rectangles.put(key, new RectangleValue(keys, raws, rect));
+        return new Rectangle(rect);
+    }
+
+    /**
+     * Returns the rectangle value of the given key.
+     *
+     * @param key the key.
+     * @param defaultValue the value returned if the key is missing or is not a rectangle.
+     * @return the value.
+     */
+    public Rectangle getRectangle(final String key, final Rectangle defaultValue) {
+        Rectangle rect = getRectangle(key);
+        return (rect == null) ? defaultValue : rect;
     }
 
     /**
@@ -198,4 +670,490 @@ public class Preferences {
         put(key + ".width", rect.width); //$NON-NLS-1$
         put(key + ".height", rect.height); //$NON-NLS-1$
     }
+
+    /**
+     * Returns the parsed value of the given key. The parsed value is cached with the
+     * string it was parsed from, so that the string is parsed again only if it changes.
+     *
+     * @param <T> the type of the value.
+     * @param key the key.
+     * @param parser the parser of the value.
+     * @return the value or null if the key is missing or the value cannot be parsed.
+     */
+    private <T> T getValue(final String key, final Parser<T> parser) {
+        String raw = getProperty(key);
+        if (raw == null) {
+            return null;
+        }
+        try {
+            return parse(key, raw, parser);
+        } catch (final NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the parsed value of the given key, which must be set. A missing key is
+     * reported by the exception the parser throws for a null string, i.e. a
+     * NumberFormatException for the integers and the longs and a NullPointerException
+     * for the floats and the doubles, as the parse methods of their wrapper classes.
+     *
+     * @param <T> the type of the value.
+     * @param key the key.
+     * @param parser the parser of the value.
+     * @return the value.
+     * @throws NumberFormatException if the value cannot be parsed.
+     */
+    private <T> T getRequiredValue(final String key, final Parser<T> parser) {
+        String raw = getProperty(key);
+        if (raw == null) {
+            return parser.parse(null);
+        }
+        return parse(key, raw, parser);
+    }
+
+    /**
+     * Parses the value of the given key, or returns the value cached for this string.
+     *
+     * @param <T> the type of the value.
+     * @param key the key.
+     * @param raw the string value of the key.
+     * @param parser the parser of the value.
+     * @return the value.
+     * @throws NumberFormatException if the value cannot be parsed.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T parse(final String key, final String raw, final Parser<T> parser) {
+        ParsedValue cached = parsedValues.get(key);
+        // The strings are compared by identity: a new string is parsed again
+        if (cached != null && cached.raw == raw && cached.parser == parser) {
+            return (T) cached.value;
+        }
+        T value = parser.parse(raw);
+        parsedValues.put(key, new ParsedValue(raw, parser, value));
+        return value;
+    }
+
+    /**
+     * Sets the value of the given key and caches its parsed value.
+     *
+     * @param <T> the type of the value.
+     * @param key the key.
+     * @param raw the string value.
+     * @param parser the parser of the value.
+     * @param value the parsed value.
+     */
+    private <T> void putValue(final String key, final String raw, final Parser<T> parser,
+            final T value) {
+        put(key, raw);
+        parsedValues.put(key, new ParsedValue(raw, parser, value));
+    }
+
+    /**
+     * Sets the given preferences.
+     *
+     * @param preferences the preferences.
+     */
+    private void putAll(final Properties preferences) {
+        for (String key : preferences.stringPropertyNames()) {
+            put(key, preferences.getProperty(key));
+        }
+    }
+
+    /**
+     * Returns the value of the given key. A value read from the table is set in the
+     * preferences, so that it is read once and the typed values parsed from it are cached.
+     *
+     * @param key the key.
+     * @return the value or null if the key is missing.
+     */
+    private String getProperty(final String key) {
+        String value = prefs.getProperty(key);
+        PreferencesTable currentTable = table;
+        if (value != null || currentTable == null) {
+            return value;
+        }
+        value = currentTable.get(key);
+        if (value == null) {
+            return null;
+        }
+        synchronized (prefs) {
+            // Another thread may have set the key meanwhile
+            String current = prefs.getProperty(key);
+            if (current != null) {
+                return current;
+            }
+            prefs.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns all the preferences, including the values of the table not read yet.
+     *
+     * @return the preferences themselves if there is no table, a copy otherwise.
+     */
+    private Properties getAll() {
+        PreferencesTable currentTable = table;
+        if (currentTable == null) {
+            return prefs;
+        }
+        Properties all = new Properties();
+        currentTable.copyTo(all);
+        all.putAll((Properties) prefs.clone());
+        return all;
+    }
+
+    /**
+     * Notifies the listeners watching the given key that it was modified.
+     *
+     * @param key the modified key.
+     */
+    private void fireChanged(final String key) {
+        for (ListenerRegistration registration : listeners) {
+            if (registration.matches(key)) {
+                registration.keyChanged(key);
+            }
+        }
+    }
+
+    /**
+     * Schedules an automatic save if none is scheduled.
+     */
+    private void scheduleSave() {
+        if (!saveScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                // The modifications made from now on schedule another save
+                saveScheduled.set(false);
+                try {
+                    LOGGER.log(Level.FINE, "Autosaving preferences."); //$NON-NLS-1$
+                    flush();
+                } catch (final IOException ex) {
+                    LOGGER.log(Level.SEVERE, "Autosave failed.", ex); //$NON-NLS-1$
+                }
+            }
+        }, savePeriod);
+    }
+
+    /**
+     * Writes the preferences to a file. The preferences are written to a temporary file
+     * which is synchronized with the storage device, then replaces the file.
+     *
+     * @param path the path of the file.
+     * @param properties the preferences to write.
+     * @throws IOException if an error occurs when writing the file.
+     */
+    private static void write(final String path, final Properties properties)
+            throws IOException {
+        File file = new File(path);
+        File tmpFile = FileUtil.getTemporaryFile(file);
+        FileOutputStream out = new FileOutputStream(tmpFile);
+        try {
+            properties.store(out, ""); //$NON-NLS-1$
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+        FileUtil.replace(tmpFile, file);
+    }
+
+    /**
+     * A listener, the keys it watches and the keys to deliver to it.
+     */
+    private final class ListenerRegistration implements Runnable {
+
+        /** The watched key or prefix. */
+        private final String key;
+
+        /** Whether the key is a prefix. */
+        private final boolean prefix;
+
+        /** The listener. */
+        private final PreferenceChangeListener listener;
+
+        /** The executor calling the listener. */
+        private final Executor executor;
+
+        /** The modified keys not delivered yet. */
+        private final Set<String> pending =
+                Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        /** Whether a delivery is scheduled. */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Creates a new ListenerRegistration.
+         *
+         * @param pattern the key of the preference or a prefix followed by {@code *}.
+         * @param listener the listener.
+         * @param executor the executor calling the listener.
+         */
+        ListenerRegistration(final String pattern, final PreferenceChangeListener listener,
+                final Executor executor) {
+            this.prefix = pattern.endsWith("*"); //$NON-NLS-1$
+            this.key = prefix ? pattern.substring(0, pattern.length() - 1) : pattern;
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        /**
+         * Returns whether the listener watches the given key.
+         *
+         * @param modifiedKey the key.
+         * @return true if the key is watched.
+         */
+        boolean matches(final String modifiedKey) {
+            return prefix ? modifiedKey.startsWith(key) : modifiedKey.equals(key);
+        }
+
+        /**
+         * Records a modified key and schedules a delivery if none is scheduled.
+         *
+         * @param modifiedKey the key.
+         */
+        void keyChanged(final String modifiedKey) {
+            pending.add(modifiedKey);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Delivers the pending keys to the listener.
+         */
+        @Override
+        public void run() {
+            // The keys modified from now on schedule another delivery
+            scheduled.set(false);
+            Set<String> keys = new HashSet<String>();
+            for (Iterator<String> it = pending.iterator(); it.hasNext();) {
+                keys.add(it.next());
+                it.remove();
+            }
+            if (!keys.isEmpty()) {
+                listener.preferencesChanged(Preferences.this,
+                        Collections.unmodifiableSet(keys));
+            }
+        }
+    }
+
+    /**
+     * Parses a preference value.
+     *
+     * @param <T> the type of the value.
+     */
+    private interface Parser<T> {
+
+        /**
+         * Parses a value.
+         *
+         * @param value the string value (not null).
+         * @return the parsed value.
+         * @throws NumberFormatException if the value cannot be parsed.
+         */
+        T parse(String value);
+    }
+
+    /**
+     * A parsed value and the string it was parsed from.
+     */
+    private static final class ParsedValue {
+
+        /** The string value. */
+        private final String raw;
+
+        /** The parser used. */
+        private final Parser<?> parser;
+
+        /** The parsed value. */
+        private final Object value;
+
+        /**
+         * Creates a new ParsedValue.
+         *
+         * @param raw the string value.
+         * @param parser the parser used.
+         * @param value the parsed value.
+         */
+        ParsedValue(final String raw, final Parser<?> parser, final Object value) {
+            this.raw = raw;
+            this.parser = parser;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A parsed rectangle and the strings it was parsed from.
+     */
+    private static final class RectangleValue {
+
+        /** The keys of the coordinates. */
+        private final String[] keys;
+
+        /** The string values of the coordinates. */
+        private final String[] raws;
+
+        /** The rectangle, never modified. */
+        private final Rectangle rectangle;
+
+        /**
+         * Creates a new RectangleValue.
+         *
+         * @param keys the keys of the coordinates.
+         * @param raws the string values of the coordinates.
+         * @param rectangle the rectangle.
+         */
+        RectangleValue(final String[] keys, final String[] raws, final Rectangle rectangle) {
+            this.keys = keys;
+            this.raws = raws;
+            this.rectangle = rectangle;
+        }
+
+        /**
+         * Returns whether the coordinates did not change since the rectangle was parsed.
+         *
+         * @param prefs the preferences.
+         * @return true if the rectangle is up to date.
+         */
+        boolean isValid(final Properties prefs) {
+            for (int i = 0; i < keys.length; i++) {
+                if (prefs.getProperty(keys[i]) != raws[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A storage the preferences are automatically saved to.
+     */
+    private interface Store {
+
+        /**
+         * Saves all the preferences.
+         *
+         * @param preferences the preferences.
+         * @throws IOException if an error occurs when writing.
+         */
+        void saveAll(Properties preferences) throws IOException;
+
+        /**
+         * Saves the modified preferences.
+         *
+         * @param preferences the preferences.
+         * @param keys the keys modified since the last save.
+         * @throws IOException if an error occurs when writing.
+         */
+        void save(Properties preferences, Collection<String> keys) throws IOException;
+    }
+
+    /**
+     * A store rewriting a properties file.
+     */
+    private static final class PropertiesStore implements Store {
+
+        /** The path of the file. */
+        private final String path;
+
+        /**
+         * Creates a new PropertiesStore.
+         *
+         * @param path the path of the file.
+         */
+        PropertiesStore(final String path) {
+            this.path = path;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void saveAll(final Properties preferences) throws IOException {
+            write(path, (Properties) preferences.clone());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void save(final Properties preferences, final Collection<String> keys)
+                throws IOException {
+            saveAll(preferences);
+        }
+    }
+
+    /**
+     * A store writing the preferences to a table.
+     */
+    private static final class TableStore implements Store {
+
+        /** The table file. */
+        private final File file;
+
+        /**
+         * Creates a new TableStore.
+         *
+         * @param file the table file.
+         */
+        TableStore(final File file) {
+            this.file = file;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void saveAll(final Properties preferences) throws IOException {
+            PreferencesTable.write(file, preferences);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void save(final Properties preferences, final Collection<String> keys)
+                throws IOException {
+            saveAll(preferences);
+        }
+    }
+
+    /**
+     * A store appending the modified preferences to a log.
+     */
+    private static final class LogStore implements Store {
+
+        /** The log. */
+        private final PreferencesLog log;
+
+        /**
+         * Creates a new LogStore.
+         *
+         * @param log the log.
+         */
+        LogStore(final PreferencesLog log) {
+            this.log = log;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void saveAll(final Properties preferences) throws IOException {
+            log.compact(preferences);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void save(final Properties preferences, final Collection<String> keys)
+                throws IOException {
+            log.append(preferences, keys);
+        }
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ * PreferencesLog.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of preferences. Each save appends a record per modified key, so its
+ * cost is proportional to the number of modifications. The log is compacted, i.e.
+ * rewritten with one record per key, when it holds too many obsolete records.
+ * <p>
+ * Each record is protected by a checksum. When the log is read, the records following a
+ * truncated or corrupted record, e.g. written during a crash, are ignored and are
+ * overwritten by the next append.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class PreferencesLog {
+
+    /** The class logger. */
+    private static final Logger LOGGER = Logger.getLogger(PreferencesLog.class.getName());
+
+    /** The magic number of the log files. */
+    private static final int MAGIC = 0x4450524C;
+
+    /** The version of the file format. */
+    private static final int VERSION = 1;
+
+    /** The length of the header: the magic number and the version. */
+    private static final int HEADER_LENGTH = 8;
+
+    /** The type of the records setting a preference. */
+    private static final byte PUT = 1;
+
+    /** The maximum length of a record. Longer records are considered corrupted. */
+    private static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+
+    /** The minimum number of records before the log is compacted. */
+    private static final int MIN_COMPACTION_RECORDS = 1024;
+
+    /** The charset used to encode the strings. */
+    private static final String CHARSET = "UTF-8"; //$NON-NLS-1$
+
+    /** The log file. */
+    private final File file;
+
+    /** The length of the valid part of the log. */
+    private long validLength;
+
+    /** The number of records in the log. */
+    private int recordCount;
+
+    /**
+     * Creates a new PreferencesLog.
+     *
+     * @param file the log file.
+     */
+    PreferencesLog(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the log and sets the preferences it holds. The records following a truncated
+     * or corrupted record are ignored.
+     *
+     * @param preferences the preferences receiving the logged values.
+     * @throws IOException if an error occurs when reading the file or if it is not a log.
+     */
+    void load(final Properties preferences) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Invalid preferences log: " + file); //$NON-NLS-1$
+            }
+            long position = HEADER_LENGTH;
+            int count = 0;
+            CRC32 crc = new CRC32();
+            try {
+                while (true) {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                        break;
+                    }
+                    byte[] record = new byte[length];
+                    in.readFully(record);
+                    crc.reset();
+                    crc.update(record, 0, length);
+                    if (in.readInt() != (int) crc.getValue() || !apply(record, preferences)) {
+                        break;
+                    }
+                    position += length + 8;
+                    count++;
+                }
+            } catch (final EOFException ex) {
+                // no op: the end of the log or a truncated record
+            }
+            if (position < file.length()) {
+                LOGGER.warning("Ignoring the corrupted end of the preferences log: " //$NON-NLS-1$
+                        + file);
+            }
+            validLength = position;
+            recordCount = count;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Appends the current values of the given keys to the log. The log is compacted
+     * instead if it holds too many obsolete records.
+     *
+     * @param preferences the preferences.
+     * @param keys the modified keys.
+     * @throws IOException if an error occurs when writing the file.
+     */
+    void append(final Properties preferences, final Collection<String> keys)
+            throws IOException {
+        int liveCount = preferences.size();
+        if (validLength < HEADER_LENGTH || recordCount + keys.size()
+                > Math.max(MIN_COMPACTION_RECORDS, 2 * liveCount)) {
+            compact(preferences);
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        int count = 0;
+        for (String key : keys) {
+            String value = preferences.getProperty(key);
+            if (value != null) {
+                writeRecord(out, key, value);
+                count++;
+            }
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+        try {
+            if (raf.length() != validLength) {
+                // Overwrite the corrupted end of the log
+                raf.setLength(validLength);
+            }
+            raf.seek(validLength);
+            raf.write(buffer.toByteArray());
+            raf.getFD().sync();
+        } finally {
+            raf.close();
+        }
+        validLength += buffer.size();
+        recordCount += count;
+    }
+
+    /**
+     * Rewrites the log with one record per preference. The log is written to a temporary
+     * file which then replaces the log.
+     *
+     * @param preferences the preferences.
+     * @throws IOException if an error occurs when writing the file.
+     */
+    void compact(final Properties preferences) throws IOException {
+        Properties snapshot = (Properties) preferences.clone();
+        File tmpFile = FileUtil.getTemporaryFile(file);
+        FileOutputStream fileOut = new FileOutputStream(tmpFile);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+        long length = HEADER_LENGTH;
+        int count = 0;
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (String key : snapshot.stringPropertyNames()) {
+                length += writeRecord(out, key, snapshot.getProperty(key));
+                count++;
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } finally {
+            out.close();
+        }
+        FileUtil.replace(tmpFile, file);
+        validLength = length;
+        recordCount = count;
+    }
+
+    /**
+     * Writes a record.
+     *
+     * @param out the output.
+     * @param key the key.
+     * @param value the value.
+     * @return the number of bytes written.
+     * @throws IOException if an error occurs when writing.
+     */
+    private static int writeRecord(final DataOutputStream out, final String key,
+            final String value) throws IOException {
+        byte[] keyBytes = key.getBytes(CHARSET);
+        byte[] valueBytes = value.getBytes(CHARSET);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(
+                9 + keyBytes.length + valueBytes.length);
+        DataOutputStream record = new DataOutputStream(buffer);
+        record.writeByte(PUT);
+        record.writeInt(keyBytes.length);
+        record.write(keyBytes);
+        record.writeInt(valueBytes.length);
+        record.write(valueBytes);
+        byte[] bytes = buffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeInt((int) crc.getValue());
+        return bytes.length + 8;
+    }
+
+    /**
+     * Applies a record to the preferences.
+     *
+     * @param record the record.
+     * @param preferences the preferences.
+     * @return false if the record is invalid.
+     * @throws IOException if an error occurs when decoding the record.
+     */
+    private static boolean apply(final byte[] record, final Properties preferences)
+            throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        if (in.readByte() != PUT) {
+            return false;
+        }
+        int keyLength = in.readInt();
+        if (keyLength < 0 || keyLength > in.available()) {
+            return false;
+        }
+        byte[] key = new byte[keyLength];
+        in.readFully(key);
+        int valueLength = in.readInt();
+        if (valueLength != in.available()) {
+            return false;
+        }
+        byte[] value = new byte[valueLength];
+        in.readFully(value);
+        preferences.setProperty(new String(key, CHARSET), new String(value, CHARSET));
+        return true;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * PreferencesTable.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Properties;
+
+/**
+ * A read-only table of preferences stored in a binary file. The file holds a table of the
+ * keys, sorted by their UTF-8 encoding, followed by the keys and the values. The file is
+ * read at once into a heap buffer, a key is looked up by a binary search in the buffer,
+ * and only the values which are read are decoded.
+ * <p>
+ * The file format is:
+ * <ul>
+ * <li>the magic number, the version and the number of entries (3 ints);</li>
+ * <li>for each entry, the offset and the length of the key, then of the value (4 ints);</li>
+ * <li>the UTF-8 encoded keys and values.</li>
+ * </ul>
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class PreferencesTable {
+
+    /** The magic number of the table files. */
+    private static final int MAGIC = 0x44505254;
+
+    /** The version of the file format. */
+    private static final int VERSION = 1;
+
+    /** The length of the header: the magic number, the version and the entry count. */
+    private static final int HEADER_LENGTH = 12;
+
+    /** The length of an entry of the key table. */
+    private static final int ENTRY_LENGTH = 16;
+
+    /** The charset used to encode the strings. */
+    private static final String CHARSET = "UTF-8"; //$NON-NLS-1$
+
+    /** Compares byte arrays as unsigned bytes. */
+    private static final Comparator<byte[]> BYTES_COMPARATOR = new Comparator<byte[]>() {
+        @Override
+        public int compare(final byte[] b1, final byte[] b2) {
+            int length = Math.min(b1.length, b2.length);
+            for (int i = 0; i < length; i++) {
+                int diff = (b1[i] & 0xFF) - (b2[i] & 0xFF);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return b1.length - b2.length;
+        }
+    };
+
+    /** The content of the file. */
+    private final ByteBuffer buffer;
+
+    /** The number of entries. */
+    private final int size;
+
+    /**
+     * Creates a new PreferencesTable.
+     *
+     * @param buffer the content of the file.
+     * @param size the number of entries.
+     */
+    private PreferencesTable(final ByteBuffer buffer, final int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * Reads a table file. The file is copied into the heap rather than mapped: a mapped
+     * file cannot be replaced on some platforms, e.g. Windows, as long as the mapping is
+     * not garbage collected, which would prevent saving the preferences to the same file.
+     *
+     * @param file the file.
+     * @return the table.
+     * @throws IOException if an error occurs when reading the file or if it is not a
+     *         preferences table.
+     */
+    static PreferencesTable open(final File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+        ByteBuffer buffer;
+        try {
+            long length = raf.length();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid preferences table: " + file); //$NON-NLS-1$
+            }
+            buffer = ByteBuffer.allocate((int) length);
+            FileChannel channel = raf.getChannel();
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Truncated preferences table: " + file); //$NON-NLS-1$
+                }
+            }
+        } finally {
+            raf.close();
+        }
+        if (buffer.capacity() < HEADER_LENGTH || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION) {
+            throw new IOException("Invalid preferences table: " + file); //$NON-NLS-1$
+        }
+        int size = buffer.getInt(8);
+        if (size < 0 || HEADER_LENGTH + (long) size * ENTRY_LENGTH > buffer.capacity()) {
+            throw new IOException("Invalid preferences table: " + file); //$NON-NLS-1$
+        }
+        return new PreferencesTable(buffer, size);
+    }
+
+    /**
+     * Writes preferences to a table file. The table is written to a temporary file which
+     * then replaces the file.
+     *
+     * @param file the file.
+     * @param preferences the preferences to write.
+     * @throws IOException if an error occurs when writing the file.
+     */
+    static void write(final File file, final Properties preferences) throws IOException {
+        Properties snapshot = (Properties) preferences.clone();
+        String[] keys = snapshot.stringPropertyNames().toArray(new String[0]);
+        byte[][] keyBytes = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            keyBytes[i] = keys[i].getBytes(CHARSET);
+        }
+        // Sort the keys and their encoding together
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = Integer.valueOf(i);
+        }
+        final byte[][] sortKeys = keyBytes;
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer i1, final Integer i2) {
+                return BYTES_COMPARATOR.compare(sortKeys[i1.intValue()], sortKeys[i2.intValue()]);
+            }
+        });
+        byte[][] valueBytes = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            valueBytes[i] = snapshot.getProperty(keys[i]).getBytes(CHARSET);
+        }
+
+        File tmpFile = FileUtil.getTemporaryFile(file);
+        FileOutputStream fileOut = new FileOutputStream(tmpFile);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(keys.length);
+            long offset = HEADER_LENGTH + (long) keys.length * ENTRY_LENGTH;
+            for (Integer index : order) {
+                int i = index.intValue();
+                out.writeInt(checkOffset(offset));
+                out.writeInt(keyBytes[i].length);
+                offset += keyBytes[i].length;
+                out.writeInt(checkOffset(offset));
+                out.writeInt(valueBytes[i].length);
+                offset += valueBytes[i].length;
+            }
+            checkOffset(offset);
+            for (Integer index : order) {
+                int i = index.intValue();
+                out.write(keyBytes[i]);
+                out.write(valueBytes[i]);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } finally {
+            out.close();
+        }
+        FileUtil.replace(tmpFile, file);
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value of the given key.
+     *
+     * @param key the key.
+     * @return the value or null if the table does not contain the key.
+     */
+    String get(final String key) {
+        byte[] bytes;
+        try {
+            bytes = key.getBytes(CHARSET);
+        } catch (final UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareKey(mid, bytes);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                int entry = HEADER_LENGTH + mid * ENTRY_LENGTH;
+                return decode(buffer.getInt(entry + 8), buffer.getInt(entry + 12));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decodes all the entries of the table.
+     *
+     * @param preferences the preferences receiving the entries.
+     */
+    void copyTo(final Properties preferences) {
+        for (int i = 0; i < size; i++) {
+            int entry = HEADER_LENGTH + i * ENTRY_LENGTH;
+            preferences.put(decode(buffer.getInt(entry), buffer.getInt(entry + 4)),
+                    decode(buffer.getInt(entry + 8), buffer.getInt(entry + 12)));
+        }
+    }
+
+    /**
+     * Compares the key of an entry with the given key.
+     *
+     * @param index the index of the entry.
+     * @param key the encoded key.
+     * @return a negative integer, zero, or a positive integer as the key of the entry is
+     *         less than, equal to, or greater than the given key.
+     */
+    private int compareKey(final int index, final byte[] key) {
+        int entry = HEADER_LENGTH + index * ENTRY_LENGTH;
+        int offset = buffer.getInt(entry);
+        int length = buffer.getInt(entry + 4);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int diff = (buffer.get(offset + i) & 0xFF) - (key[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    /**
+     * Decodes a string of the file.
+     *
+     * @param offset the offset of the string.
+     * @param length the length of the string.
+     * @return the string.
+     */
+    private String decode(final int offset, final int length) {
+        byte[] bytes = new byte[length];
+        // The buffer is shared by the threads: read it with a private view
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        try {
+            return new String(bytes, CHARSET);
+        } catch (final UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Checks that an offset can be stored in the table.
+     *
+     * @param offset the offset.
+     * @return the offset.
+     * @throws IOException if the offset is too large.
+     */
+    private static int checkOffset(final long offset) throws IOException {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("The preferences are too large for a table."); //$NON-NLS-1$
+        }
+        return (int) offset;
+    }
+}
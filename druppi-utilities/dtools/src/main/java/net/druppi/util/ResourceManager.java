@@ -15,11 +15,16 @@
  *
  * You should have received a copy of the GNU Lesser General Public License
  * along with this library.  If not, see <http://www.gnu.org/licenses/>.
- */
+ */
 package net.druppi.util;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -34,8 +39,17 @@ public final class ResourceManager {
     /** The default bundle path. */
     private static final String DEFAULT_BUNDLE_PATH = "i18n/"; //$NON-NLS-1$
 
-    /** The map of ResourceMap. */
-    private static Map<String, ResourceMap> map = new HashMap<String, ResourceMap>();
+    /** The default maximum number of cached ResourceMaps. */
+    private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /** The cache of ResourceMap. */
+    private static final ResourceMapCache CACHE = new ResourceMapCache(DEFAULT_MAXIMUM_SIZE);
+
+    /** The interval between two checks of the bundle files, 0 if they are not checked. */
+    private static long reloadInterval;
+
+    /** The timer checking the bundle files, null if they are not checked. */
+    private static Timer reloadTimer;
 
     /**
      * This class is not instanciable.
@@ -66,16 +80,30 @@ public final class ResourceManager {
      * @return the specified ResourceMap.
      */
     public static ResourceMap getResourceMap(final String bundleName, final ClassLoader loader) {
+        return getResourceMap(bundleName, loader, Locale.getDefault());
+    }
+
+    /**
+     * Returns the ResourceMap for the specified bundle name and locale. The method throws
+     * a MissingResourceException if the bundle cannot be found and an
+     * IllegalArgumentException if the bundle name is null. The method is thread safe: a
+     * bundle is loaded only once even if it is requested by several threads at the same
+     * time.
+     *
+     * @param bundleName the bundle name (cannot be null).
+     * @param loader the class loader to use to load bundles.
+     * @param locale the locale of the bundle (cannot be null).
+     * @return the specified ResourceMap.
+     */
+    public static ResourceMap getResourceMap(final String bundleName, final ClassLoader loader,
+            final Locale locale) {
         if (bundleName == null) {
             throw new IllegalArgumentException("The bundle name cannot be null."); //$NON-NLS-1$
         }
-        ResourceMap resourceMap = map.get(bundleName);
-        if (resourceMap == null) {
-            resourceMap = new ResourceMap(bundleName, loader);
-            map.put(bundleName, resourceMap);
-            LOGGER.finer("New ResourceMap created from " + bundleName); //$NON-NLS-1$
+        if (locale == null) {
+            throw new IllegalArgumentException("The locale cannot be null."); //$NON-NLS-1$
         }
-        return resourceMap;
+        return CACHE.get(bundleName, getEffectiveLoader(loader), locale);
     }
 
     /**
@@ -95,4 +123,160 @@ public final class ResourceManager {
         }
         return getResourceMap(DEFAULT_BUNDLE_PATH + cls.getName().replaceAll("\\.", "/"), cls.getClassLoader()); //$NON-NLS-1$ //$NON-NLS-2$
     }
+
+    /**
+     * Evicts the cached ResourceMaps loaded with the given class loader. This method
+     * should be called when a class loader is discarded, for instance when a plug-in is
+     * unloaded.
+     *
+     * @param loader the class loader (cannot be null).
+     * @return the number of ResourceMaps evicted.
+     */
+    public static int evict(final ClassLoader loader) {
+        if (loader == null) {
+            throw new IllegalArgumentException("The class loader cannot be null."); //$NON-NLS-1$
+        }
+        return CACHE.evict(loader);
+    }
+
+    /**
+     * Saves a snapshot of the ResourceMaps loaded with the given class loader. The snapshot
+     * holds the resolved strings of the bundles and the colors and fonts already decoded.
+     * It can be loaded at startup with {@link #loadSnapshot(File, ClassLoader)} to avoid
+     * the resolution of the bundles.
+     *
+     * @param file the snapshot file (cannot be null).
+     * @param loader the class loader of the ResourceMaps, null for the default one.
+     * @return the number of ResourceMaps saved.
+     * @throws IOException if an error occurs when writing the file.
+     */
+    public static int saveSnapshot(final File file, final ClassLoader loader)
+            throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        List<ResourceMap> resourceMaps = CACHE.getResourceMaps(getEffectiveLoader(loader));
+        ResourceSnapshot.write(file, resourceMaps);
+        return resourceMaps.size();
+    }
+
+    /**
+     * Loads a snapshot saved by {@link #saveSnapshot(File, ClassLoader)}. The next
+     * ResourceMaps requested for the given class loader are created from the snapshot;
+     * the bundles missing from the snapshot are loaded normally. The snapshot is not
+     * checked against the bundles: it must be saved again when they change.
+     *
+     * @param file the snapshot file (cannot be null).
+     * @param loader the class loader of the ResourceMaps, null for the default one.
+     * @return the number of bundles in the snapshot.
+     * @throws IOException if an error occurs when reading the file or if it is not a
+     *         valid snapshot.
+     */
+    public static int loadSnapshot(final File file, final ClassLoader loader)
+            throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null."); //$NON-NLS-1$
+        }
+        ResourceSnapshot snapshot = ResourceSnapshot.read(file);
+        CACHE.setSnapshot(getEffectiveLoader(loader), snapshot);
+        return snapshot.size();
+    }
+
+    /**
+     * Sets the interval between two checks of the files of the cached ResourceMaps. When
+     * the properties files of a ResourceMap are modified, its bundle is reloaded and its
+     * listeners are notified (see {@link ResourceMap#reload()}). The files are checked by a
+     * background thread; the first check of a ResourceMap records the state of its files.
+     * Only the bundles read from the file system, not from a jar, can be reloaded. The
+     * reloading is disabled by default.
+     *
+     * @param interval the interval in milliseconds, 0 to disable the reloading.
+     */
+    public static synchronized void setReloadInterval(final long interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("The interval cannot be negative."); //$NON-NLS-1$
+        }
+        if (reloadTimer != null) {
+            reloadTimer.cancel();
+            reloadTimer = null;
+        }
+        reloadInterval = interval;
+        if (interval > 0) {
+            reloadTimer = new Timer("ResourceMap-reloader", true); //$NON-NLS-1$
+            reloadTimer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    reloadModified();
+                }
+            }, 0, interval);
+        }
+    }
+
+    /**
+     * Returns the interval between two checks of the files of the cached ResourceMaps.
+     *
+     * @return the interval in milliseconds, 0 if the reloading is disabled.
+     */
+    public static synchronized long getReloadInterval() {
+        return reloadInterval;
+    }
+
+    /**
+     * Evicts all the cached ResourceMaps.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * Sets the maximum number of cached ResourceMaps. When the cache is full, the least
+     * recently used ResourceMaps are evicted.
+     *
+     * @param maximumSize the maximum number of ResourceMaps (must be positive).
+     */
+    public static void setMaximumSize(final int maximumSize) {
+        CACHE.setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Returns the maximum number of cached ResourceMaps.
+     *
+     * @return the maximum number of ResourceMaps.
+     */
+    public static int getMaximumSize() {
+        return CACHE.getMaximumSize();
+    }
+
+    /**
+     * Returns the statistics of the cache of ResourceMaps.
+     *
+     * @return a snapshot of the statistics.
+     */
+    public static CacheStatistics getStatistics() {
+        return CACHE.getStatistics();
+    }
+
+    /**
+     * Returns the class loader used to load the bundles.
+     *
+     * @param loader the requested class loader or null.
+     * @return the given class loader or the class loader of the ResourceMap class if it
+     *         is null.
+     */
+    private static ClassLoader getEffectiveLoader(final ClassLoader loader) {
+        return (loader == null) ? ResourceMap.class.getClassLoader() : loader;
+    }
+
+    /**
+     * Reloads the cached ResourceMaps whose files were modified.
+     */
+    private static void reloadModified() {
+        for (ResourceMap resourceMap : CACHE.getResourceMaps(null)) {
+            try {
+                resourceMap.reloadIfModified();
+            } catch (final RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Cannot reload " + resourceMap.getBundleName(), ex); //$NON-NLS-1$
+            }
+        }
+    }
 }
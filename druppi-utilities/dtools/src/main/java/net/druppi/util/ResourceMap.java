@@ -21,16 +21,44 @@ package net.druppi.util;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Image;
+import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 
 /**
+ * A map of the resources of a bundle. The typed values (numbers, fonts, colors, icons
+ * and images) are converted once per key and cached: the icons and images are shared
+ * by all the callers. The cached values can be discarded with {@link #invalidate()}.
+ * <p>
+ * The icons can also be loaded in the background with {@link #getIconAsync(String)},
+ * {@link #prefetch(String...)} and {@link #prefetchAll(String)} so that they are not
+ * decoded by the event dispatch thread.
+ * <p>
+ * The bundle can be reloaded with {@link #reload()}, or automatically when its files
+ * change (see {@link ResourceManager#setReloadInterval(long)}). The reading methods never
+ * lock: the bundle and its cached values are replaced at once.
+ *
  * @author Olivier Sechet
  * @version 1.0 - Mar 27, 2009
  */
@@ -39,12 +67,104 @@ public final class ResourceMap {
     /** The class LOGGER. */
     private static final Logger LOGGER = Logger.getLogger(ResourceMap.class.getName());
 
-    /** The path to the associated bundle file. */
-    private final ResourceBundle bundle;
+    /**
+     * The maximum number of missing keys remembered by a ResourceMap. The missing keys
+     * are logged once, the keys beyond this limit are logged at the FINE level.
+     */
+    private static final int MAX_MISSING_KEYS = 256;
+
+    /** The control used to load the bundles. */
+    private static final ResourceBundle.Control LOAD_CONTROL = new BundleControl(false);
+
+    /** The control used to reload the bundles. */
+    private static final ResourceBundle.Control RELOAD_CONTROL = new BundleControl(true);
+
+    /** The converter of the integer values. */
+    private static final Converter<Integer> INTEGER_CONVERTER = new Converter<Integer>() {
+        @Override
+        public Integer convert(final ResourceMap map, final String key) {
+            return Integer.valueOf(map.getString(key));
+        }
+    };
+
+    /** The converter of the long values. */
+    private static final Converter<Long> LONG_CONVERTER = new Converter<Long>() {
+        @Override
+        public Long convert(final ResourceMap map, final String key) {
+            return Long.valueOf(map.getString(key));
+        }
+    };
+
+    /** The converter of the float values. */
+    private static final Converter<Float> FLOAT_CONVERTER = new Converter<Float>() {
+        @Override
+        public Float convert(final ResourceMap map, final String key) {
+            return Float.valueOf(map.getString(key));
+        }
+    };
+
+    /** The converter of the double values. */
+    private static final Converter<Double> DOUBLE_CONVERTER = new Converter<Double>() {
+        @Override
+        public Double convert(final ResourceMap map, final String key) {
+            return Double.valueOf(map.getString(key));
+        }
+    };
+
+    /** The converter of the fonts. */
+    private static final Converter<Font> FONT_CONVERTER = new Converter<Font>() {
+        @Override
+        public Font convert(final ResourceMap map, final String key) {
+            return Font.decode(map.getString(key));
+        }
+    };
+
+    /** The converter of the colors. */
+    private static final Converter<Color> COLOR_CONVERTER = new Converter<Color>() {
+        @Override
+        public Color convert(final ResourceMap map, final String key) {
+            return ColorUtil.decode(map.getString(key));
+        }
+    };
+
+    /** The converter of the icons. */
+    private static final Converter<Icon> ICON_CONVERTER = new Converter<Icon>() {
+        @Override
+        public Icon convert(final ResourceMap map, final String key) {
+            return map.loadIcon(key);
+        }
+    };
+
+    /** The converter of the images. The images are shared with the cached icons. */
+    private static final Converter<Image> IMAGE_CONVERTER = new Converter<Image>() {
+        @Override
+        public Image convert(final ResourceMap map, final String key) {
+            return ((ImageIcon) map.getIcon(key)).getImage();
+        }
+    };
+
+    /** The bundle name. */
+    private final String bundleName;
+
+    /** The locale of the bundle. */
+    private final Locale locale;
 
     /** The ClassLoader used to load resources. */
     private final ClassLoader loader;
 
+    /** The bundle and the values cached from it. It is replaced when the map is reloaded. */
+    private volatile Content content;
+
+    /** The listeners notified when the map is reloaded. */
+    private final List<ResourceMapListener> listeners =
+            new CopyOnWriteArrayList<ResourceMapListener>();
+
+    /** The files of the bundle, null until they are watched. Guarded by this. */
+    private File[] files;
+
+    /** The last modification dates of the files of the bundle. Guarded by this. */
+    private long[] lastModified;
+
     /**
      * Creates a new ResourceMap.
      *
@@ -61,12 +181,43 @@ public final class ResourceMap {
      * @param loader the class loader to use to load bundles.
      */
     public ResourceMap(final String bundleName, final ClassLoader loader) {
+        this(bundleName, loader, Locale.getDefault());
+    }
+
+    /**
+     * Creates a new ResourceMap for the given locale. The bundles will be loaded with the
+     * given ClassLoader.
+     *
+     * @param bundleName the full path to the bundle.
+     * @param loader the class loader to use to load bundles.
+     * @param locale the locale of the bundle.
+     */
+    public ResourceMap(final String bundleName, final ClassLoader loader, final Locale locale) {
         if (loader == null) {
             this.loader = getClass().getClassLoader();
         } else {
             this.loader = loader;
         }
-        this.bundle = ResourceBundle.getBundle(bundleName, Locale.getDefault(), this.loader);
+        this.bundleName = bundleName;
+        this.locale = locale;
+        this.content = new Content(
+                ResourceBundle.getBundle(bundleName, locale, this.loader, LOAD_CONTROL));
+    }
+
+    /**
+     * Creates a new ResourceMap backed by an already resolved bundle.
+     *
+     * @param bundleName the full path to the bundle.
+     * @param loader the class loader to use to load resources.
+     * @param locale the locale of the bundle.
+     * @param bundle the resolved bundle.
+     */
+    ResourceMap(final String bundleName, final ClassLoader loader, final Locale locale,
+            final ResourceBundle bundle) {
+        this.loader = (loader == null) ? getClass().getClassLoader() : loader;
+        this.bundleName = bundleName;
+        this.locale = locale;
+        this.content = new Content(bundle);
     }
 
     /**
@@ -76,17 +227,15 @@ public final class ResourceMap {
      * @return the message.
      */
     public String getString(final String key) {
-        try {
-            return bundle.getString(key);
-        } catch (MissingResourceException ex) {
-            LOGGER.info("Key not found: " + key); //$NON-NLS-1$
-            return "!" + key + "!"; //$NON-NLS-1$ //$NON-NLS-2$
-        }
+        String value = findString(key);
+        return (value == null) ? getMissingString(key) : value;
     }
 
     /**
      * Returns the string associated with the given key and replace the parameters with
-     * the given arguments. This method uses the String.format() method.
+     * the given arguments. This method uses the String.format() syntax: the pattern of a
+     * key is parsed once and the simple patterns are formatted without creating a
+     * Formatter.
      *
      * @param key the message's key.
      * @param args message's arguments.
@@ -94,7 +243,27 @@ public final class ResourceMap {
      * @see String#format(String, Object...)
      */
     public String getString(final String key, final Object... args) {
-        return String.format(getString(key), args);
+        return getTemplate(key).format(args);
+    }
+
+    /**
+     * Appends the string associated with the given key, with the parameters replaced
+     * with the given arguments, to a builder. This method avoids the creation of the
+     * intermediate message.
+     *
+     * @param builder the builder (cannot be null).
+     * @param key the message's key.
+     * @param args message's arguments.
+     * @return the builder.
+     * @see #getString(String, Object...)
+     */
+    public StringBuilder appendString(final StringBuilder builder, final String key,
+            final Object... args) {
+        if (builder == null) {
+            throw new IllegalArgumentException("The builder cannot be null."); //$NON-NLS-1$
+        }
+        getTemplate(key).appendTo(builder, args);
+        return builder;
     }
 
     /**
@@ -104,7 +273,7 @@ public final class ResourceMap {
      * @return an integer.
      */
     public int getInteger(final String key) {
-        return Integer.parseInt(getString(key));
+        return getValue(content.integers, key, INTEGER_CONVERTER).intValue();
     }
 
     /**
@@ -114,7 +283,7 @@ public final class ResourceMap {
      * @return a long.
      */
     public long getLong(final String key) {
-        return Long.parseLong(getString(key));
+        return getValue(content.longs, key, LONG_CONVERTER).longValue();
     }
 
     /**
@@ -124,7 +293,7 @@ public final class ResourceMap {
      * @return a float.
      */
     public float getFloat(final String key) {
-        return Float.parseFloat(getString(key));
+        return getValue(content.floats, key, FLOAT_CONVERTER).floatValue();
     }
 
     /**
@@ -134,7 +303,7 @@ public final class ResourceMap {
      * @return a double.
      */
     public double getDouble(final String key) {
-        return Double.parseDouble(getString(key));
+        return getValue(content.doubles, key, DOUBLE_CONVERTER).doubleValue();
     }
 
     /**
@@ -157,22 +326,80 @@ public final class ResourceMap {
      * @see Font#decode(String)
      */
     public Font getFont(final String key) {
-        return Font.decode(getString(key));
+        return getValue(content.fonts, key, FONT_CONVERTER);
     }
 
     /**
-     * Return the icon whose path is specified with the key.
+     * Return the icon whose path is specified with the key. If the icon is being prefetched
+     * but its loading did not start yet, it is loaded in the calling thread.
      *
      * @param key the icon's key.
      * @return an icon.
      */
     public Icon getIcon(final String key) {
-        URL url = loader.getResource(getString(key));
-        if (url == null) {
-            throw new InvalidResourceException(
-                    "Impossible to load the specified icon: " + key); //$NON-NLS-1$
+        Content current = content;
+        Icon icon = current.icons.get(key);
+        if (icon != null) {
+            return icon;
+        }
+        FutureTask<Icon> load = current.iconLoads.get(key);
+        if (load != null) {
+            // Load the icon now rather than waiting for it behind the queued prefetches
+            load.run();
+            return waitFor(load);
+        }
+        return getValue(current.icons, key, ICON_CONVERTER);
+    }
+
+    /**
+     * Returns the icon whose path is specified with the key. If the icon is not loaded
+     * yet, it is loaded in the background. The icon is loaded only once, even if it is
+     * requested several times before the end of its loading.
+     *
+     * @param key the icon's key.
+     * @return the future result of the loading.
+     */
+    public Future<Icon> getIconAsync(final String key) {
+        Content current = content;
+        FutureTask<Icon> load = current.iconLoads.get(key);
+        if (load == null) {
+            FutureTask<Icon> created = new IconLoad(key, current);
+            if (current.icons.containsKey(key)) {
+                created.run();
+                return created;
+            }
+            load = current.iconLoads.putIfAbsent(key, created);
+            if (load == null) {
+                load = created;
+                LoaderHolder.EXECUTOR.execute(created);
+            }
+        }
+        return load;
+    }
+
+    /**
+     * Loads the given icons in the background. The loading errors are reported when the
+     * icons are requested.
+     *
+     * @param keys the icons' keys.
+     */
+    public void prefetch(final String... keys) {
+        for (String key : keys) {
+            getIconAsync(key);
+        }
+    }
+
+    /**
+     * Loads in the background all the icons whose key starts with the given prefix.
+     *
+     * @param prefix the prefix of the icons' keys.
+     */
+    public void prefetchAll(final String prefix) {
+        for (String key : content.bundle.keySet()) {
+            if (key.startsWith(prefix)) {
+                getIconAsync(key);
+            }
         }
-        return new ImageIcon(url);
     }
 
     /**
@@ -182,7 +409,7 @@ public final class ResourceMap {
      * @return an icon.
      */
     public Image getImage(final String key) {
-        return ((ImageIcon) getIcon(key)).getImage();
+        return getValue(content.images, key, IMAGE_CONVERTER);
     }
 
     /**
@@ -197,8 +424,520 @@ public final class ResourceMap {
      * @throws InvalidResourceException if the String does not respect the legal format.
      */
     public Color getColor(final String key) throws InvalidResourceException {
-        String s = getString(key);
+        return getValue(content.colors, key, COLOR_CONVERTER);
+    }
+
+    /**
+     * Discards the cached typed values, message templates and missing keys. The bundle and
+     * the locale are kept: the next calls convert the values of the same bundle again. Use
+     * {@link #reload()} to read the bundle again.
+     */
+    public synchronized void invalidate() {
+        content = new Content(content.bundle);
+    }
+
+    /**
+     * Reloads the bundle and discards the cached values. The bundle is replaced atomically:
+     * the readers are never blocked and see either the old or the new bundle. The
+     * listeners are notified once the bundle is replaced.
+     *
+     * @throws java.util.MissingResourceException if the bundle cannot be found anymore.
+     *         The current bundle is then kept.
+     */
+    public void reload() {
+        synchronized (this) {
+            swap();
+        }
+        fireReloaded();
+    }
+
+    /**
+     * Adds a listener notified when the map is reloaded. The listener is not carried over
+     * when the map is evicted from the cache of the {@link ResourceManager}: the map then
+     * returned by the ResourceManager is a new one.
+     *
+     * @param listener the listener (cannot be null).
+     */
+    public void addResourceMapListener(final ResourceMapListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("The listener cannot be null."); //$NON-NLS-1$
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener.
+     */
+    public void removeResourceMapListener(final ResourceMapListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Reloads the bundle if one of its files was modified since the map was loaded. The
+     * first call only records the modification dates of the files. Only the properties
+     * files that exist in the file system when they are recorded are watched.
+     *
+     * @return true if the map was reloaded.
+     */
+    boolean reloadIfModified() {
+        synchronized (this) {
+            if (files == null) {
+                watch();
+                return false;
+            }
+            if (!isModified()) {
+                return false;
+            }
+            swap();
+        }
+        fireReloaded();
+        return true;
+    }
+
+    /**
+     * Returns the bundle name.
+     *
+     * @return the bundle name.
+     */
+    String getBundleName() {
+        return bundleName;
+    }
+
+    /**
+     * Returns the locale of the bundle.
+     *
+     * @return the locale.
+     */
+    Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Returns the bundle.
+     *
+     * @return the bundle.
+     */
+    ResourceBundle getBundle() {
+        return content.bundle;
+    }
+
+    /**
+     * Returns the colors decoded so far.
+     *
+     * @return the cached colors by key.
+     */
+    Map<String, Color> getCachedColors() {
+        return content.colors;
+    }
+
+    /**
+     * Returns the fonts decoded so far.
+     *
+     * @return the cached fonts by key.
+     */
+    Map<String, Font> getCachedFonts() {
+        return content.fonts;
+    }
+
+    /**
+     * Caches colors and fonts decoded beforehand.
+     *
+     * @param colorValues the colors by key.
+     * @param fontValues the fonts by key.
+     */
+    void preload(final Map<String, Color> colorValues, final Map<String, Font> fontValues) {
+        Content current = content;
+        current.colors.putAll(colorValues);
+        current.fonts.putAll(fontValues);
+    }
+
+    /**
+     * Returns the cached value associated with the given key, converting it if it is not
+     * cached yet. The conversion errors and the null values are not cached.
+     *
+     * @param <T> the type of the value.
+     * @param cache the cache of the values of this type.
+     * @param key the value's key.
+     * @param converter the converter creating the value.
+     * @return the value.
+     */
+    private <T> T getValue(final ConcurrentMap<String, T> cache, final String key,
+            final Converter<T> converter) {
+        T value = cache.get(key);
+        if (value == null) {
+            T converted = converter.convert(this, key);
+            if (converted == null) {
+                return null;
+            }
+            value = cache.putIfAbsent(key, converted);
+            if (value == null) {
+                value = converted;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the string associated with the given key in the bundle.
+     *
+     * @param key the message's key.
+     * @return the string or null if the key is missing.
+     */
+    private String findString(final String key) {
+        Content current = content;
+        if (current.missingKeys.containsKey(key)) {
+            return null;
+        }
+        try {
+            return current.bundle.getString(key);
+        } catch (MissingResourceException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the message used for a missing key. The missing key is logged the first
+     * time it is requested.
+     *
+     * @param key the missing key.
+     * @return the message.
+     */
+    private String getMissingString(final String key) {
+        ConcurrentMap<String, String> missingKeys = content.missingKeys;
+        String message = missingKeys.get(key);
+        if (message == null) {
+            message = "!" + key + "!"; //$NON-NLS-1$ //$NON-NLS-2$
+            if (missingKeys.size() < MAX_MISSING_KEYS) {
+                if (missingKeys.putIfAbsent(key, message) == null) {
+                    LOGGER.info("Key not found: " + key); //$NON-NLS-1$
+                }
+            } else if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Key not found: " + key); //$NON-NLS-1$
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Returns the compiled template of the message associated with the given key. The
+     * templates of the missing keys are not cached.
+     *
+     * @param key the message's key.
+     * @return the template.
+     */
+    private MessageTemplate getTemplate(final String key) {
+        ConcurrentMap<String, MessageTemplate> templates = content.templates;
+        MessageTemplate template = templates.get(key);
+        if (template == null) {
+            String pattern = findString(key);
+            if (pattern == null) {
+                return MessageTemplate.compile(getMissingString(key));
+            }
+            MessageTemplate compiled = MessageTemplate.compile(pattern);
+            template = templates.putIfAbsent(key, compiled);
+            if (template == null) {
+                template = compiled;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Loads the icon whose path is specified with the key.
+     *
+     * @param key the icon's key.
+     * @return a new icon.
+     */
+    private ImageIcon loadIcon(final String key) {
+        URL url = loader.getResource(getString(key));
+        if (url == null) {
+            throw new InvalidResourceException(
+                    "Impossible to load the specified icon: " + key); //$NON-NLS-1$
+        }
+        return new ImageIcon(url);
+    }
+
+    /**
+     * Records the files of the bundle and their modification dates. Guarded by this.
+     */
+    private void watch() {
+        ResourceBundle.Control control =
+                ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+        List<File> found = new ArrayList<File>();
+        for (Locale candidate : control.getCandidateLocales(bundleName, locale)) {
+            String resourceName = control.toResourceName(
+                    control.toBundleName(bundleName, candidate), "properties"); //$NON-NLS-1$
+            URL url = loader.getResource(resourceName);
+            File file = (url == null) ? null : ChecksumUtil.toFile(url);
+            if (file != null) {
+                found.add(file);
+            }
+        }
+        files = found.toArray(new File[found.size()]);
+        lastModified = new long[files.length];
+        for (int i = 0; i < files.length; i++) {
+            lastModified[i] = files[i].lastModified();
+        }
+    }
+
+    /**
+     * Returns whether a file of the bundle was modified since it was recorded. Guarded by
+     * this.
+     *
+     * @return true if a file was modified.
+     */
+    private boolean isModified() {
+        for (int i = 0; i < files.length; i++) {
+            if (files[i].lastModified() != lastModified[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads the bundle again and replaces the content. The files are recorded before the
+     * bundle is loaded so that a modification made during the load is detected. Only the
+     * bundle and its parents are reloaded, the other bundles of the class loader stay in
+     * the cache of ResourceBundle. Guarded by this.
+     */
+    private void swap() {
+        watch();
+        ResourceBundle bundle =
+                ResourceBundle.getBundle(bundleName, locale, loader, RELOAD_CONTROL);
+        if (bundle == content.bundle) {
+            // The bundle was cached by a lookup without expiration, e.g. outside a
+            // ResourceMap: only clearing the whole cache of the loader reloads it
+            ResourceBundle.clearCache(loader);
+            bundle = ResourceBundle.getBundle(bundleName, locale, loader, RELOAD_CONTROL);
+        }
+        content = new Content(bundle);
+        LOGGER.fine("ResourceMap reloaded: " + bundleName); //$NON-NLS-1$
+    }
+
+    /**
+     * Notifies the listeners that the map was reloaded.
+     */
+    private void fireReloaded() {
+        for (ResourceMapListener listener : listeners) {
+            listener.resourceMapReloaded(this);
+        }
+    }
+
+    /**
+     * Waits for the end of the loading of an icon.
+     *
+     * @param load the loading.
+     * @return the icon.
+     */
+    private static Icon waitFor(final FutureTask<Icon> load) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return load.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new InvalidResourceException(cause.getMessage());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The background loading of an icon. The loading forgets itself once it is done: the
+     * loaded icon is then cached with the other icons.
+     */
+    private final class IconLoad extends FutureTask<Icon> {
+
+        /** The icon's key. */
+        private final String key;
+
+        /** The content the icon is cached in. */
+        private final Content target;
+
+        /**
+         * Creates a new IconLoad.
+         *
+         * @param key the icon's key.
+         * @param target the content the icon is cached in.
+         */
+        IconLoad(final String key, final Content target) {
+            super(new Callable<Icon>() {
+                @Override
+                public Icon call() {
+                    return getValue(target.icons, key, ICON_CONVERTER);
+                }
+            });
+            this.key = key;
+            this.target = target;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void done() {
+            target.iconLoads.remove(key, this);
+        }
+    }
+
+    /**
+     * The control of the bundles loaded by the ResourceMaps. The cached bundles expire at
+     * once, so that each lookup asks the control whether they must be reloaded: a
+     * ResourceMap looks its bundle up only when it is created or reloaded, and reloading
+     * it does not evict the other bundles from the cache of ResourceBundle.
+     */
+    private static final class BundleControl extends ResourceBundle.Control {
+
+        /** Whether the cached bundles are always reloaded. */
+        private final boolean reload;
+
+        /**
+         * Creates a new BundleControl.
+         *
+         * @param reload true to always reload the cached bundles, false to reload them only
+         *        if their file was modified.
+         */
+        BundleControl(final boolean reload) {
+            this.reload = reload;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getTimeToLive(final String baseName, final Locale locale) {
+            return 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsReload(final String baseName, final Locale locale,
+                final String format, final ClassLoader loader, final ResourceBundle bundle,
+                final long loadTime) {
+            return reload
+                    || super.needsReload(baseName, locale, format, loader, bundle, loadTime);
+        }
+    }
+
+    /**
+     * The holder of the executor loading the icons. The executor is created when the
+     * first icon is loaded in the background.
+     */
+    private static final class LoaderHolder {
+
+        /** The executor loading the icons. Its threads do not prevent the JVM exit. */
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(final Runnable runnable) {
+                        Thread thread = new Thread(runnable,
+                                "ResourceMap-loader-" + count.incrementAndGet()); //$NON-NLS-1$
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+
+        /**
+         * This class is not instanciable.
+         */
+        private LoaderHolder() {
+            // no op
+        }
+    }
+
+    /**
+     * The bundle of a ResourceMap and the values cached from it.
+     */
+    private static final class Content {
+
+        /** The bundle. */
+        private final ResourceBundle bundle;
+
+        /** The cached integer values. */
+        private final ConcurrentMap<String, Integer> integers =
+                new ConcurrentHashMap<String, Integer>();
+
+        /** The cached long values. */
+        private final ConcurrentMap<String, Long> longs = new ConcurrentHashMap<String, Long>();
+
+        /** The cached float values. */
+        private final ConcurrentMap<String, Float> floats =
+                new ConcurrentHashMap<String, Float>();
+
+        /** The cached double values. */
+        private final ConcurrentMap<String, Double> doubles =
+                new ConcurrentHashMap<String, Double>();
+
+        /** The cached fonts. */
+        private final ConcurrentMap<String, Font> fonts = new ConcurrentHashMap<String, Font>();
+
+        /** The cached colors. */
+        private final ConcurrentMap<String, Color> colors =
+                new ConcurrentHashMap<String, Color>();
+
+        /** The cached icons. */
+        private final ConcurrentMap<String, Icon> icons = new ConcurrentHashMap<String, Icon>();
+
+        /** The cached images. */
+        private final ConcurrentMap<String, Image> images =
+                new ConcurrentHashMap<String, Image>();
+
+        /** The icons being loaded in the background. */
+        private final ConcurrentMap<String, FutureTask<Icon>> iconLoads =
+                new ConcurrentHashMap<String, FutureTask<Icon>>();
+
+        /** The compiled message templates. */
+        private final ConcurrentMap<String, MessageTemplate> templates =
+                new ConcurrentHashMap<String, MessageTemplate>();
+
+        /** The missing keys and the message returned for them. */
+        private final ConcurrentMap<String, String> missingKeys =
+                new ConcurrentHashMap<String, String>();
+
+        /**
+         * Creates a new Content.
+         *
+         * @param bundle the bundle.
+         */
+        Content(final ResourceBundle bundle) {
+            this.bundle = bundle;
+        }
+    }
+
+    /**
+     * Converts a resource to a typed value.
+     *
+     * @param <T> the type of the value.
+     */
+    private interface Converter<T> {
 
-        return ColorUtil.decode(s);
+        /**
+         * Converts the resource associated with the given key.
+         *
+         * @param map the resource map.
+         * @param key the resource's key.
+         * @return the value.
+         */
+        T convert(ResourceMap map, String key);
     }
 }
@@ -0,0 +1,475 @@
+/*
+ * ResourceMapCache.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * The cache of the ResourceMaps used by the {@link ResourceManager}. The ResourceMaps are
+ * identified by their bundle name, class loader and locale.
+ * <p>
+ * The keys weakly reference the class loaders but the ResourceMaps, which are strongly
+ * held, strongly reference their class loader: a class loader is only released once its
+ * entries are evicted. The number of entries is bounded, the least recently used entries
+ * are evicted first. The entries of a class loader can also be evicted explicitly with
+ * {@link #evict(ClassLoader)}. The ResourceMaps are not softly referenced since a
+ * ResourceMap created again would not have the listeners of the collected one; an
+ * evicted ResourceMap is likewise replaced by a new one without listeners.
+ * <p>
+ * Lookups do not lock: a bundle is loaded by the first thread asking for it, the other
+ * threads wait for this load.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class ResourceMapCache {
+
+    /** The class logger. */
+    private static final Logger LOGGER = Logger.getLogger(ResourceMapCache.class.getName());
+
+    /** The entries by key. */
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<Key, Entry>();
+
+    /** The queue receiving the references of the unloaded class loaders. */
+    private final ReferenceQueue<ClassLoader> queue = new ReferenceQueue<ClassLoader>();
+
+    /** The clock used to order the accesses. */
+    private final AtomicLong clock = new AtomicLong();
+
+    /** The number of lookups that found a ResourceMap. */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** The number of lookups that did not find a ResourceMap. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /** The number of ResourceMaps loaded. */
+    private final AtomicLong loads = new AtomicLong();
+
+    /** The number of entries evicted. */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /** The maximum number of entries. */
+    private volatile int maximumSize;
+
+    /** The snapshots used to create the ResourceMaps, by class loader. */
+    private final Map<ClassLoader, ResourceSnapshot> snapshots =
+            Collections.synchronizedMap(new WeakHashMap<ClassLoader, ResourceSnapshot>());
+
+    /**
+     * Creates a new ResourceMapCache.
+     *
+     * @param maximumSize the maximum number of entries.
+     */
+    ResourceMapCache(final int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Returns the ResourceMap of the given bundle, loading it if needed.
+     *
+     * @param bundleName the bundle name.
+     * @param loader the class loader.
+     * @param locale the locale.
+     * @return the ResourceMap.
+     */
+    ResourceMap get(final String bundleName, final ClassLoader loader, final Locale locale) {
+        purge();
+        Key key = new Key(bundleName, loader, locale, null);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            Entry created = new Entry(bundleName, loader, locale, snapshots.get(loader));
+            entry = entries.putIfAbsent(new Key(bundleName, loader, locale, queue), created);
+            if (entry == null) {
+                misses.incrementAndGet();
+                loads.incrementAndGet();
+                created.lastAccess = clock.incrementAndGet();
+                created.load();
+                trim();
+                return getLoaded(key, created);
+            }
+        }
+        ResourceMap resourceMap = getLoaded(key, entry);
+        hits.incrementAndGet();
+        entry.lastAccess = clock.incrementAndGet();
+        return resourceMap;
+    }
+
+    /**
+     * Returns the ResourceMap of the given entry. If the load failed, with an exception or
+     * an error, the entry is removed so that the next lookup tries again.
+     *
+     * @param key the key of the entry.
+     * @param entry the entry.
+     * @return the ResourceMap.
+     */
+    private ResourceMap getLoaded(final Key key, final Entry entry) {
+        try {
+            return entry.get();
+        } catch (final RuntimeException ex) {
+            entries.remove(key, entry);
+            throw ex;
+        } catch (final Error ex) {
+            entries.remove(key, entry);
+            throw ex;
+        }
+    }
+
+    /**
+     * Evicts the entries of the given class loader.
+     *
+     * @param loader the class loader.
+     * @return the number of entries evicted.
+     */
+    int evict(final ClassLoader loader) {
+        int count = 0;
+        for (Iterator<Key> it = entries.keySet().iterator(); it.hasNext();) {
+            if (it.next().getLoader() == loader) {
+                it.remove();
+                count++;
+            }
+        }
+        evictions.addAndGet(count);
+        return count;
+    }
+
+    /**
+     * Returns the loaded ResourceMaps of the given class loader. The ResourceMaps being
+     * loaded are ignored.
+     *
+     * @param loader the class loader or null for all the class loaders.
+     * @return the ResourceMaps.
+     */
+    List<ResourceMap> getResourceMaps(final ClassLoader loader) {
+        List<ResourceMap> resourceMaps = new ArrayList<ResourceMap>();
+        for (Map.Entry<Key, Entry> mapEntry : entries.entrySet()) {
+            if (loader == null || mapEntry.getKey().getLoader() == loader) {
+                ResourceMap resourceMap = mapEntry.getValue().peek();
+                if (resourceMap != null) {
+                    resourceMaps.add(resourceMap);
+                }
+            }
+        }
+        return resourceMaps;
+    }
+
+    /**
+     * Sets the snapshot used to create the ResourceMaps of the given class loader. The
+     * bundles missing from the snapshot are loaded normally.
+     *
+     * @param loader the class loader.
+     * @param snapshot the snapshot or null to stop using a snapshot.
+     */
+    void setSnapshot(final ClassLoader loader, final ResourceSnapshot snapshot) {
+        if (snapshot == null) {
+            snapshots.remove(loader);
+        } else {
+            snapshots.put(loader, snapshot);
+        }
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    void clear() {
+        int count = entries.size();
+        entries.clear();
+        evictions.addAndGet(count);
+    }
+
+    /**
+     * Sets the maximum number of entries. The least recently used entries are evicted if
+     * the cache is bigger.
+     *
+     * @param maximumSize the maximum number of entries (must be positive).
+     */
+    void setMaximumSize(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive."); //$NON-NLS-1$
+        }
+        this.maximumSize = maximumSize;
+        trim();
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return the maximum number of entries.
+     */
+    int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the statistics of the cache.
+     *
+     * @return a snapshot of the statistics.
+     */
+    CacheStatistics getStatistics() {
+        purge();
+        return new CacheStatistics(entries.size(), hits.get(), misses.get(), loads.get(),
+                evictions.get());
+    }
+
+    /**
+     * Removes the entries whose class loader was unloaded.
+     */
+    private void purge() {
+        Reference<? extends ClassLoader> ref = queue.poll();
+        while (ref != null) {
+            if (entries.remove(ref) != null) {
+                evictions.incrementAndGet();
+            }
+            ref = queue.poll();
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache is not bigger than its
+     * maximum size.
+     */
+    private void trim() {
+        while (entries.size() > maximumSize) {
+            Map.Entry<Key, Entry> oldest = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<Key, Entry> mapEntry : entries.entrySet()) {
+                long lastAccess = mapEntry.getValue().lastAccess;
+                if (oldest == null || lastAccess < oldestAccess) {
+                    oldest = mapEntry;
+                    oldestAccess = lastAccess;
+                }
+            }
+            if (oldest != null && entries.remove(oldest.getKey(), oldest.getValue())) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The key of an entry. The class loader is weakly referenced and compared by identity.
+     * Once the class loader is collected, the key is only equal to itself.
+     */
+    private static final class Key extends WeakReference<ClassLoader> {
+
+        /** The bundle name. */
+        private final String bundleName;
+
+        /** The locale. */
+        private final Locale locale;
+
+        /** The hash code, computed while the class loader is reachable. */
+        private final int hash;
+
+        /**
+         * Creates a new Key.
+         *
+         * @param bundleName the bundle name.
+         * @param loader the class loader.
+         * @param locale the locale.
+         * @param queue the queue notified when the class loader is collected or null.
+         */
+        Key(final String bundleName, final ClassLoader loader, final Locale locale,
+                final ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            this.bundleName = bundleName;
+            this.locale = locale;
+            int h = bundleName.hashCode();
+            h = 31 * h + System.identityHashCode(loader);
+            this.hash = 31 * h + locale.hashCode();
+        }
+
+        /**
+         * Returns the class loader.
+         *
+         * @return the class loader or null if it was collected.
+         */
+        ClassLoader getLoader() {
+            return get();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            ClassLoader loader = get();
+            return loader != null && loader == other.get() && hash == other.hash
+                    && bundleName.equals(other.bundleName) && locale.equals(other.locale);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * An entry of the cache. While the ResourceMap is loading, the entry holds the loading
+     * task, then it only holds the ResourceMap.
+     */
+    private static final class Entry {
+
+        /** The task loading the ResourceMap, null once the ResourceMap is loaded. */
+        private volatile FutureTask<ResourceMap> task;
+
+        /** The loaded ResourceMap. */
+        private volatile ResourceMap value;
+
+        /** The exception or error that occurred during the load. */
+        private volatile Throwable error;
+
+        /** The clock value of the last access. */
+        private volatile long lastAccess;
+
+        /**
+         * Creates a new Entry.
+         *
+         * @param bundleName the bundle name.
+         * @param loader the class loader.
+         * @param locale the locale.
+         * @param snapshot the snapshot to create the ResourceMap from or null.
+         */
+        Entry(final String bundleName, final ClassLoader loader, final Locale locale,
+                final ResourceSnapshot snapshot) {
+            task = new FutureTask<ResourceMap>(new Callable<ResourceMap>() {
+                @Override
+                public ResourceMap call() {
+                    if (snapshot != null) {
+                        ResourceMap map =
+                                snapshot.createResourceMap(bundleName, loader, locale);
+                        if (map != null) {
+                            LOGGER.finer("ResourceMap created from snapshot: " //$NON-NLS-1$
+                                    + bundleName);
+                            return map;
+                        }
+                    }
+                    ResourceMap map = new ResourceMap(bundleName, loader, locale);
+                    LOGGER.finer("New ResourceMap created from " + bundleName); //$NON-NLS-1$
+                    return map;
+                }
+            });
+        }
+
+        /**
+         * Loads the ResourceMap in the calling thread.
+         */
+        void load() {
+            FutureTask<ResourceMap> loading = task;
+            loading.run();
+            try {
+                value = waitFor(loading);
+            } catch (final RuntimeException ex) {
+                error = ex;
+            } catch (final Error ex) {
+                error = ex;
+            }
+            task = null;
+        }
+
+        /**
+         * Returns the ResourceMap, waiting for the end of the load if needed.
+         *
+         * @return the ResourceMap.
+         * @throws RuntimeException the exception that occurred during the load.
+         * @throws Error the error that occurred during the load.
+         */
+        ResourceMap get() {
+            FutureTask<ResourceMap> loading = task;
+            if (loading != null) {
+                return waitFor(loading);
+            }
+            Throwable ex = error;
+            if (ex instanceof RuntimeException) {
+                throw (RuntimeException) ex;
+            }
+            if (ex != null) {
+                throw (Error) ex;
+            }
+            return value;
+        }
+
+        /**
+         * Returns the ResourceMap without waiting for the end of the load.
+         *
+         * @return the ResourceMap or null if it is not loaded or failed.
+         */
+        ResourceMap peek() {
+            return task != null ? null : value;
+        }
+
+        /**
+         * Waits for the result of the given task.
+         *
+         * @param loading the task loading the ResourceMap.
+         * @return the ResourceMap.
+         * @throws RuntimeException the error that occurred during the load.
+         */
+        private static ResourceMap waitFor(final FutureTask<ResourceMap> loading) {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return loading.get();
+                    } catch (final InterruptedException ex) {
+                        // The load is done by another thread, keep on waiting for it
+                        interrupted = true;
+                    }
+                }
+            } catch (final ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
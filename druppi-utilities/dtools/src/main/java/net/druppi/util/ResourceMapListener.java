@@ -0,0 +1,37 @@
+/*
+ * ResourceMapListener.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+/**
+ * A listener notified when a {@link ResourceMap} is reloaded.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public interface ResourceMapListener {
+
+    /**
+     * Called when the bundle of a ResourceMap has been reloaded. The listener is called on
+     * the thread that reloaded the ResourceMap, which is not the event dispatch thread when
+     * the reloading is automatic.
+     *
+     * @param resourceMap the reloaded ResourceMap.
+     */
+    void resourceMapReloaded(ResourceMap resourceMap);
+}
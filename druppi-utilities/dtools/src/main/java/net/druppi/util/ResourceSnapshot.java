@@ -0,0 +1,369 @@
+/*
+ * ResourceSnapshot.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * A snapshot of resolved ResourceMaps. The snapshot holds the string values of the
+ * bundles, including the values inherited from their parents, and the colors and fonts
+ * that were already decoded. It is written to a single binary file which is read back
+ * sequentially, so that the ResourceMaps can be created without resolving the bundles.
+ * <p>
+ * The snapshot is not checked against the bundles: it must be rebuilt when they change.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class ResourceSnapshot {
+
+    /** The magic number of the snapshot files. */
+    private static final int MAGIC = 0x44525353;
+
+    /** The version of the file format. */
+    private static final int VERSION = 1;
+
+    /** The size of the buffer used to read and write the snapshot files. */
+    private static final int BUFFER_LENGTH = 64 * 1024;
+
+    /** The charset used to encode the strings. */
+    private static final String CHARSET = "UTF-8"; //$NON-NLS-1$
+
+    /** The bundles by key. */
+    private final Map<String, Bundle> bundles;
+
+    /**
+     * Creates a new ResourceSnapshot.
+     *
+     * @param bundles the bundles by key.
+     */
+    private ResourceSnapshot(final Map<String, Bundle> bundles) {
+        this.bundles = bundles;
+    }
+
+    /**
+     * Writes a snapshot of the given ResourceMaps to a file. The snapshot is written to a
+     * temporary file, which is synchronized with the storage device and then replaces
+     * the file.
+     *
+     * @param file the file.
+     * @param resourceMaps the ResourceMaps.
+     * @throws IOException if an error occurs when writing the file.
+     */
+    static void write(final File file, final Collection<ResourceMap> resourceMaps)
+            throws IOException {
+        File tmpFile = FileUtil.getTemporaryFile(file);
+        FileOutputStream fileOut = new FileOutputStream(tmpFile);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                fileOut, BUFFER_LENGTH));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(resourceMaps.size());
+            for (ResourceMap resourceMap : resourceMaps) {
+                writeResourceMap(out, resourceMap);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } finally {
+            out.close();
+        }
+        FileUtil.replace(tmpFile, file);
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param file the file.
+     * @return the snapshot.
+     * @throws IOException if an error occurs when reading the file or if it is not a
+     *         valid snapshot.
+     */
+    static ResourceSnapshot read(final File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file), BUFFER_LENGTH));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Invalid snapshot: " + file); //$NON-NLS-1$
+            }
+            int count = in.readInt();
+            Map<String, Bundle> bundles = new HashMap<String, Bundle>(count * 2);
+            for (int i = 0; i < count; i++) {
+                Bundle bundle = readBundle(in);
+                bundles.put(getKey(bundle.bundleName, bundle.locale), bundle);
+            }
+            return new ResourceSnapshot(bundles);
+        } catch (final IllegalArgumentException ex) {
+            throw new IOException("Invalid snapshot: " + file); //$NON-NLS-1$
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Creates the ResourceMap of the given bundle from the snapshot.
+     *
+     * @param bundleName the bundle name.
+     * @param loader the class loader used to load the icons and images.
+     * @param locale the locale.
+     * @return the ResourceMap or null if the bundle is not in the snapshot.
+     */
+    ResourceMap createResourceMap(final String bundleName, final ClassLoader loader,
+            final Locale locale) {
+        Bundle bundle = bundles.get(getKey(bundleName, locale));
+        if (bundle == null) {
+            return null;
+        }
+        ResourceMap resourceMap = new ResourceMap(bundleName, loader, locale,
+                new SnapshotBundle(bundle.values));
+        resourceMap.preload(bundle.colors, bundle.fonts);
+        return resourceMap;
+    }
+
+    /**
+     * Returns the number of bundles in the snapshot.
+     *
+     * @return the number of bundles.
+     */
+    int size() {
+        return bundles.size();
+    }
+
+    /**
+     * Writes a ResourceMap.
+     *
+     * @param out the output.
+     * @param resourceMap the ResourceMap.
+     * @throws IOException if an error occurs when writing.
+     */
+    private static void writeResourceMap(final DataOutput out, final ResourceMap resourceMap)
+            throws IOException {
+        writeString(out, resourceMap.getBundleName());
+        Locale locale = resourceMap.getLocale();
+        writeString(out, locale.getLanguage());
+        writeString(out, locale.getCountry());
+        writeString(out, locale.getVariant());
+
+        ResourceBundle bundle = resourceMap.getBundle();
+        Map<String, String> values = new HashMap<String, String>();
+        for (String key : bundle.keySet()) {
+            Object value = bundle.getObject(key);
+            if (value instanceof String) {
+                values.put(key, (String) value);
+            }
+        }
+        out.writeInt(values.size());
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+
+        Map<String, Color> colors = new HashMap<String, Color>(resourceMap.getCachedColors());
+        out.writeInt(colors.size());
+        for (Map.Entry<String, Color> entry : colors.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().getRGB());
+        }
+
+        Map<String, Font> fonts = new HashMap<String, Font>(resourceMap.getCachedFonts());
+        out.writeInt(fonts.size());
+        for (Map.Entry<String, Font> entry : fonts.entrySet()) {
+            Font font = entry.getValue();
+            writeString(out, entry.getKey());
+            writeString(out, font.getName());
+            out.writeInt(font.getStyle());
+            out.writeInt(font.getSize());
+        }
+    }
+
+    /**
+     * Reads a bundle.
+     *
+     * @param in the input.
+     * @return the bundle.
+     * @throws IOException if an error occurs when reading.
+     */
+    private static Bundle readBundle(final DataInput in) throws IOException {
+        String bundleName = readString(in);
+        Locale locale = new Locale(readString(in), readString(in), readString(in));
+
+        int count = in.readInt();
+        Map<String, Object> values = new HashMap<String, Object>(count * 2);
+        for (int i = 0; i < count; i++) {
+            values.put(readString(in), readString(in));
+        }
+
+        count = in.readInt();
+        Map<String, Color> colors = new HashMap<String, Color>(count * 2);
+        for (int i = 0; i < count; i++) {
+            colors.put(readString(in), new Color(in.readInt(), true));
+        }
+
+        count = in.readInt();
+        Map<String, Font> fonts = new HashMap<String, Font>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String key = readString(in);
+            fonts.put(key, new Font(readString(in), in.readInt(), in.readInt()));
+        }
+        return new Bundle(bundleName, locale, values, colors, fonts);
+    }
+
+    /**
+     * Writes a string. Unlike {@link DataOutput#writeUTF(String)}, the length of the
+     * string is not limited.
+     *
+     * @param out the output.
+     * @param str the string.
+     * @throws IOException if an error occurs when writing.
+     */
+    private static void writeString(final DataOutput out, final String str)
+            throws IOException {
+        byte[] bytes = str.getBytes(CHARSET);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutput, String)}.
+     *
+     * @param in the input.
+     * @return the string.
+     * @throws IOException if an error occurs when reading.
+     */
+    private static String readString(final DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length); //$NON-NLS-1$
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, CHARSET);
+    }
+
+    /**
+     * Returns the key of a bundle.
+     *
+     * @param bundleName the bundle name.
+     * @param locale the locale.
+     * @return a key.
+     */
+    private static String getKey(final String bundleName, final Locale locale) {
+        return bundleName + '\0' + locale;
+    }
+
+    /**
+     * A bundle of the snapshot.
+     */
+    private static final class Bundle {
+
+        /** The bundle name. */
+        private final String bundleName;
+
+        /** The locale. */
+        private final Locale locale;
+
+        /** The values by key. */
+        private final Map<String, Object> values;
+
+        /** The decoded colors by key. */
+        private final Map<String, Color> colors;
+
+        /** The decoded fonts by key. */
+        private final Map<String, Font> fonts;
+
+        /**
+         * Creates a new Bundle.
+         *
+         * @param bundleName the bundle name.
+         * @param locale the locale.
+         * @param values the values by key.
+         * @param colors the decoded colors by key.
+         * @param fonts the decoded fonts by key.
+         */
+        Bundle(final String bundleName, final Locale locale, final Map<String, Object> values,
+                final Map<String, Color> colors, final Map<String, Font> fonts) {
+            this.bundleName = bundleName;
+            this.locale = locale;
+            this.values = values;
+            this.colors = colors;
+            this.fonts = fonts;
+        }
+    }
+
+    /**
+     * A ResourceBundle backed by the values of a snapshot.
+     */
+    private static final class SnapshotBundle extends ResourceBundle {
+
+        /** The values by key. */
+        private final Map<String, Object> values;
+
+        /**
+         * Creates a new SnapshotBundle.
+         *
+         * @param values the values by key.
+         */
+        SnapshotBundle(final Map<String, Object> values) {
+            this.values = values;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Object handleGetObject(final String key) {
+            return values.get(key);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Set<String> handleKeySet() {
+            return values.keySet();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Enumeration<String> getKeys() {
+            return Collections.enumeration(values.keySet());
+        }
+    }
+}
@@ -50,8 +50,12 @@ public class TaskProgressMonitor implements PropertyChangeListener {
     private final Timer busyIconTimer;
     /** The icon used when no task is working. */
     private final Icon idleIcon;
-    /** The list of icons used to generate the animation. */
+    /** The list of icons used to generate the animation. They are loaded when needed. */
     private final Icon[] busyIcons;
+    /** The keys of the icons used to generate the animation. */
+    private final String[] busyIconKeys;
+    /** The ResourceMap providing the icons. */
+    private final ResourceMap resourceMap;
     /** The index of the current icon of the animation. */
     private int busyIconIndex = 0;
 
@@ -80,6 +84,7 @@ public class TaskProgressMonitor implements PropertyChangeListener {
         this.progressBar = progressBar;
         this.animationLabel = animationLabel;
         this.messageLabel = messageLabel;
+        this.resourceMap = resourceMap;
 
         int messageTimeout = resourceMap.getInteger("StatusBar.messageTimeout"); //$NON-NLS-1$
         messageTimer = new Timer(messageTimeout, new ActionListener() {
@@ -90,13 +95,16 @@ public class TaskProgressMonitor implements PropertyChangeListener {
         messageTimer.setRepeats(false);
         int busyAnimationRate = resourceMap.getInteger("StatusBar.busyAnimationRate"); //$NON-NLS-1$
         busyIcons = new Icon[resourceMap.getInteger("StatusBar.busyIconsCount")]; //$NON-NLS-1$
+        busyIconKeys = new String[busyIcons.length];
         for (int i = 0; i < busyIcons.length; i++) {
-            busyIcons[i] = resourceMap.getIcon("StatusBar.busyIcons[" + i + "]"); //$NON-NLS-1$ //$NON-NLS-2$
+            busyIconKeys[i] = "StatusBar.busyIcons[" + i + "]"; //$NON-NLS-1$ //$NON-NLS-2$
         }
+        // The animation's icons are decoded in the background until they are needed
+        resourceMap.prefetch(busyIconKeys);
         busyIconTimer = new Timer(busyAnimationRate, new ActionListener() {
             public void actionPerformed(final ActionEvent evt) {
                 busyIconIndex = (busyIconIndex + 1) % busyIcons.length;
-                TaskProgressMonitor.this.animationLabel.setIcon(busyIcons[busyIconIndex]);
+                TaskProgressMonitor.this.animationLabel.setIcon(getBusyIcon(busyIconIndex));
             }
         });
         idleIcon = resourceMap.getIcon("StatusBar.idleIcon"); //$NON-NLS-1$
@@ -121,7 +129,7 @@ public class TaskProgressMonitor implements PropertyChangeListener {
             if (StateValue.STARTED == evt.getNewValue()) {
                 if (animationLabel != null) {
                     if (!busyIconTimer.isRunning()) {
-                        animationLabel.setIcon(busyIcons[0]);
+                        animationLabel.setIcon(getBusyIcon(0));
                         busyIconIndex = 0;
                         busyIconTimer.start();
                     }
@@ -155,4 +163,17 @@ public class TaskProgressMonitor implements PropertyChangeListener {
             }
         }
     }
+
+    /**
+     * Returns an icon of the animation.
+     *
+     * @param index the index of the icon.
+     * @return the icon.
+     */
+    private Icon getBusyIcon(final int index) {
+        if (busyIcons[index] == null) {
+            busyIcons[index] = resourceMap.getIcon(busyIconKeys[index]);
+        }
+        return busyIcons[index];
+    }
 }
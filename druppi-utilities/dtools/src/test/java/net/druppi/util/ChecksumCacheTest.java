@@ -0,0 +1,129 @@
+/*
+ * ChecksumCacheTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class ChecksumCacheTest {
+
+    /** The checksummed file. */
+    private File file;
+
+    /** The index file. */
+    private File indexFile;
+
+    /**
+     * Creates the temporary files.
+     *
+     * @throws IOException if the files cannot be created.
+     */
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("checksum", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+        indexFile = File.createTempFile("checksum", ".idx"); //$NON-NLS-1$ //$NON-NLS-2$
+        indexFile.delete();
+    }
+
+    /**
+     * Deletes the temporary files.
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+        indexFile.delete();
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.ChecksumCache#getChecksum(java.io.File, ChecksumAlgorithm)}.
+     */
+    @Test
+    public void testGetChecksum() throws IOException, NoSuchAlgorithmException {
+        write("first content"); //$NON-NLS-1$
+        long lastModified = file.lastModified();
+        ChecksumCache cache = new ChecksumCache(indexFile);
+        byte[] expected = ChecksumUtil.getSHAChecksum(file);
+        assertArrayEquals(expected, cache.getChecksum(file, ChecksumAlgorithm.SHA));
+        assertEquals(1, cache.size());
+
+        // Same size and date: the cached value is used
+        write("other content"); //$NON-NLS-1$
+        assertTrue(file.setLastModified(lastModified));
+        assertArrayEquals(expected, cache.getChecksum(file, ChecksumAlgorithm.SHA));
+
+        // The size changed: the checksum is computed again
+        write("a longer content"); //$NON-NLS-1$
+        assertTrue(file.setLastModified(lastModified));
+        assertArrayEquals(ChecksumUtil.getSHAChecksum(file),
+                cache.getChecksum(file, ChecksumAlgorithm.SHA));
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ChecksumCache#save()} and
+     * {@link net.druppi.util.ChecksumCache#load()}.
+     */
+    @Test
+    public void testSaveLoad() throws IOException, NoSuchAlgorithmException {
+        write("content"); //$NON-NLS-1$
+        ChecksumCache cache = new ChecksumCache(indexFile);
+        byte[] sha = cache.getChecksum(file, ChecksumAlgorithm.SHA);
+        long crc = ChecksumUtil.getCRCChecksum(file);
+        assertTrue(ChecksumUtil.checkCRCChecksum(file, crc, cache));
+        cache.save();
+        assertTrue(indexFile.isFile());
+
+        ChecksumCache loaded = new ChecksumCache(indexFile);
+        loaded.load();
+        assertEquals(2, loaded.size());
+        assertTrue(ChecksumUtil.checkSHAChecksum(file, sha, loaded));
+        assertTrue(ChecksumUtil.checkCRCChecksum(file, crc, loaded));
+        assertFalse(ChecksumUtil.checkCRCChecksum(file, crc + 1, loaded));
+    }
+
+    /**
+     * Writes the given content to the checksummed file.
+     *
+     * @param content the content.
+     * @throws IOException if an error occurs when writing.
+     */
+    private void write(final String content) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8")); //$NON-NLS-1$
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -18,12 +18,27 @@
  */
 package net.druppi.util;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 import org.junit.Test;
 
@@ -118,4 +133,285 @@ public class ChecksumUtilTest {
             fail(ex.getMessage());
         }
     }
+
+    /**
+     * Test method for {@link net.druppi.util.ChecksumUtil#getCRCChecksum(java.io.File)}.
+     */
+    @Test
+    public void testGetCRCChecksumFile() throws IOException, URISyntaxException {
+        for (int i = 1; i <= 3; i++) {
+            URL url = getClass().getResource("/checksum-test" + i); //$NON-NLS-1$
+            File file = new File(url.toURI());
+            assertEquals(getStreamCRC(url), ChecksumUtil.getCRCChecksum(file));
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ChecksumUtil#getSHAChecksum(java.io.File)}.
+     */
+    @Test
+    public void testGetSHAChecksumFile() throws IOException, URISyntaxException,
+            NoSuchAlgorithmException {
+        for (int i = 1; i <= 3; i++) {
+            URL url = getClass().getResource("/checksum-test" + i); //$NON-NLS-1$
+            File file = new File(url.toURI());
+            assertArrayEquals(getStreamSHA(url), ChecksumUtil.getSHAChecksum(file));
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.ChecksumUtil#getParallelCRCChecksum(java.io.File, ExecutorService)}.
+     */
+    @Test
+    public void testGetParallelCRCChecksum() throws IOException {
+        File file = File.createTempFile("checksum", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+        file.deleteOnExit();
+        byte[] data = new byte[100000];
+        new Random(42).nextBytes(data);
+        writeFile(file, data);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long expected = getStreamCRC(file.toURI().toURL());
+            assertEquals(expected, ChecksumUtil.getParallelCRCChecksum(file, executor));
+            assertEquals(expected, ChecksumUtil.getParallelCRCChecksum(file, executor, 4096));
+            assertEquals(expected, ChecksumUtil.getParallelCRCChecksum(file, executor, 7777));
+        } finally {
+            executor.shutdown();
+            file.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ChecksumUtil#getCRCChecksum(File)},
+     * {@link net.druppi.util.ChecksumUtil#getSHAChecksum(File)} and
+     * {@link net.druppi.util.ChecksumUtil#getChecksums(File, ChecksumAlgorithm...)} with
+     * files that are read and files that are mapped.
+     */
+    @Test
+    public void testChecksumFileSizes() throws IOException, NoSuchAlgorithmException {
+        File file = File.createTempFile("checksum", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+        file.deleteOnExit();
+        Random random = new Random(3);
+        try {
+            for (int size : new int[] {0, 1, 65535, 65536, 65537, 200000}) {
+                byte[] data = new byte[size];
+                random.nextBytes(data);
+                writeFile(file, data);
+                URL url = file.toURI().toURL();
+                long crc = getStreamCRC(url);
+                byte[] sha = getStreamSHA(url);
+                assertEquals(crc, ChecksumUtil.getCRCChecksum(file));
+                assertArrayEquals(sha, ChecksumUtil.getSHAChecksum(file));
+                MultiChecksum checksums = ChecksumUtil.getChecksums(file,
+                        ChecksumAlgorithm.CRC32, ChecksumAlgorithm.SHA);
+                assertEquals(crc, checksums.getCRC());
+                assertArrayEquals(sha, checksums.get(ChecksumAlgorithm.SHA));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.ChecksumUtil#checksumAll(File, ChecksumAlgorithm, int, ChecksumListener)}.
+     */
+    @Test
+    public void testChecksumAll() throws IOException, InterruptedException,
+            NoSuchAlgorithmException {
+        File root = createTempDirectory();
+        try {
+            File sub = new File(root, "sub"); //$NON-NLS-1$
+            assertTrue(sub.mkdir());
+            Random random = new Random(7);
+            File[] files = new File[] {
+                new File(root, "a"), new File(root, "b"), new File(sub, "c") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            };
+            for (File file : files) {
+                byte[] data = new byte[random.nextInt(5000)];
+                random.nextBytes(data);
+                writeFile(file, data);
+            }
+
+            final Map<File, ChecksumResult> results = new HashMap<File, ChecksumResult>();
+            int count = ChecksumUtil.checksumAll(root, ChecksumAlgorithm.SHA, 2,
+                    new ChecksumListener() {
+                        @Override
+                        public void checksumComputed(final ChecksumResult result) {
+                            results.put(result.getFile(), result);
+                        }
+                    });
+
+            assertEquals(files.length, count);
+            assertEquals(files.length, results.size());
+            for (File file : files) {
+                ChecksumResult result = results.get(file);
+                assertTrue(result.isSuccess());
+                assertArrayEquals(ChecksumUtil.getSHAChecksum(file), result.getChecksum());
+            }
+        } finally {
+            delete(root);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.ChecksumUtil#getChecksums(java.net.URL, ChecksumAlgorithm...)}.
+     */
+    @Test
+    public void testGetChecksums() throws IOException, NoSuchAlgorithmException {
+        for (int i = 1; i <= 3; i++) {
+            URL url = getClass().getResource("/checksum-test" + i); //$NON-NLS-1$
+            MultiChecksum checksums = ChecksumUtil.getChecksums(url, ChecksumAlgorithm.values());
+            assertEquals(getStreamCRC(url), checksums.getCRC());
+            assertArrayEquals(getStreamSHA(url), checksums.get(ChecksumAlgorithm.SHA));
+            assertArrayEquals(getStreamDigest(url, "SHA-256"), //$NON-NLS-1$
+                    checksums.get(ChecksumAlgorithm.SHA256));
+            assertArrayEquals(getStreamDigest(url, "MD5"), //$NON-NLS-1$
+                    checksums.get(ChecksumAlgorithm.MD5));
+            assertEquals(ChecksumAlgorithm.values().length, checksums.getAlgorithms().size());
+        }
+
+        URL url = getClass().getResource("/checksum-test3"); //$NON-NLS-1$
+        MultiChecksum checksums = ChecksumUtil.getChecksums(url, ChecksumAlgorithm.ADLER32);
+        assertEquals(1, checksums.getAlgorithms().size());
+        assertEquals(null, checksums.get(ChecksumAlgorithm.SHA));
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ChecksumUtil#getCRCChecksum(ByteBuffer)} and
+     * {@link net.druppi.util.ChecksumUtil#getSHAChecksum(ByteBuffer, byte[], int)}.
+     */
+    @Test
+    public void testChecksumBuffers() throws NoSuchAlgorithmException {
+        byte[] data = new byte[200000];
+        new Random(5).nextBytes(data);
+        CRC32 crc = new CRC32();
+        crc.update(data, 10, data.length - 10);
+        byte[] sha = MessageDigest.getInstance("SHA").digest(data); //$NON-NLS-1$
+
+        assertEquals(crc.getValue(), ChecksumUtil.getCRCChecksum(data, 10, data.length - 10));
+        ByteBuffer heap = ByteBuffer.wrap(data);
+        heap.position(10);
+        assertEquals(crc.getValue(), ChecksumUtil.getCRCChecksum(heap));
+        assertEquals(data.length, heap.position());
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data);
+        direct.position(10);
+        assertEquals(crc.getValue(), ChecksumUtil.getCRCChecksum(direct));
+
+        assertArrayEquals(sha, ChecksumUtil.getSHAChecksum(data, 0, data.length));
+        byte[] digest = new byte[sha.length + 2];
+        direct.rewind();
+        assertEquals(sha.length, ChecksumUtil.getSHAChecksum(direct, digest, 2));
+        for (int i = 0; i < sha.length; i++) {
+            assertEquals(sha[i], digest[i + 2]);
+        }
+    }
+
+    /**
+     * Creates an empty temporary directory.
+     *
+     * @return the directory.
+     * @throws IOException if the directory cannot be created.
+     */
+    private static File createTempDirectory() throws IOException {
+        File dir = File.createTempFile("checksum", ".dir"); //$NON-NLS-1$ //$NON-NLS-2$
+        if (!dir.delete() || !dir.mkdir()) {
+            throw new IOException("Cannot create the directory: " + dir); //$NON-NLS-1$
+        }
+        return dir;
+    }
+
+    /**
+     * Writes the given data to the given file.
+     *
+     * @param file the file to write.
+     * @param data the data to write.
+     * @throws IOException if an error occurs when writing.
+     */
+    private static void writeFile(final File file, final byte[] data) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Deletes the given file or directory recursively.
+     *
+     * @param file the file to delete.
+     */
+    private static void delete(final File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Returns the CRC checksum of the given URL computed with a plain stream.
+     *
+     * @param url the URL to read.
+     * @return the checksum.
+     * @throws IOException if an error occurs when reading the URL.
+     */
+    private static long getStreamCRC(final URL url) throws IOException {
+        CheckedInputStream stream = new CheckedInputStream(url.openStream(), new CRC32());
+        try {
+            byte[] buffer = new byte[512];
+            while (stream.read(buffer) >= 0) {
+                // no op: read until the end
+            }
+            return stream.getChecksum().getValue();
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Returns the SHA checksum of the given URL computed with a plain stream.
+     *
+     * @param url the URL to read.
+     * @return the checksum.
+     * @throws IOException if an error occurs when reading the URL.
+     * @throws NoSuchAlgorithmException if the SHA algorithm cannot be found.
+     */
+    private static byte[] getStreamSHA(final URL url) throws IOException,
+            NoSuchAlgorithmException {
+        return getStreamDigest(url, "SHA"); //$NON-NLS-1$
+    }
+
+    /**
+     * Returns the digest of the given URL computed with a plain stream.
+     *
+     * @param url the URL to read.
+     * @param algorithm the digest algorithm.
+     * @return the digest.
+     * @throws IOException if an error occurs when reading the URL.
+     * @throws NoSuchAlgorithmException if the algorithm cannot be found.
+     */
+    private static byte[] getStreamDigest(final URL url, final String algorithm)
+            throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        InputStream stream = url.openStream();
+        try {
+            byte[] buffer = new byte[512];
+            int len = stream.read(buffer);
+            while (len >= 0) {
+                digest.update(buffer, 0, len);
+                len = stream.read(buffer);
+            }
+            return digest.digest();
+        } finally {
+            stream.close();
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * FileUtilTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class FileUtilTest {
+
+    /** The replaced file. */
+    private File file;
+
+    /** The temporary file. */
+    private File tmpFile;
+
+    /**
+     * Creates the temporary files.
+     *
+     * @throws IOException if the files cannot be created.
+     */
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("fileutil", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+        tmpFile = FileUtil.getTemporaryFile(file);
+    }
+
+    /**
+     * Deletes the temporary files.
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+        tmpFile.delete();
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.FileUtil#replace(File, File)}.
+     */
+    @Test
+    public void testReplace() throws IOException {
+        assertEquals(file.getParentFile(), tmpFile.getParentFile());
+        write(file, "old"); //$NON-NLS-1$
+        write(tmpFile, "new"); //$NON-NLS-1$
+        FileUtil.replace(tmpFile, file);
+        assertFalse(tmpFile.exists());
+        assertEquals("new", read(file)); //$NON-NLS-1$
+
+        // The file does not need to exist
+        assertTrue(file.delete());
+        write(tmpFile, "created"); //$NON-NLS-1$
+        FileUtil.replace(tmpFile, file);
+        assertEquals("created", read(file)); //$NON-NLS-1$
+
+        // The temporary file must exist
+        try {
+            FileUtil.replace(tmpFile, file);
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (IOException ex) {
+            // no op: normal situation
+        }
+        assertFalse(file.exists());
+    }
+
+    /**
+     * Writes a content to a file.
+     *
+     * @param target the file.
+     * @param content the content.
+     * @throws IOException if an error occurs when writing.
+     */
+    private static void write(final File target, final String content) throws IOException {
+        OutputStream out = new FileOutputStream(target);
+        try {
+            out.write(content.getBytes("UTF-8")); //$NON-NLS-1$
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads the content of a file.
+     *
+     * @param source the file.
+     * @return the content.
+     * @throws IOException if an error occurs when reading.
+     */
+    private static String read(final File source) throws IOException {
+        byte[] bytes = new byte[(int) source.length()];
+        InputStream in = new FileInputStream(source);
+        try {
+            int offset = 0;
+            while (offset < bytes.length) {
+                offset += in.read(bytes, offset, bytes.length - offset);
+            }
+        } finally {
+            in.close();
+        }
+        return new String(bytes, "UTF-8"); //$NON-NLS-1$
+    }
+}
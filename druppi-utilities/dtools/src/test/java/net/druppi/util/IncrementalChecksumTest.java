@@ -0,0 +1,152 @@
+/*
+ * IncrementalChecksumTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class IncrementalChecksumTest {
+
+    /** The checksummed file. */
+    private File file;
+
+    /** The random generator used to create data. */
+    private final Random random = new Random(3);
+
+    /**
+     * Creates the temporary file.
+     *
+     * @throws IOException if the file cannot be created.
+     */
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("incremental", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Deletes the temporary file.
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.IncrementalChecksum#update(java.io.File)}.
+     */
+    @Test
+    public void testUpdate() throws IOException {
+        IncrementalChecksum checksum = new IncrementalChecksum();
+        assertEquals(ChecksumUtil.getCRCChecksum(file), checksum.update(file));
+        for (int i = 0; i < 5; i++) {
+            append(random.nextInt(10000));
+            assertEquals(ChecksumUtil.getCRCChecksum(file), checksum.update(file));
+            assertEquals(file.length(), checksum.getLength());
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.IncrementalChecksum#update(java.io.File)} when
+     * the file is not only appended.
+     */
+    @Test
+    public void testUpdateModified() throws IOException {
+        IncrementalChecksum checksum = new IncrementalChecksum();
+        append(8000);
+        checksum.update(file);
+
+        // Modify the last bytes
+        RandomAccessFile raf = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+        try {
+            raf.seek(7990);
+            raf.write(new byte[] {1, 2, 3});
+        } finally {
+            raf.close();
+        }
+        append(100);
+        assertEquals(ChecksumUtil.getCRCChecksum(file), checksum.update(file));
+
+        // Truncate the file
+        raf = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+        try {
+            raf.setLength(50);
+        } finally {
+            raf.close();
+        }
+        assertTrue(checksum.check(file, ChecksumUtil.getCRCChecksum(file)));
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.IncrementalChecksum#write(java.io.DataOutput)}
+     * and {@link net.druppi.util.IncrementalChecksum#read(java.io.DataInput)}.
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        IncrementalChecksum checksum = new IncrementalChecksum();
+        append(5000);
+        checksum.update(file);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        checksum.write(out);
+        out.close();
+        IncrementalChecksum restored = IncrementalChecksum.read(new DataInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(checksum.getLength(), restored.getLength());
+        assertEquals(checksum.getValue(), restored.getValue());
+
+        append(3000);
+        assertEquals(ChecksumUtil.getCRCChecksum(file), restored.update(file));
+    }
+
+    /**
+     * Appends random bytes to the file.
+     *
+     * @param count the number of bytes to append.
+     * @throws IOException if an error occurs when writing.
+     */
+    private void append(final int count) throws IOException {
+        byte[] data = new byte[count];
+        random.nextBytes(data);
+        FileOutputStream out = new FileOutputStream(file, true);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+    }
+}
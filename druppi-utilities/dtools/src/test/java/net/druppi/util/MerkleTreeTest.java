@@ -0,0 +1,140 @@
+/*
+ * MerkleTreeTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class MerkleTreeTest {
+
+    /** The size of the blocks used by the tests. */
+    private static final int BLOCK_SIZE = 1000;
+
+    /** The hashed file. */
+    private File file;
+
+    /**
+     * Creates the temporary file.
+     *
+     * @throws IOException if the file cannot be created.
+     */
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("merkle", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+        byte[] data = new byte[10500];
+        new Random(11).nextBytes(data);
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Deletes the temporary file.
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.MerkleTree#build(File, int, ChecksumAlgorithm, ExecutorService)}.
+     */
+    @Test
+    public void testBuild() throws IOException, NoSuchAlgorithmException {
+        MerkleTree tree = MerkleTree.build(file, BLOCK_SIZE, ChecksumAlgorithm.SHA256, null);
+        assertEquals(11, tree.getBlockCount());
+        assertEquals(file.length(), tree.getLength());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            MerkleTree parallel = MerkleTree.build(file, BLOCK_SIZE, ChecksumAlgorithm.SHA256,
+                    executor);
+            assertArrayEquals(tree.getRoot(), parallel.getRoot());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.MerkleTree#getCorruptedBlocks(File, long, long)}.
+     */
+    @Test
+    public void testGetCorruptedBlocks() throws IOException, NoSuchAlgorithmException {
+        MerkleTree tree = MerkleTree.build(file, BLOCK_SIZE, ChecksumAlgorithm.SHA, null);
+        assertTrue(tree.verify(file, 0, file.length()));
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+        try {
+            raf.seek(4321);
+            raf.write(raf.read() ^ 0xff);
+        } finally {
+            raf.close();
+        }
+        assertArrayEquals(new int[] {4}, tree.getCorruptedBlocks(file, 0, file.length()));
+        assertTrue(tree.verify(file, 0, 4000));
+        assertTrue(tree.verify(file, 5000, 5500));
+        assertFalse(tree.verify(file, 3999, 2));
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.MerkleTree#write(java.io.DataOutput)} and
+     * {@link net.druppi.util.MerkleTree#read(java.io.DataInput)}.
+     */
+    @Test
+    public void testWriteRead() throws IOException, NoSuchAlgorithmException {
+        MerkleTree tree = MerkleTree.build(file, BLOCK_SIZE, ChecksumAlgorithm.MD5, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        tree.write(out);
+        out.close();
+
+        MerkleTree read = MerkleTree.read(new DataInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())));
+        assertArrayEquals(tree.getRoot(), read.getRoot());
+        assertEquals(tree.getBlockCount(), read.getBlockCount());
+        assertTrue(read.verify(file, 0, file.length()));
+    }
+}
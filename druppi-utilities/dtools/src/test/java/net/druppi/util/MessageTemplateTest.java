@@ -0,0 +1,109 @@
+/*
+ * MessageTemplateTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.IllegalFormatException;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class MessageTemplateTest {
+
+    /**
+     * Test method for {@link net.druppi.util.MessageTemplate#format(Object...)}.
+     */
+    @Test
+    public void testFormat() {
+        Formattable formattable = new Formattable() {
+            @Override
+            public void formatTo(final Formatter formatter, final int flags, final int width,
+                    final int precision) {
+                formatter.format("formattable"); //$NON-NLS-1$
+            }
+        };
+        Object[] args = {"tools", 12, -345L, null, formattable, 1.5}; //$NON-NLS-1$
+        String[] patterns = {
+            "", //$NON-NLS-1$
+            "No argument", //$NON-NLS-1$
+            "Hello %s", //$NON-NLS-1$
+            "Hello %1s", //$NON-NLS-1$
+            "%2$d of %3$d files in %1$s", //$NON-NLS-1$
+            "%3$d, %2$d, %1$s, %s", //$NON-NLS-1$
+            "[%8s] [%-8s] [%5d] [%-5d]", //$NON-NLS-1$
+            "100%% done%n", //$NON-NLS-1$
+            "%4$s %4$d", //$NON-NLS-1$
+            "%5$s", //$NON-NLS-1$
+            "%6$.2f %S %08d %,d %x %<s", //$NON-NLS-1$
+        };
+        for (String pattern : patterns) {
+            assertEquals(pattern, String.format(pattern, args),
+                    MessageTemplate.compile(pattern).format(args));
+            StringBuilder builder = new StringBuilder(">"); //$NON-NLS-1$
+            MessageTemplate.compile(pattern).appendTo(builder, args);
+            assertEquals(pattern, ">" + String.format(pattern, args), //$NON-NLS-1$
+                    builder.toString());
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.MessageTemplate#format(Object...)} with an
+     * argument whose toString() formats another message.
+     */
+    @Test
+    public void testFormatNested() {
+        final MessageTemplate inner = MessageTemplate.compile("<%s|%d>"); //$NON-NLS-1$
+        Object arg = new Object() {
+            @Override
+            public String toString() {
+                return inner.format("inner", Integer.valueOf(2)); //$NON-NLS-1$
+            }
+        };
+        MessageTemplate outer = MessageTemplate.compile("before %s after %s"); //$NON-NLS-1$
+        assertEquals("before <inner|2> after <inner|2>", //$NON-NLS-1$
+                outer.format(arg, arg));
+        assertEquals("before <inner|2> after <inner|2>", //$NON-NLS-1$
+                outer.format(arg, arg));
+        assertEquals("<a|1>", inner.format("a", Integer.valueOf(1))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.MessageTemplate#format(Object...)} with
+     * invalid patterns and arguments.
+     */
+    @Test
+    public void testFormatInvalid() {
+        String[] patterns = {"%s %s %s", "%7$s", "%", "%q", "%-s", "%0$s"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+        for (String pattern : patterns) {
+            try {
+                MessageTemplate.compile(pattern).format("a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+                fail("Should throw an exception: " + pattern); //$NON-NLS-1$
+            } catch (IllegalFormatException ex) {
+                // no op: normal situation
+            }
+        }
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * PreferencesTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.Rectangle;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class PreferencesTest {
+
+    /** The preferences file. */
+    private File file;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("preferences", ".properties"); //$NON-NLS-1$ //$NON-NLS-2$
+        file.delete();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.Preferences#save(String)} and
+     * {@link net.druppi.util.Preferences#load(String)}.
+     */
+    @Test
+    public void testSaveLoad() throws IOException {
+        Preferences preferences = new Preferences();
+        preferences.put("name", "value"); //$NON-NLS-1$ //$NON-NLS-2$
+        preferences.put("count", 12); //$NON-NLS-1$
+        preferences.put("window", new Rectangle(1, 2, 3, 4)); //$NON-NLS-1$
+        preferences.save(file.getPath());
+        assertFalse(new File(file.getPath() + ".tmp").exists()); //$NON-NLS-1$
+
+        Preferences loaded = new Preferences();
+        loaded.load(file.getPath());
+        assertEquals("value", loaded.getString("name")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(12, loaded.getInteger("count")); //$NON-NLS-1$
+        assertEquals(new Rectangle(1, 2, 3, 4), loaded.getRectangle("window")); //$NON-NLS-1$
+        assertNull(loaded.get("missing")); //$NON-NLS-1$
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.Preferences#flush()}.
+     */
+    @Test
+    public void testFlush() throws IOException {
+        Preferences preferences = new Preferences();
+        preferences.put("name", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+        // A long period: only flush() writes the modifications
+        preferences.save(file.getPath(), 3600000L);
+        assertEquals("first", load().getString("name")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        long lastModified = file.lastModified() - 10000;
+        assertTrue(file.setLastModified(lastModified));
+        preferences.flush();
+        // Nothing changed: the file is not written
+        assertEquals(lastModified, file.lastModified());
+
+        preferences.put("name", "second"); //$NON-NLS-1$ //$NON-NLS-2$
+        preferences.flush();
+        assertEquals("second", load().getString("name")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.Preferences#save(String, long)}.
+     */
+    @Test
+    public void testAutosave() throws Exception {
+        Preferences preferences = new Preferences();
+        preferences.save(file.getPath(), 50L);
+        for (int i = 0; i < 100; i++) {
+            preferences.put("count", i); //$NON-NLS-1$
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"99".equals(load().get("count")) //$NON-NLS-1$ //$NON-NLS-2$
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(99, load().getInteger("count")); //$NON-NLS-1$
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.Preferences#saveLog(String, long)} and
+     * {@link net.druppi.util.Preferences#loadLog(String)}.
+     */
+    @Test
+    public void testLog() throws IOException {
+        Preferences preferences = new Preferences();
+        for (int i = 0; i < 100; i++) {
+            preferences.put("key" + i, i); //$NON-NLS-1$
+        }
+        preferences.saveLog(file.getPath(), 3600000L);
+        long compactedLength = file.length();
+
+        preferences.put("key1", "modified"); //$NON-NLS-1$ //$NON-NLS-2$
+        preferences.put("window", new Rectangle(1, 2, 3, 4)); //$NON-NLS-1$
+        preferences.flush();
+        // Only the modified keys are appended
+        long appendedLength = file.length() - compactedLength;
+        assertTrue(appendedLength > 0 && appendedLength < compactedLength / 10);
+
+        Preferences loaded = new Preferences();
+        loaded.loadLog(file.getPath());
+        assertEquals("modified", loaded.get("key1")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(99, loaded.getInteger("key99")); //$NON-NLS-1$
+        assertEquals(new Rectangle(1, 2, 3, 4), loaded.getRectangle("window")); //$NON-NLS-1$
+
+        // The log is compacted when it holds too many obsolete records: 3000 records
+        // would take about 75 KB
+        for (int i = 0; i < 3000; i++) {
+            preferences.put("key2", i); //$NON-NLS-1$
+            preferences.flush();
+        }
+        assertTrue(file.length() < 40 * 1024);
+        loaded = new Preferences();
+        loaded.loadLog(file.getPath());
+        assertEquals(2999, loaded.getInteger("key2")); //$NON-NLS-1$
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.Preferences#loadLog(String)} with a log whose
+     * last record is truncated.
+     */
+    @Test
+    public void testLogRecovery() throws IOException {
+        Preferences preferences = new Preferences();
+        preferences.put("name", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+        preferences.saveLog(file.getPath(), 3600000L);
+        preferences.put("name", "second"); //$NON-NLS-1$ //$NON-NLS-2$
+        preferences.flush();
+
+        // Simulate a crash during the write of a record
+        FileOutputStream out = new FileOutputStream(file, true);
+        try {
+            out.write(new byte[] {0, 0, 0, 100, 1, 2, 3});
+        } finally {
+            out.close();
+        }
+        Preferences loaded = new Preferences();
+        loaded.loadLog(file.getPath());
+        assertEquals("second", loaded.get("name")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // The next save overwrites the corrupted end of the log
+        loaded.saveLog(file.getPath(), 3600000L);
+        loaded.put("name", "third"); //$NON-NLS-1$ //$NON-NLS-2$
+        loaded.flush();
+        Preferences reloaded = new Preferences();
+        reloaded.loadLog(file.getPath());
+        assertEquals("third", reloaded.get("name")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Loads the preferences file.
+     *
+     * @return the preferences.
+     * @throws IOException if the file cannot be read.
+     */
+    private Preferences load() throws IOException {
+        Preferences preferences = new Preferences();
+        preferences.load(file.getPath());
+        return preferences;
+    }
+
+    /**
+     * Test method for the typed getters of {@link net.druppi.util.Preferences}.
+     */
+    @Test
+    public void testTypedValues() {
+        Preferences preferences = new Preferences();
+        preferences.put("long", 1L << 40); //$NON-NLS-1$
+        preferences.put("float", 1.5f); //$NON-NLS-1$
+        preferences.put("double", 2.5); //$NON-NLS-1$
+        preferences.put("boolean", true); //$NON-NLS-1$
+        preferences.put("text", "abc"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(1L << 40, preferences.getLong("long")); //$NON-NLS-1$
+        assertEquals(1.5f, preferences.getFloat("float"), 0f); //$NON-NLS-1$
+        assertEquals(2.5, preferences.getDouble("double"), 0.0); //$NON-NLS-1$
+        assertTrue(preferences.getBoolean("boolean")); //$NON-NLS-1$
+        assertEquals("2.5", preferences.get("double")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // The cached value is replaced when the string changes
+        preferences.put("double", "3.5"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(3.5, preferences.getDouble("double"), 0.0); //$NON-NLS-1$
+
+        // Default values
+        assertEquals(7, preferences.getInteger("missing", 7)); //$NON-NLS-1$
+        assertEquals(7, preferences.getInteger("text", 7)); //$NON-NLS-1$
+        assertEquals(8L, preferences.getLong("text", 8L)); //$NON-NLS-1$
+        assertEquals(0.5f, preferences.getFloat("missing", 0.5f), 0f); //$NON-NLS-1$
+        assertEquals(0.25, preferences.getDouble("text", 0.25), 0.0); //$NON-NLS-1$
+        assertTrue(preferences.getBoolean("missing", true)); //$NON-NLS-1$
+        assertEquals("def", preferences.getString("missing", "def")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        Rectangle rect = new Rectangle(5, 6, 7, 8);
+        assertEquals(rect, preferences.getRectangle("missing", rect)); //$NON-NLS-1$
+        try {
+            preferences.getInteger("missing"); //$NON-NLS-1$
+            fail("A missing key should throw"); //$NON-NLS-1$
+        } catch (final NumberFormatException ex) {
+            // expected
+        }
+        try {
+            preferences.getDouble("missing"); //$NON-NLS-1$
+            fail("A missing key should throw"); //$NON-NLS-1$
+        } catch (final NullPointerException ex) {
+            // expected: as Double.parseDouble(null)
+        }
+
+        // The returned rectangles are copies of the cached one
+        preferences.put("window", new Rectangle(1, 2, 3, 4)); //$NON-NLS-1$
+        preferences.getRectangle("window").x = 100; //$NON-NLS-1$
+        assertEquals(new Rectangle(1, 2, 3, 4), preferences.getRectangle("window")); //$NON-NLS-1$
+        preferences.put("window.width", 30); //$NON-NLS-1$
+        assertEquals(new Rectangle(1, 2, 30, 4), preferences.getRectangle("window")); //$NON-NLS-1$
+    }
+
+    /**
+     * Test the concurrent accesses to {@link net.druppi.util.Preferences}.
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final Preferences preferences = new Preferences();
+        preferences.save(file.getPath(), 1);
+        final AtomicBoolean failed = new AtomicBoolean();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 2000; i++) {
+                        String key = "key" + (i % 10); //$NON-NLS-1$
+                        if (id % 2 == 0) {
+                            preferences.put(key, i);
+                        } else if (preferences.getInteger(key, 0) < 0) {
+                            failed.set(true);
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        preferences.flush();
+        assertFalse(failed.get());
+
+        Preferences loaded = new Preferences();
+        loaded.load(file.getPath());
+        assertEquals(preferences.getInteger("key9"), loaded.getInteger("key9")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.Preferences#addPreferenceChangeListener(String, PreferenceChangeListener, Executor)}.
+     */
+    @Test
+    public void testChangeListener() {
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                tasks.add(command);
+            }
+        };
+        final List<Set<String>> changes = new ArrayList<Set<String>>();
+        PreferenceChangeListener listener = new PreferenceChangeListener() {
+            @Override
+            public void preferencesChanged(final Preferences preferences,
+                    final Set<String> keys) {
+                changes.add(keys);
+            }
+        };
+        Preferences preferences = new Preferences();
+        preferences.put("window.main.x", 0); //$NON-NLS-1$
+        preferences.addPreferenceChangeListener("window.main.*", listener, executor); //$NON-NLS-1$
+        preferences.addPreferenceChangeListener("name", listener, executor); //$NON-NLS-1$
+
+        // A burst of modifications is delivered once
+        for (int i = 0; i < 100; i++) {
+            preferences.put("window.main", new Rectangle(i, i, 10, 10)); //$NON-NLS-1$
+        }
+        preferences.put("window.other.x", 1); //$NON-NLS-1$
+        preferences.put("name", "value"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(2, tasks.size());
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        tasks.clear();
+        assertEquals(2, changes.size());
+        assertEquals(new HashSet<String>(Arrays.asList("window.main.x", "window.main.y", //$NON-NLS-1$ //$NON-NLS-2$
+                "window.main.width", "window.main.height")), changes.get(0)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(Collections.singleton("name"), changes.get(1)); //$NON-NLS-1$
+
+        // Unchanged values are not notified
+        preferences.put("name", "value"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(tasks.isEmpty());
+
+        preferences.removePreferenceChangeListener(listener);
+        preferences.put("name", "other"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(tasks.isEmpty());
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.Preferences#addPreferenceChangeListener(String, PreferenceChangeListener)}.
+     */
+    @Test
+    public void testChangeListenerOnEventDispatchThread() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicBoolean onEdt = new AtomicBoolean();
+        Preferences preferences = new Preferences();
+        preferences.addPreferenceChangeListener("*", new PreferenceChangeListener() { //$NON-NLS-1$
+            @Override
+            public void preferencesChanged(final Preferences source, final Set<String> keys) {
+                onEdt.set(SwingUtilities.isEventDispatchThread());
+                latch.countDown();
+            }
+        });
+        preferences.put("name", "value"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(onEdt.get());
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.Preferences#saveTable(String)} and
+     * {@link net.druppi.util.Preferences#loadTable(String)}.
+     */
+    @Test
+    public void testTable() throws IOException {
+        Preferences preferences = new Preferences();
+        for (int i = 0; i < 1000; i++) {
+            preferences.put("key" + i, i); //$NON-NLS-1$
+        }
+        preferences.put("unicode.\u00e9t\u00e9", "\u20ac \u00e0 la plage"); //$NON-NLS-1$ //$NON-NLS-2$
+        preferences.put("", "empty key"); //$NON-NLS-1$ //$NON-NLS-2$
+        preferences.put("window", new Rectangle(1, 2, 3, 4)); //$NON-NLS-1$
+        preferences.saveTable(file.getPath());
+
+        Preferences loaded = new Preferences();
+        loaded.put("key1", 100); //$NON-NLS-1$
+        loaded.loadTable(file.getPath());
+        assertEquals(100, loaded.getInteger("key1")); //$NON-NLS-1$
+        assertEquals(999, loaded.getInteger("key999")); //$NON-NLS-1$
+        assertEquals("\u20ac \u00e0 la plage", loaded.get("unicode.\u00e9t\u00e9")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("empty key", loaded.get("")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(new Rectangle(1, 2, 3, 4), loaded.getRectangle("window")); //$NON-NLS-1$
+        assertNull(loaded.get("key1000")); //$NON-NLS-1$
+
+        // The values not read are saved too
+        File properties = new File(file.getPath() + ".properties"); //$NON-NLS-1$
+        try {
+            loaded.save(properties.getPath());
+            Preferences saved = new Preferences();
+            saved.load(properties.getPath());
+            assertEquals(500, saved.getInteger("key500")); //$NON-NLS-1$
+            assertEquals(100, saved.getInteger("key1")); //$NON-NLS-1$
+        } finally {
+            properties.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.Preferences#saveTable(String)} to the table
+     * which has been loaded.
+     */
+    @Test
+    public void testTableSaveToLoaded() throws IOException {
+        Preferences preferences = new Preferences();
+        preferences.put("key1", 1); //$NON-NLS-1$
+        preferences.put("key2", 2); //$NON-NLS-1$
+        preferences.saveTable(file.getPath());
+
+        Preferences loaded = new Preferences();
+        loaded.loadTable(file.getPath());
+        loaded.put("key2", 20); //$NON-NLS-1$
+        loaded.saveTable(file.getPath());
+        assertEquals(1, loaded.getInteger("key1")); //$NON-NLS-1$
+
+        Preferences reloaded = new Preferences();
+        reloaded.loadTable(file.getPath());
+        assertEquals(1, reloaded.getInteger("key1")); //$NON-NLS-1$
+        assertEquals(20, reloaded.getInteger("key2")); //$NON-NLS-1$
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.Preferences#convertToTable(String, String)} and
+     * {@link net.druppi.util.Preferences#convertToProperties(String, String)}.
+     */
+    @Test
+    public void testTableConversion() throws IOException {
+        File properties = new File(file.getPath() + ".properties"); //$NON-NLS-1$
+        try {
+            Preferences preferences = new Preferences();
+            preferences.put("name", "a=b:c\\d"); //$NON-NLS-1$ //$NON-NLS-2$
+            preferences.put("count", 12); //$NON-NLS-1$
+            preferences.save(properties.getPath());
+
+            Preferences.convertToTable(properties.getPath(), file.getPath());
+            properties.delete();
+            Preferences.convertToProperties(file.getPath(), properties.getPath());
+
+            Preferences converted = new Preferences();
+            converted.load(properties.getPath());
+            assertEquals("a=b:c\\d", converted.get("name")); //$NON-NLS-1$ //$NON-NLS-2$
+            assertEquals(12, converted.getInteger("count")); //$NON-NLS-1$
+        } finally {
+            properties.delete();
+        }
+
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        } finally {
+            out.close();
+        }
+        try {
+            new Preferences().loadTable(file.getPath());
+            fail("An invalid table should not be loaded"); //$NON-NLS-1$
+        } catch (final IOException ex) {
+            // expected
+        }
+    }
+}
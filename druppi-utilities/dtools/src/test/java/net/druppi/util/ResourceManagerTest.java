@@ -18,10 +18,26 @@
  */
 package net.druppi.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import java.awt.Color;
+import java.awt.Font;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -79,4 +95,131 @@ public class ResourceManagerTest {
         ResourceMap resourceMap = ResourceManager.getResourceMap(getClass());
         assertNotNull(resourceMap);
     }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.ResourceManager#getResourceMap(String, ClassLoader, Locale)}.
+     */
+    @Test
+    public void testGetResourceMapLocale() {
+        String bundleName = "i18n/net/druppi/util/ResourceManagerTest"; //$NON-NLS-1$
+        ClassLoader loader = getClass().getClassLoader();
+        ResourceMap french = ResourceManager.getResourceMap(bundleName, loader, Locale.FRENCH);
+        assertSame(french, ResourceManager.getResourceMap(bundleName, loader, Locale.FRENCH));
+        assertNotSame(french, ResourceManager.getResourceMap(bundleName, loader, Locale.GERMAN));
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceManager#getResourceMap(java.lang.String)}
+     * called concurrently.
+     */
+    @Test
+    public void testGetResourceMapConcurrent() throws Exception {
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ResourceMap>> futures = new ArrayList<Future<ResourceMap>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Callable<ResourceMap>() {
+                    @Override
+                    public ResourceMap call() throws InterruptedException {
+                        start.await();
+                        return ResourceManager.getResourceMap(
+                                "i18n/net/druppi/util/ResourceMapTest", null, Locale.ITALIAN); //$NON-NLS-1$
+                    }
+                }));
+            }
+            start.countDown();
+            ResourceMap expected = futures.get(0).get();
+            for (Future<ResourceMap> future : futures) {
+                assertSame(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceManager#evict(ClassLoader)}.
+     */
+    @Test
+    public void testEvict() {
+        try {
+            ResourceManager.evict(null);
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (IllegalArgumentException ex) {
+            // no op: normal situation
+        }
+
+        String bundleName = "i18n/net/druppi/util/ResourceManagerTest"; //$NON-NLS-1$
+        ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+            // a distinct class loader delegating to the test class loader
+        };
+        ResourceMap resourceMap = ResourceManager.getResourceMap(bundleName, loader, Locale.UK);
+        assertSame(resourceMap, ResourceManager.getResourceMap(bundleName, loader, Locale.UK));
+        assertEquals(1, ResourceManager.evict(loader));
+        assertNotSame(resourceMap, ResourceManager.getResourceMap(bundleName, loader, Locale.UK));
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceManager#saveSnapshot(File, ClassLoader)}
+     * and {@link net.druppi.util.ResourceManager#loadSnapshot(File, ClassLoader)}.
+     */
+    @Test
+    public void testSnapshot() throws IOException {
+        String bundleName = "i18n/net/druppi/util/ResourceMapTest"; //$NON-NLS-1$
+        ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+            // a distinct class loader delegating to the test class loader
+        };
+        File file = File.createTempFile("resources", ".snapshot"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            ResourceMap resourceMap = ResourceManager.getResourceMap(bundleName, loader,
+                    Locale.FRENCH);
+            Font font = resourceMap.getFont("FONT"); //$NON-NLS-1$
+            resourceMap.getColor("COLOR"); //$NON-NLS-1$
+            assertEquals(1, ResourceManager.saveSnapshot(file, loader));
+
+            ResourceManager.evict(loader);
+            assertEquals(1, ResourceManager.loadSnapshot(file, loader));
+            ResourceMap restored = ResourceManager.getResourceMap(bundleName, loader,
+                    Locale.FRENCH);
+            assertNotSame(resourceMap, restored);
+            assertEquals("Hello", restored.getString("HELLO")); //$NON-NLS-1$ //$NON-NLS-2$
+            assertEquals("Hello user", restored.getString("HELLO_ARG", "user")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            assertEquals("!NOTHING!", restored.getString("NOTHING")); //$NON-NLS-1$ //$NON-NLS-2$
+            assertEquals(Color.RED, restored.getColor("COLOR")); //$NON-NLS-1$
+            assertEquals(font, restored.getFont("FONT")); //$NON-NLS-1$
+            assertEquals(42, restored.getInteger("NUMBER")); //$NON-NLS-1$
+
+            // The bundles missing from the snapshot are loaded normally
+            assertNotNull(ResourceManager.getResourceMap(bundleName, loader, Locale.GERMAN));
+        } finally {
+            ResourceManager.evict(loader);
+            file.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceManager#loadSnapshot(File, ClassLoader)}
+     * with an invalid file.
+     */
+    @Test
+    public void testLoadSnapshotInvalid() throws IOException {
+        File file = File.createTempFile("resources", ".snapshot"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            } finally {
+                out.close();
+            }
+            ResourceManager.loadSnapshot(file, null);
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (IOException ex) {
+            // no op: normal situation
+        } finally {
+            file.delete();
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * ResourceMapCacheTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Locale;
+import java.util.MissingResourceException;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class ResourceMapCacheTest {
+
+    /** The name of the bundle used by the tests. */
+    private static final String BUNDLE_NAME = "i18n/net/druppi/util/ResourceMapTest"; //$NON-NLS-1$
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMapCache#get(String, ClassLoader, Locale)}.
+     */
+    @Test
+    public void testGet() {
+        ResourceMapCache cache = new ResourceMapCache(16);
+        ClassLoader loader = getClass().getClassLoader();
+        ResourceMap resourceMap = cache.get(BUNDLE_NAME, loader, Locale.FRENCH);
+        assertSame(resourceMap, cache.get(BUNDLE_NAME, loader, Locale.FRENCH));
+        assertSame(resourceMap, cache.get(BUNDLE_NAME, loader, Locale.FRENCH));
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getSize());
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getLoadCount());
+        assertEquals(0, statistics.getEvictionCount());
+
+        try {
+            cache.get("does_not_exist", loader, Locale.FRENCH); //$NON-NLS-1$
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (MissingResourceException ex) {
+            // no op: normal situation
+        }
+        // A failed load is not cached
+        assertEquals(1, cache.getStatistics().getSize());
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMapCache#get(String, ClassLoader, Locale)}
+     * when the load throws an error.
+     */
+    @Test
+    public void testGetError() {
+        ResourceMapCache cache = new ResourceMapCache(16);
+        final ClassLoader parent = getClass().getClassLoader();
+        final boolean[] failing = new boolean[] {true};
+        ClassLoader loader = new ClassLoader(parent) {
+            @Override
+            public URL getResource(final String name) {
+                if (failing[0]) {
+                    throw new Error("Broken class loader"); //$NON-NLS-1$
+                }
+                return super.getResource(name);
+            }
+
+            @Override
+            public InputStream getResourceAsStream(final String name) {
+                if (failing[0]) {
+                    throw new Error("Broken class loader"); //$NON-NLS-1$
+                }
+                return super.getResourceAsStream(name);
+            }
+        };
+        try {
+            cache.get(BUNDLE_NAME, loader, Locale.FRENCH);
+            fail("Should throw an error."); //$NON-NLS-1$
+        } catch (Error ex) {
+            // no op: normal situation
+        }
+        // A load failing with an error is not cached either
+        assertEquals(0, cache.getStatistics().getSize());
+
+        failing[0] = false;
+        ResourceMap resourceMap = cache.get(BUNDLE_NAME, loader, Locale.FRENCH);
+        assertSame(resourceMap, cache.get(BUNDLE_NAME, loader, Locale.FRENCH));
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMapCache#setMaximumSize(int)}.
+     */
+    @Test
+    public void testMaximumSize() {
+        try {
+            new ResourceMapCache(0);
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (IllegalArgumentException ex) {
+            // no op: normal situation
+        }
+
+        ResourceMapCache cache = new ResourceMapCache(2);
+        ClassLoader loader = getClass().getClassLoader();
+        ResourceMap french = cache.get(BUNDLE_NAME, loader, Locale.FRENCH);
+        cache.get(BUNDLE_NAME, loader, Locale.GERMAN);
+        // Use the French map so that the German one is the least recently used
+        assertSame(french, cache.get(BUNDLE_NAME, loader, Locale.FRENCH));
+        cache.get(BUNDLE_NAME, loader, Locale.ITALIAN);
+
+        assertEquals(2, cache.getStatistics().getSize());
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+        assertSame(french, cache.get(BUNDLE_NAME, loader, Locale.FRENCH));
+
+        cache.setMaximumSize(1);
+        assertEquals(1, cache.getMaximumSize());
+        assertEquals(1, cache.getStatistics().getSize());
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMapCache#evict(ClassLoader)}.
+     */
+    @Test
+    public void testEvict() {
+        ResourceMapCache cache = new ResourceMapCache(16);
+        ClassLoader loader = getClass().getClassLoader();
+        ClassLoader other = new ClassLoader(loader) {
+            // a distinct class loader delegating to the test class loader
+        };
+        ResourceMap resourceMap = cache.get(BUNDLE_NAME, loader, Locale.FRENCH);
+        cache.get(BUNDLE_NAME, other, Locale.FRENCH);
+        cache.get(BUNDLE_NAME, other, Locale.GERMAN);
+
+        assertEquals(2, cache.evict(other));
+        assertEquals(0, cache.evict(other));
+        assertEquals(1, cache.getStatistics().getSize());
+        assertSame(resourceMap, cache.get(BUNDLE_NAME, loader, Locale.FRENCH));
+
+        cache.clear();
+        assertEquals(0, cache.getStatistics().getSize());
+        assertNotSame(resourceMap, cache.get(BUNDLE_NAME, loader, Locale.FRENCH));
+    }
+}
@@ -19,12 +19,30 @@
 package net.druppi.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.awt.Color;
+import java.awt.Font;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
+import javax.swing.Icon;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -111,4 +129,254 @@ public class ResourceMapTest {
         mnemonic = resourceMap.getMnemonic("MNEMO"); //$NON-NLS-1$
         assertEquals('A', mnemonic);
     }
+
+    /**
+     * Test method for the typed getters of {@link net.druppi.util.ResourceMap}.
+     */
+    @Test
+    public void testTypedValues() {
+        ResourceMap resourceMap = new ResourceMap("i18n/net/druppi/util/ResourceMapTest"); //$NON-NLS-1$
+
+        assertEquals(42, resourceMap.getInteger("NUMBER")); //$NON-NLS-1$
+        assertEquals(42L, resourceMap.getLong("NUMBER")); //$NON-NLS-1$
+        assertEquals(1.5f, resourceMap.getFloat("DECIMAL"), 0f); //$NON-NLS-1$
+        assertEquals(1.5, resourceMap.getDouble("DECIMAL"), 0.0); //$NON-NLS-1$
+        assertEquals(Color.RED, resourceMap.getColor("COLOR")); //$NON-NLS-1$
+
+        Font font = resourceMap.getFont("FONT"); //$NON-NLS-1$
+        assertEquals(Font.BOLD, font.getStyle());
+        assertEquals(12, font.getSize());
+        assertSame(font, resourceMap.getFont("FONT")); //$NON-NLS-1$
+
+        try {
+            resourceMap.getInteger("NOTHING"); //$NON-NLS-1$
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (NumberFormatException ex) {
+            // no op: normal situation
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMap#getIcon(java.lang.String)} and
+     * {@link net.druppi.util.ResourceMap#getImage(java.lang.String)}.
+     */
+    @Test
+    public void testGetIcon() {
+        ResourceMap resourceMap = new ResourceMap("i18n/net/druppi/util/ResourceMapTest"); //$NON-NLS-1$
+
+        Icon icon = resourceMap.getIcon("ICON"); //$NON-NLS-1$
+        assertEquals(16, icon.getIconWidth());
+        assertSame(icon, resourceMap.getIcon("ICON")); //$NON-NLS-1$
+        assertSame(resourceMap.getImage("ICON"), resourceMap.getImage("ICON")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        try {
+            resourceMap.getIcon("MISSING_ICON"); //$NON-NLS-1$
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (InvalidResourceException ex) {
+            // no op: normal situation
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMap#invalidate()}.
+     */
+    @Test
+    public void testInvalidate() {
+        ResourceMap resourceMap = new ResourceMap("i18n/net/druppi/util/ResourceMapTest"); //$NON-NLS-1$
+
+        Icon icon = resourceMap.getIcon("ICON"); //$NON-NLS-1$
+        Font font = resourceMap.getFont("FONT"); //$NON-NLS-1$
+        resourceMap.invalidate();
+        assertNotSame(icon, resourceMap.getIcon("ICON")); //$NON-NLS-1$
+        assertNotSame(font, resourceMap.getFont("FONT")); //$NON-NLS-1$
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMap#getIconAsync(java.lang.String)}.
+     */
+    @Test
+    public void testGetIconAsync() throws Exception {
+        ResourceMap resourceMap = new ResourceMap("i18n/net/druppi/util/ResourceMapTest"); //$NON-NLS-1$
+
+        Future<Icon> future = resourceMap.getIconAsync("ICON"); //$NON-NLS-1$
+        Icon icon = future.get();
+        assertEquals(16, icon.getIconWidth());
+        assertSame(icon, resourceMap.getIcon("ICON")); //$NON-NLS-1$
+        assertSame(icon, resourceMap.getIconAsync("ICON").get()); //$NON-NLS-1$
+
+        try {
+            resourceMap.getIconAsync("MISSING_ICON").get(); //$NON-NLS-1$
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (ExecutionException ex) {
+            assertEquals(InvalidResourceException.class, ex.getCause().getClass());
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMap#prefetchAll(java.lang.String)}.
+     */
+    @Test
+    public void testPrefetchAll() {
+        ResourceMap resourceMap = new ResourceMap("i18n/net/druppi/util/ResourceMapTest"); //$NON-NLS-1$
+
+        resourceMap.prefetchAll("ICON"); //$NON-NLS-1$
+        Icon icon = resourceMap.getIcon("ICON"); //$NON-NLS-1$
+        assertSame(icon, resourceMap.getIcon("ICON")); //$NON-NLS-1$
+
+        resourceMap.prefetch("MISSING_ICON"); //$NON-NLS-1$
+        try {
+            resourceMap.getIcon("MISSING_ICON"); //$NON-NLS-1$
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (InvalidResourceException ex) {
+            // no op: normal situation
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.util.ResourceMap#appendString(StringBuilder, String, Object...)}.
+     */
+    @Test
+    public void testAppendString() {
+        ResourceMap resourceMap = new ResourceMap("i18n/net/druppi/util/ResourceMapTest"); //$NON-NLS-1$
+
+        StringBuilder builder = new StringBuilder("> "); //$NON-NLS-1$
+        resourceMap.appendString(builder, "HELLO_ARG", "user"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("> Hello user", builder.toString()); //$NON-NLS-1$
+        resourceMap.appendString(builder, "NOTHING_ARG", "user"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("> Hello user!NOTHING_ARG!", builder.toString()); //$NON-NLS-1$
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMap#getString(java.lang.String)} with
+     * a missing key requested several times.
+     */
+    @Test
+    public void testMissingKeyLogging() {
+        final int[] count = new int[1];
+        Handler handler = new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                count[0]++;
+            }
+
+            @Override
+            public void flush() {
+                // no op
+            }
+
+            @Override
+            public void close() {
+                // no op
+            }
+        };
+        Logger logger = Logger.getLogger(ResourceMap.class.getName());
+        logger.setLevel(Level.INFO);
+        logger.addHandler(handler);
+        try {
+            ResourceMap resourceMap = new ResourceMap("i18n/net/druppi/util/ResourceMapTest"); //$NON-NLS-1$
+            for (int i = 0; i < 10; i++) {
+                assertEquals("!NOTHING!", resourceMap.getString("NOTHING")); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            assertEquals(1, count[0]);
+            resourceMap.invalidate();
+            resourceMap.getString("NOTHING"); //$NON-NLS-1$
+            assertEquals(2, count[0]);
+        } finally {
+            logger.removeHandler(handler);
+            logger.setLevel(Level.OFF);
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMap#reload()} triggered by the
+     * modification of the bundle file.
+     */
+    @Test
+    public void testReloadIfModified() throws IOException {
+        File dir = File.createTempFile("bundle", ""); //$NON-NLS-1$ //$NON-NLS-2$
+        dir.delete();
+        dir.mkdir();
+        File file = new File(dir, "Reload.properties"); //$NON-NLS-1$
+        try {
+            writeBundle(file, "TEXT=Old\nCOLOR=#FF0000\n"); //$NON-NLS-1$
+            ClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()}, null);
+            ResourceMap resourceMap = new ResourceMap("Reload", loader, Locale.ROOT); //$NON-NLS-1$
+            final int[] count = new int[1];
+            resourceMap.addResourceMapListener(new ResourceMapListener() {
+                @Override
+                public void resourceMapReloaded(final ResourceMap map) {
+                    count[0]++;
+                }
+            });
+            assertEquals("Old", resourceMap.getString("TEXT")); //$NON-NLS-1$ //$NON-NLS-2$
+            assertEquals(Color.RED, resourceMap.getColor("COLOR")); //$NON-NLS-1$
+
+            // The first check records the state of the files
+            assertFalse(resourceMap.reloadIfModified());
+            assertFalse(resourceMap.reloadIfModified());
+
+            writeBundle(file, "TEXT=New\nCOLOR=#0000FF\n"); //$NON-NLS-1$
+            file.setLastModified(file.lastModified() + 2000);
+            assertTrue(resourceMap.reloadIfModified());
+            assertEquals(1, count[0]);
+            assertEquals("New", resourceMap.getString("TEXT")); //$NON-NLS-1$ //$NON-NLS-2$
+            assertEquals(Color.BLUE, resourceMap.getColor("COLOR")); //$NON-NLS-1$
+            assertFalse(resourceMap.reloadIfModified());
+
+            resourceMap.reload();
+            assertEquals(2, count[0]);
+        } finally {
+            file.delete();
+            dir.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.util.ResourceMap#reload()} with several bundles in
+     * the same class loader.
+     */
+    @Test
+    public void testReloadOtherBundles() throws IOException {
+        File dir = File.createTempFile("bundle", ""); //$NON-NLS-1$ //$NON-NLS-2$
+        dir.delete();
+        dir.mkdir();
+        File file = new File(dir, "Reload.properties"); //$NON-NLS-1$
+        File otherFile = new File(dir, "Other.properties"); //$NON-NLS-1$
+        try {
+            writeBundle(file, "TEXT=Old\n"); //$NON-NLS-1$
+            writeBundle(otherFile, "TEXT=Other\n"); //$NON-NLS-1$
+            ClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()}, null);
+            ResourceMap resourceMap = new ResourceMap("Reload", loader, Locale.ROOT); //$NON-NLS-1$
+            ResourceMap other = new ResourceMap("Other", loader, Locale.ROOT); //$NON-NLS-1$
+
+            writeBundle(file, "TEXT=New\n"); //$NON-NLS-1$
+            resourceMap.reload();
+            assertEquals("New", resourceMap.getString("TEXT")); //$NON-NLS-1$ //$NON-NLS-2$
+
+            // The other bundle is still cached
+            assertSame(other.getBundle(),
+                    new ResourceMap("Other", loader, Locale.ROOT).getBundle()); //$NON-NLS-1$
+        } finally {
+            file.delete();
+            otherFile.delete();
+            dir.delete();
+        }
+    }
+
+    /**
+     * Writes a bundle file.
+     *
+     * @param file the file.
+     * @param content the content of the bundle.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void writeBundle(final File file, final String content) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("ISO-8859-1")); //$NON-NLS-1$
+        } finally {
+            out.close();
+        }
+    }
 }
@@ -0,0 +1,597 @@
+/*
+ * AsyncHandler.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import java.awt.Color;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * A log handler that displays the records in a Swing component.
+ * <p>
+ * The records can be published by any thread: they are converted by the publishing
+ * thread and added to a lock-free queue. The queue is drained on the event dispatch
+ * thread at most once per {@value #FLUSH_DELAY} ms, so that a burst of records results
+ * in a single update of the component.
+ * <p>
+ * The queue is bounded: when it is full, records are dropped according to the
+ * {@link DropPolicy}, and the number of records dropped is displayed in the component.
+ * The records whose level is at least the reserved level, {@link Level#SEVERE} by
+ * default, have their own capacity and are not dropped while it is not reached; beyond
+ * it, they are queued with the other records. The counters of the
+ * handler can be monitored through JMX (see {@link #registerMBean(String)}); the handler
+ * must then be unregistered with {@link #unregisterMBean()} once it is no longer used.
+ *
+ * @param <T> the type of the items displayed for the records.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+abstract class AsyncHandler<T> extends Handler implements LogHandlerMXBean {
+
+    /** The class logger. */
+    private static final Logger LOGGER = Logger.getLogger(AsyncHandler.class.getName());
+
+    /** The minimum delay in milliseconds between two updates of the component. */
+    private static final int FLUSH_DELAY = 16;
+
+    /** The default maximum number of records waiting to be displayed. */
+    private static final int DEFAULT_CAPACITY = 10000;
+
+    /** The default maximum number of records of the reserved level waiting to be displayed. */
+    private static final int DEFAULT_RESERVED_CAPACITY = 1000;
+
+    /** The default sampling rate of the {@link DropPolicy#SAMPLE} policy. */
+    private static final int DEFAULT_SAMPLE_RATE = 10;
+
+    /** The items not written yet, which can be dropped. */
+    private final Queue<Queued<T>> items = new ConcurrentLinkedQueue<Queued<T>>();
+
+    /** The items of the reserved level not written yet, which are never dropped. */
+    private final Queue<Queued<T>> reservedItems = new ConcurrentLinkedQueue<Queued<T>>();
+
+    /** The number of items which can be dropped not written yet. */
+    private final AtomicInteger itemCount = new AtomicInteger();
+
+    /** The number of items of the reserved level not written yet. */
+    private final AtomicInteger reservedCount = new AtomicInteger();
+
+    /** The sequence number of the last queued item. */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** The number of records accepted. */
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    /** The number of records dropped. */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /** The number of records dropped since the last update of the component. */
+    private final AtomicLong unreportedDrops = new AtomicLong();
+
+    /** The number of records handled by the {@link DropPolicy#SAMPLE} policy. */
+    private final AtomicLong sampledCount = new AtomicLong();
+
+    /** The maximum number of items which can be dropped not written yet. */
+    private volatile int capacity = DEFAULT_CAPACITY;
+
+    /** The maximum number of items of the reserved level not written yet. */
+    private volatile int reservedCapacity = DEFAULT_RESERVED_CAPACITY;
+
+    /** The policy applied when the queue is full. */
+    private volatile DropPolicy dropPolicy = DropPolicy.DROP_OLDEST;
+
+    /** The sampling rate of the {@link DropPolicy#SAMPLE} policy. */
+    private volatile int sampleRate = DEFAULT_SAMPLE_RATE;
+
+    /** The level from which the records are queued in the reserved capacity. */
+    private volatile Level reservedLevel = Level.SEVERE;
+
+    /** Whether an update of the component is scheduled. */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /** The timer delaying the updates of the component. */
+    private final Timer flushTimer;
+
+    /** The scrollLocked flag. */
+    private volatile boolean scrollLocked = false;
+
+    /** The foreground color associated to specific levels. */
+    private final Map<Level, Color> colors = new HashMap<Level, Color>();
+
+    /** The object name the handler is registered with, null if it is not registered. */
+    private ObjectName objectName;
+
+    /**
+     * Creates a new AsyncHandler.
+     */
+    protected AsyncHandler() {
+        setFormatter(new SimpleFormatter());
+        setLevel(Level.ALL);
+
+        colors.put(Level.SEVERE, Color.RED);
+        colors.put(Level.WARNING, Color.ORANGE);
+        colors.put(Level.INFO, Color.BLUE);
+        colors.put(Level.CONFIG, Color.GREEN);
+        colors.put(Level.FINE, Color.GRAY);
+        colors.put(Level.FINER, Color.GRAY);
+        colors.put(Level.FINEST, Color.GRAY);
+
+        flushTimer = new Timer(FLUSH_DELAY, new ActionListener() {
+
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                writeItems();
+            }
+        });
+        flushTimer.setRepeats(false);
+        // A coalesced event would be lost if the timer was restarted during an update
+        flushTimer.setCoalesce(false);
+    }
+
+    /**
+     * Clears the component and the records not displayed yet.
+     */
+    public void clear() {
+        SwingUtilities.invokeLater(new Runnable() {
+
+            @Override
+            public void run() {
+                for (Queued<T> item = items.poll(); item != null; item = items.poll()) {
+                    itemCount.decrementAndGet();
+                }
+                for (Queued<T> item = reservedItems.poll(); item != null;
+                        item = reservedItems.poll()) {
+                    reservedCount.decrementAndGet();
+                }
+                unreportedDrops.set(0);
+                clearView();
+            }
+        });
+    }
+
+    /**
+     * Locks/unlocks scroll.
+     *
+     * @param locked <code>true</code> to lock.
+     */
+    public void setScrollLocked(final boolean locked) {
+        this.scrollLocked = locked;
+    }
+
+    /**
+     * Returns whether the scroll is locked.
+     *
+     * @return <code>true</code> if the scroll is locked.
+     */
+    protected boolean isScrollLocked() {
+        return scrollLocked;
+    }
+
+    /**
+     * Sets the level from which the records are queued in the reserved capacity.
+     *
+     * @param level the reserved level (cannot be null).
+     */
+    public void setReservedLevel(final Level level) {
+        if (level == null) {
+            throw new IllegalArgumentException("The level cannot be null."); //$NON-NLS-1$
+        }
+        this.reservedLevel = level;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getReservedLevel() {
+        return reservedLevel.getName();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setCapacity(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive."); //$NON-NLS-1$
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getReservedCapacity() {
+        return reservedCapacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setReservedCapacity(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive."); //$NON-NLS-1$
+        }
+        this.reservedCapacity = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DropPolicy getDropPolicy() {
+        return dropPolicy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDropPolicy(final DropPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("The policy cannot be null."); //$NON-NLS-1$
+        }
+        this.dropPolicy = policy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSampleRate(final int rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("The rate must be positive."); //$NON-NLS-1$
+        }
+        this.sampleRate = rate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getQueuedCount() {
+        return itemCount.get() + reservedCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetCounters() {
+        publishedCount.set(0);
+        droppedCount.set(0);
+        unreportedDrops.set(0);
+        sampledCount.set(0);
+    }
+
+    /**
+     * Registers the handler in the platform MBean server. The name must be unique among
+     * the registered handlers. Nothing is done if the handler is already registered. A
+     * failure is logged and ignored.
+     *
+     * @param name the name of the handler, used in its object name.
+     * @return the object name of the handler, or null if it could not be registered.
+     */
+    public synchronized ObjectName registerMBean(final String name) {
+        if (objectName != null) {
+            return objectName;
+        }
+        try {
+            ObjectName registered = new ObjectName(
+                    "net.druppi.saf.log:type=LogHandler,name=" + ObjectName.quote(name)); //$NON-NLS-1$
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, registered);
+            objectName = registered;
+            return registered;
+        } catch (final JMException ex) {
+            LOGGER.log(Level.FINE, "Cannot register the log handler: " + name, ex); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * Unregisters the handler from the platform MBean server. Nothing is done if the
+     * handler is not registered. A failure is logged and ignored.
+     */
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (final JMException ex) {
+            LOGGER.log(Level.FINE, "Cannot unregister the log handler: " + objectName, ex); //$NON-NLS-1$
+        }
+        objectName = null;
+    }
+
+    /**
+     * Returns the foreground color associated to the given level.
+     *
+     * @param level the level.
+     * @return the color, or null if the level has no specific color.
+     */
+    protected Color getColor(final Level level) {
+        return colors.get(level);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(final LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        T item;
+        try {
+            item = createItem(record);
+        } catch (Exception ex) {
+            // We don't want to throw an exception here, but we
+            // report the exception to any registered ErrorManager.
+            reportError(null, ex, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+
+        if (offer(item, record.getLevel())) {
+            publishedCount.incrementAndGet();
+            if (flushScheduled.compareAndSet(false, true)) {
+                flushTimer.start();
+            }
+        } else {
+            droppedCount.incrementAndGet();
+            unreportedDrops.incrementAndGet();
+        }
+    }
+
+    /**
+     * Queues an item, applying the drop policy if the queue is full.
+     *
+     * @param item the item.
+     * @param level the level of the record.
+     * @return <code>false</code> if the item was dropped.
+     */
+    private boolean offer(final T item, final Level level) {
+        Queued<T> queued = new Queued<T>(sequence.incrementAndGet(), item);
+        if (level.intValue() >= reservedLevel.intValue()) {
+            if (reservedCount.incrementAndGet() <= reservedCapacity) {
+                reservedItems.offer(queued);
+                return true;
+            }
+            // Beyond the reserved capacity, the item is queued with the others
+            reservedCount.decrementAndGet();
+        }
+        if (itemCount.incrementAndGet() > capacity) {
+            itemCount.decrementAndGet();
+            switch (dropPolicy) {
+            case DROP_NEWEST:
+                return false;
+            case SAMPLE:
+                if (sampledCount.incrementAndGet() % sampleRate != 0) {
+                    return false;
+                }
+                // The sampled item replaces the oldest one
+                dropOldest();
+                break;
+            default:
+                dropOldest();
+                break;
+            }
+        }
+        items.offer(queued);
+        return true;
+    }
+
+    /**
+     * Drops the oldest item which can be dropped, to make room for a new item.
+     */
+    private void dropOldest() {
+        if (items.poll() != null) {
+            droppedCount.incrementAndGet();
+            unreportedDrops.incrementAndGet();
+        } else {
+            // The queue was drained meanwhile: the new item just takes a free place
+            itemCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        SwingUtilities.invokeLater(new Runnable() {
+
+            @Override
+            public void run() {
+                writeItems();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Creates the item displayed for a record. Called by the thread publishing the
+     * record.
+     *
+     * @param record the record.
+     * @return the item.
+     */
+    protected abstract T createItem(LogRecord record);
+
+    /**
+     * Writes items into the component. Called on the event dispatch thread.
+     *
+     * @param newItems the items, in publishing order.
+     */
+    protected abstract void write(List<T> newItems);
+
+    /**
+     * Clears the component. Called on the event dispatch thread.
+     */
+    protected abstract void clearView();
+
+    /**
+     * Creates the item displayed to report that records were dropped. Called on the event
+     * dispatch thread.
+     *
+     * @param count the number of records dropped.
+     * @return the item.
+     */
+    protected abstract T createDroppedItem(long count);
+
+    /**
+     * Returns the message reporting that records were dropped.
+     *
+     * @param count the number of records dropped.
+     * @return the message.
+     */
+    protected static String getDroppedMessage(final long count) {
+        return "*** " + count + " records dropped ***"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Writes the pending items into the component.
+     */
+    private void writeItems() {
+        // The records published from now on schedule another update
+        flushScheduled.set(false);
+        List<Queued<T>> pending = new ArrayList<Queued<T>>();
+        for (Queued<T> item = items.poll(); item != null; item = items.poll()) {
+            itemCount.decrementAndGet();
+            pending.add(item);
+        }
+        List<Queued<T>> reserved = new ArrayList<Queued<T>>();
+        for (Queued<T> item = reservedItems.poll(); item != null; item = reservedItems.poll()) {
+            reservedCount.decrementAndGet();
+            reserved.add(item);
+        }
+
+        List<T> merged = new ArrayList<T>(pending.size() + reserved.size() + 1);
+        long drops = unreportedDrops.getAndSet(0);
+        // The records dropped by DROP_NEWEST are newer than the pending ones
+        boolean droppedLast = dropPolicy == DropPolicy.DROP_NEWEST;
+        if (drops > 0 && !droppedLast) {
+            merged.add(createDroppedItem(drops));
+        }
+        // Merge the two queues in publishing order
+        int i = 0;
+        int j = 0;
+        while (i < pending.size() || j < reserved.size()) {
+            if (j == reserved.size() || (i < pending.size()
+                    && pending.get(i).sequence < reserved.get(j).sequence)) {
+                merged.add(pending.get(i++).item);
+            } else {
+                merged.add(reserved.get(j++).item);
+            }
+        }
+        if (drops > 0 && droppedLast) {
+            merged.add(createDroppedItem(drops));
+        }
+        if (!merged.isEmpty()) {
+            write(merged);
+        }
+    }
+
+    /**
+     * An item waiting to be written.
+     *
+     * @param <T> the type of the item.
+     */
+    private static final class Queued<T> {
+
+        /** The sequence number of the item. */
+        private final long sequence;
+
+        /** The item. */
+        private final T item;
+
+        /**
+         * Creates a new Queued.
+         *
+         * @param sequence the sequence number of the item.
+         * @param item the item.
+         */
+        Queued(final long sequence, final T item) {
+            this.sequence = sequence;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * DropPolicy.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+/**
+ * The policy applied by the log handlers of the {@link LoggingDialog} when their queue of
+ * records not displayed yet is full.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public enum DropPolicy {
+
+    /** The oldest records of the queue are dropped to accept the new ones. */
+    DROP_OLDEST,
+
+    /** The new records are dropped. */
+    DROP_NEWEST,
+
+    /**
+     * One new record in N is accepted, replacing the oldest record of the queue; the
+     * others are dropped.
+     */
+    SAMPLE
+}
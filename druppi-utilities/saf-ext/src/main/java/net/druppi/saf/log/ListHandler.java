@@ -0,0 +1,347 @@
+/*
+ * ListHandler.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Rectangle;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JList;
+import javax.swing.SwingUtilities;
+
+/**
+ * A log handler that writes into a JList. The records are kept in a ring buffer, so the
+ * memory used is bounded and adding a record takes a constant time whatever the number of
+ * records retained. The JList only renders the visible rows.
+ * <p>
+ * The records can be filtered (see {@link #setFilter(LogFilter, FilterCallback)}). The
+ * records retained are indexed by a {@link LogIndex}, which is updated and searched by a
+ * dedicated thread, so the event dispatch thread is not blocked by a search.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class ListHandler extends AsyncHandler<LogEntry> {
+
+    /** The default maximum number of records retained. */
+    static final int DEFAULT_CAPACITY = 1000000;
+
+    /** The prototype of the rows, used to compute their size. */
+    private static final LogEntry PROTOTYPE = new LogEntry(0L, Level.WARNING,
+            "net.druppi.saf.log.ListHandler", //$NON-NLS-1$
+            "A prototype message used to compute the size of the rows of the list."); //$NON-NLS-1$
+
+    /** The JList. */
+    private final JList list;
+
+    /** The model of the JList. */
+    private final LogListModel model;
+
+    /** The maximum number of records retained. */
+    private final int capacity;
+
+    /** The index of the records, used by the index thread only. */
+    private final LogIndex index;
+
+    /** The executor updating and searching the index. */
+    private final ExecutorService indexExecutor;
+
+    /** The model displaying the filtered records, created when first needed. */
+    private LogListModel filteredModel;
+
+    /** The current filter, null if the records are not filtered. */
+    private LogFilter filter;
+
+    /** The number of the current search. */
+    private int searchNumber;
+
+    /**
+     * The records accepted by the filter written while it was searched, null when no
+     * search is running.
+     */
+    private List<LogEntry> pendingMatches;
+
+    /**
+     * Creates a new ListHandler.
+     *
+     * @param list the JList used to write the logs.
+     * @param capacity the maximum number of records retained.
+     */
+    public ListHandler(final JList list, final int capacity) {
+        this.list = list;
+        this.model = new LogListModel(capacity);
+        this.capacity = capacity;
+        this.index = new LogIndex(capacity);
+        this.indexExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread thread = new Thread(r, "LogIndex"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        list.setModel(model);
+        list.setCellRenderer(new LogEntryRenderer());
+        // The size of the rows is fixed: the JList does not compute the size of each row
+        list.setPrototypeCellValue(PROTOTYPE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected LogEntry createItem(final LogRecord record) {
+        String message = getFormatter().formatMessage(record);
+        if (record.getThrown() != null) {
+            message = message + ' ' + record.getThrown();
+        }
+        return new LogEntry(record.getMillis(), record.getLevel(), record.getLoggerName(),
+                message);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected LogEntry createDroppedItem(final long count) {
+        return new LogEntry(System.currentTimeMillis(), Level.WARNING, null,
+                getDroppedMessage(count));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearView() {
+        model.clear();
+        if (filteredModel != null) {
+            filteredModel.clear();
+        }
+        if (pendingMatches != null) {
+            pendingMatches.clear();
+        }
+        executeOnIndexThread(new Runnable() {
+
+            @Override
+            public void run() {
+                index.clear();
+            }
+        });
+    }
+
+    /**
+     * Filters the records displayed. The records retained are searched by the index
+     * thread; the new records are filtered when they are written. Must be called on the
+     * event dispatch thread.
+     *
+     * @param newFilter the filter, null or empty to display all the records.
+     * @param callback the callback notified on the event dispatch thread when the filter
+     *        is applied, may be null.
+     */
+    public void setFilter(final LogFilter newFilter, final FilterCallback callback) {
+        final int number = ++searchNumber;
+        if (newFilter == null || newFilter.isEmpty()) {
+            filter = null;
+            pendingMatches = null;
+            list.setModel(model);
+            if (callback != null) {
+                callback.filterApplied(model.getSize(), 0L);
+            }
+            return;
+        }
+        filter = newFilter;
+        pendingMatches = new ArrayList<LogEntry>();
+        final long start = System.nanoTime();
+        executeOnIndexThread(new Runnable() {
+
+            @Override
+            public void run() {
+                final List<LogEntry> matches = index.search(newFilter, capacity);
+                final long millis = (System.nanoTime() - start) / 1000000L;
+                SwingUtilities.invokeLater(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if (number == searchNumber) {
+                            showMatches(matches);
+                            if (callback != null) {
+                                callback.filterApplied(filteredModel.getSize(), millis);
+                            }
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Closes the handler. The pending records are written, then the index thread is
+     * stopped: the handler must not be used anymore.
+     */
+    @Override
+    public void close() {
+        super.close();
+        // Stop the thread after the flush, on the thread submitting the index tasks
+        SwingUtilities.invokeLater(new Runnable() {
+
+            @Override
+            public void run() {
+                indexExecutor.shutdown();
+            }
+        });
+    }
+
+    /**
+     * Submits a task to the index thread. The task is ignored once the handler is closed.
+     * Must be called on the event dispatch thread.
+     *
+     * @param task the task.
+     */
+    private void executeOnIndexThread(final Runnable task) {
+        if (!indexExecutor.isShutdown()) {
+            indexExecutor.execute(task);
+        }
+    }
+
+    /**
+     * Displays the records found by a search.
+     *
+     * @param matches the records accepted by the filter.
+     */
+    private void showMatches(final List<LogEntry> matches) {
+        if (filteredModel == null) {
+            filteredModel = new LogListModel(capacity);
+        }
+        filteredModel.clear();
+        filteredModel.addAll(matches);
+        filteredModel.addAll(pendingMatches);
+        pendingMatches = null;
+        list.setModel(filteredModel);
+        if (!isScrollLocked() && filteredModel.getSize() > 0) {
+            list.ensureIndexIsVisible(filteredModel.getSize() - 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void write(final List<LogEntry> entries) {
+        final List<LogEntry> newEntries = new ArrayList<LogEntry>(entries);
+        executeOnIndexThread(new Runnable() {
+
+            @Override
+            public void run() {
+                index.addAll(newEntries);
+            }
+        });
+
+        Rectangle rect = list.getVisibleRect();
+        int removed = model.addAll(entries);
+        LogListModel displayed = model;
+        if (filter != null) {
+            List<LogEntry> matches = filter.select(entries);
+            if (pendingMatches != null) {
+                // The search does not include these records
+                pendingMatches.addAll(matches);
+                removed = 0;
+            } else {
+                removed = filteredModel.addAll(matches);
+            }
+            displayed = filteredModel;
+        }
+        if (displayed == null) {
+            return;
+        }
+        if (isScrollLocked()) {
+            // Keep the same rows visible when the oldest rows are removed
+            if (removed > 0) {
+                rect.y = Math.max(0, rect.y - removed * list.getFixedCellHeight());
+                list.scrollRectToVisible(rect);
+            }
+        } else if (displayed.getSize() > 0) {
+            list.ensureIndexIsVisible(displayed.getSize() - 1);
+        }
+    }
+
+    /**
+     * A callback notified when a filter is applied.
+     */
+    interface FilterCallback {
+
+        /**
+         * Called on the event dispatch thread when a filter is applied.
+         *
+         * @param count the number of records displayed.
+         * @param millis the duration of the search in milliseconds.
+         */
+        void filterApplied(int count, long millis);
+    }
+
+    /**
+     * Renders the log entries.
+     */
+    private final class LogEntryRenderer extends DefaultListCellRenderer {
+
+        /** The serial version id. */
+        private static final long serialVersionUID = 4806394528617362745L;
+
+        /** The format of the times. */
+        private final DateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS"); //$NON-NLS-1$
+
+        /** The date used to format the times. */
+        private final Date date = new Date();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Component getListCellRendererComponent(final JList jlist, final Object value,
+                final int index, final boolean isSelected, final boolean cellHasFocus) {
+            LogEntry entry = (LogEntry) value;
+            date.setTime(entry.getMillis());
+            StringBuilder text = new StringBuilder(128);
+            text.append(timeFormat.format(date)).append(' ');
+            text.append(entry.getLevel().getLocalizedName()).append(' ');
+            if (entry.getLoggerName() != null) {
+                text.append(entry.getLoggerName()).append(": "); //$NON-NLS-1$
+            }
+            text.append(entry.getMessage());
+            super.getListCellRendererComponent(jlist, text.toString(), index, isSelected,
+                    cellHasFocus);
+            Color color = getColor(entry.getLevel());
+            if (!isSelected && color != null) {
+                setForeground(color);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * LogEntry.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import java.util.logging.Level;
+
+/**
+ * A log record retained for the display. Only the fields displayed are kept, the message
+ * being already formatted.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class LogEntry {
+
+    /** The time of the record in milliseconds. */
+    private final long millis;
+
+    /** The level of the record. */
+    private final Level level;
+
+    /** The name of the logger. */
+    private final String loggerName;
+
+    /** The formatted message. */
+    private final String message;
+
+    /**
+     * Creates a new LogEntry.
+     *
+     * @param millis the time of the record in milliseconds.
+     * @param level the level of the record.
+     * @param loggerName the name of the logger.
+     * @param message the formatted message.
+     */
+    LogEntry(final long millis, final Level level, final String loggerName,
+            final String message) {
+        this.millis = millis;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.message = message;
+    }
+
+    /**
+     * Returns the time of the record.
+     *
+     * @return the time in milliseconds.
+     */
+    long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Returns the level of the record.
+     *
+     * @return the level.
+     */
+    Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the name of the logger.
+     *
+     * @return the name of the logger, may be null.
+     */
+    String getLoggerName() {
+        return loggerName;
+    }
+
+    /**
+     * Returns the formatted message.
+     *
+     * @return the message.
+     */
+    String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * LogFilter.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * A filter of log entries by logger name prefix, minimum level, time and text.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class LogFilter {
+
+    /** The prefix of the logger names, empty to accept all the loggers. */
+    private final String loggerPrefix;
+
+    /** The minimum level, null to accept all the levels. */
+    private final Level minLevel;
+
+    /** The minimum time in milliseconds. */
+    private final long minMillis;
+
+    /** The text searched in the messages, ignoring case, empty to accept all. */
+    private final String text;
+
+    /**
+     * Creates a new LogFilter.
+     *
+     * @param loggerPrefix the prefix of the logger names, empty to accept all the loggers.
+     * @param minLevel the minimum level, null to accept all the levels.
+     * @param minMillis the minimum time in milliseconds, 0 to accept all the times.
+     * @param text the text searched in the messages, ignoring case, empty to accept all.
+     */
+    LogFilter(final String loggerPrefix, final Level minLevel, final long minMillis,
+            final String text) {
+        this.loggerPrefix = (loggerPrefix == null) ? "" : loggerPrefix; //$NON-NLS-1$
+        this.minLevel = minLevel;
+        this.minMillis = minMillis;
+        this.text = (text == null) ? "" : text; //$NON-NLS-1$
+    }
+
+    /**
+     * Returns the prefix of the logger names.
+     *
+     * @return the prefix, empty if all the loggers are accepted.
+     */
+    String getLoggerPrefix() {
+        return loggerPrefix;
+    }
+
+    /**
+     * Returns the minimum level.
+     *
+     * @return the minimum level, null if all the levels are accepted.
+     */
+    Level getMinLevel() {
+        return minLevel;
+    }
+
+    /**
+     * Returns the text searched in the messages.
+     *
+     * @return the text, empty if all the messages are accepted.
+     */
+    String getText() {
+        return text;
+    }
+
+    /**
+     * Returns whether the filter accepts all the entries.
+     *
+     * @return <code>true</code> if the filter accepts all the entries.
+     */
+    boolean isEmpty() {
+        return loggerPrefix.length() == 0 && minLevel == null && minMillis <= 0
+                && text.length() == 0;
+    }
+
+    /**
+     * Returns whether the filter accepts an entry.
+     *
+     * @param entry the entry.
+     * @return <code>true</code> if the entry is accepted.
+     */
+    boolean accepts(final LogEntry entry) {
+        if (minLevel != null && entry.getLevel().intValue() < minLevel.intValue()) {
+            return false;
+        }
+        if (entry.getMillis() < minMillis) {
+            return false;
+        }
+        if (loggerPrefix.length() > 0) {
+            String name = entry.getLoggerName();
+            if (name == null || !name.startsWith(loggerPrefix)) {
+                return false;
+            }
+        }
+        return containsIgnoreCase(entry.getMessage(), text);
+    }
+
+    /**
+     * Returns the entries accepted by the filter.
+     *
+     * @param entries the entries.
+     * @return the accepted entries, in the same order.
+     */
+    List<LogEntry> select(final List<LogEntry> entries) {
+        List<LogEntry> selected = new ArrayList<LogEntry>();
+        for (LogEntry entry : entries) {
+            if (accepts(entry)) {
+                selected.add(entry);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns whether a string contains another string, ignoring case.
+     *
+     * @param string the string.
+     * @param searched the searched string.
+     * @return <code>true</code> if the string contains the searched string.
+     */
+    static boolean containsIgnoreCase(final String string, final String searched) {
+        int length = searched.length();
+        if (length == 0) {
+            return true;
+        }
+        char lower = Character.toLowerCase(searched.charAt(0));
+        char upper = Character.toUpperCase(searched.charAt(0));
+        int last = string.length() - length;
+        for (int i = 0; i <= last; i++) {
+            // Compare the first character before the whole region
+            char c = string.charAt(i);
+            if ((c == lower || c == upper || Character.toLowerCase(c) == lower)
+                    && string.regionMatches(true, i, searched, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
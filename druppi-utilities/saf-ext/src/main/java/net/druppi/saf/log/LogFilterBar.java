@@ -0,0 +1,207 @@
+/*
+ * LogFilterBar.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.logging.Level;
+
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import org.jdesktop.application.ResourceMap;
+
+/**
+ * A bar filtering the records displayed by a {@link ListHandler} by logger name prefix,
+ * minimum level, period and text. The filter is applied shortly after the user stops
+ * typing.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class LogFilterBar extends JPanel {
+
+    /** The serial version id. */
+    private static final long serialVersionUID = -6190488264393466212L;
+
+    /** The delay in milliseconds between the last modification and the filtering. */
+    private static final int FILTER_DELAY = 200;
+
+    /** The number of milliseconds in a minute. */
+    private static final long MINUTE = 60000L;
+
+    /** The handler filtered. */
+    private final transient ListHandler handler;
+
+    /** The resource map of the logging dialog. */
+    private final transient ResourceMap resourceMap;
+
+    /** The field of the logger name prefix. */
+    private final JTextField loggerField = new JTextField(12);
+
+    /** The combo box of the minimum level. */
+    private final JComboBox levelComboBox = new JComboBox();
+
+    /** The combo box of the period. */
+    private final JComboBox periodComboBox = new JComboBox();
+
+    /** The field of the text searched. */
+    private final JTextField textField = new JTextField(16);
+
+    /** The label displaying the result of the filtering. */
+    private final JLabel statusLabel = new JLabel();
+
+    /** The timer delaying the filtering. */
+    private final Timer filterTimer;
+
+    /**
+     * Creates a new LogFilterBar.
+     *
+     * @param resourceMap the resource map of the logging dialog.
+     * @param handler the handler filtered.
+     */
+    LogFilterBar(final ResourceMap resourceMap, final ListHandler handler) {
+        super(new FlowLayout(FlowLayout.LEADING));
+        this.handler = handler;
+        this.resourceMap = resourceMap;
+        setName("filterBar"); //$NON-NLS-1$
+
+        levelComboBox.addItem(new Choice<Level>(null,
+                resourceMap.getString("filterBar.allLevels"))); //$NON-NLS-1$
+        for (Level level : new Level[] {Level.SEVERE, Level.WARNING, Level.INFO, Level.CONFIG,
+                Level.FINE, Level.FINER, Level.FINEST}) {
+            levelComboBox.addItem(new Choice<Level>(level, level.getLocalizedName()));
+        }
+        periodComboBox.addItem(new Choice<Long>(Long.valueOf(0L),
+                resourceMap.getString("filterBar.allPeriods"))); //$NON-NLS-1$
+        periodComboBox.addItem(new Choice<Long>(Long.valueOf(MINUTE),
+                resourceMap.getString("filterBar.lastMinute"))); //$NON-NLS-1$
+        periodComboBox.addItem(new Choice<Long>(Long.valueOf(10 * MINUTE),
+                resourceMap.getString("filterBar.last10Minutes"))); //$NON-NLS-1$
+        periodComboBox.addItem(new Choice<Long>(Long.valueOf(60 * MINUTE),
+                resourceMap.getString("filterBar.lastHour"))); //$NON-NLS-1$
+
+        add(new JLabel(resourceMap.getString("filterBar.loggerLabel.text"))); //$NON-NLS-1$
+        add(loggerField);
+        add(new JLabel(resourceMap.getString("filterBar.levelLabel.text"))); //$NON-NLS-1$
+        add(levelComboBox);
+        add(new JLabel(resourceMap.getString("filterBar.periodLabel.text"))); //$NON-NLS-1$
+        add(periodComboBox);
+        add(new JLabel(resourceMap.getString("filterBar.textLabel.text"))); //$NON-NLS-1$
+        add(textField);
+        add(statusLabel);
+
+        filterTimer = new Timer(FILTER_DELAY, new ActionListener() {
+
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                applyFilter();
+            }
+        });
+        filterTimer.setRepeats(false);
+
+        DocumentListener documentListener = new DocumentListener() {
+
+            @Override
+            public void insertUpdate(final DocumentEvent e) {
+                filterTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(final DocumentEvent e) {
+                filterTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(final DocumentEvent e) {
+                filterTimer.restart();
+            }
+        };
+        loggerField.getDocument().addDocumentListener(documentListener);
+        textField.getDocument().addDocumentListener(documentListener);
+        ActionListener actionListener = new ActionListener() {
+
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                filterTimer.restart();
+            }
+        };
+        levelComboBox.addActionListener(actionListener);
+        periodComboBox.addActionListener(actionListener);
+    }
+
+    /**
+     * Filters the records with the criteria of the bar.
+     */
+    @SuppressWarnings("unchecked")
+    private void applyFilter() {
+        Level level = ((Choice<Level>) levelComboBox.getSelectedItem()).value;
+        long period = ((Choice<Long>) periodComboBox.getSelectedItem()).value.longValue();
+        long minMillis = (period > 0) ? System.currentTimeMillis() - period : 0L;
+        LogFilter filter = new LogFilter(loggerField.getText().trim(), level, minMillis,
+                textField.getText());
+        handler.setFilter(filter, new ListHandler.FilterCallback() {
+
+            @Override
+            public void filterApplied(final int count, final long millis) {
+                statusLabel.setText(resourceMap.getString("filterBar.status", //$NON-NLS-1$
+                        Integer.valueOf(count), Long.valueOf(millis)));
+            }
+        });
+    }
+
+    /**
+     * An item of a combo box.
+     *
+     * @param <V> the type of the value of the item.
+     */
+    private static final class Choice<V> {
+
+        /** The value. */
+        private final V value;
+
+        /** The displayed text. */
+        private final String text;
+
+        /**
+         * Creates a new Choice.
+         *
+         * @param value the value.
+         * @param text the displayed text.
+         */
+        Choice(final V value, final String text) {
+            this.value = value;
+            this.text = text;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
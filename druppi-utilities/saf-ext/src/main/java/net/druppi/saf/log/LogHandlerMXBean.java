@@ -0,0 +1,122 @@
+/*
+ * LogHandlerMXBean.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+/**
+ * The management interface of the log handlers of the {@link LoggingDialog}.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public interface LogHandlerMXBean {
+
+    /**
+     * Returns the number of records accepted by the handler. An accepted record can be
+     * dropped later to make room for newer records.
+     *
+     * @return the number of records accepted.
+     */
+    long getPublishedCount();
+
+    /**
+     * Returns the number of records dropped by the handler.
+     *
+     * @return the number of records dropped.
+     */
+    long getDroppedCount();
+
+    /**
+     * Returns the number of records waiting to be displayed.
+     *
+     * @return the number of records queued.
+     */
+    int getQueuedCount();
+
+    /**
+     * Returns the maximum number of records waiting to be displayed. The records queued in
+     * the reserved capacity are not counted.
+     *
+     * @return the capacity of the queue.
+     */
+    int getCapacity();
+
+    /**
+     * Sets the maximum number of records waiting to be displayed.
+     *
+     * @param capacity the capacity of the queue (must be positive).
+     */
+    void setCapacity(int capacity);
+
+    /**
+     * Returns the maximum number of records of the reserved level waiting to be
+     * displayed. These records are never dropped; beyond this capacity, they are queued
+     * with the other records.
+     *
+     * @return the reserved capacity.
+     */
+    int getReservedCapacity();
+
+    /**
+     * Sets the maximum number of records of the reserved level waiting to be displayed.
+     *
+     * @param capacity the reserved capacity (must be positive).
+     */
+    void setReservedCapacity(int capacity);
+
+    /**
+     * Returns the policy applied when the queue is full.
+     *
+     * @return the policy.
+     */
+    DropPolicy getDropPolicy();
+
+    /**
+     * Sets the policy applied when the queue is full.
+     *
+     * @param policy the policy (cannot be null).
+     */
+    void setDropPolicy(DropPolicy policy);
+
+    /**
+     * Returns the sampling rate of the {@link DropPolicy#SAMPLE} policy.
+     *
+     * @return N, when one record in N is accepted.
+     */
+    int getSampleRate();
+
+    /**
+     * Sets the sampling rate of the {@link DropPolicy#SAMPLE} policy.
+     *
+     * @param rate N, to accept one record in N (must be positive).
+     */
+    void setSampleRate(int rate);
+
+    /**
+     * Returns the name of the level from which the records are queued in the reserved
+     * capacity.
+     *
+     * @return the name of the reserved level.
+     */
+    String getReservedLevel();
+
+    /**
+     * Resets the counters.
+     */
+    void resetCounters();
+}
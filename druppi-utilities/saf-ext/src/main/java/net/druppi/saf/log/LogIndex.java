@@ -0,0 +1,473 @@
+/*
+ * LogIndex.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An index of the last log entries, by logger name, level and message terms. The
+ * entries are numbered in adding order; for each logger, level and lower-case term of the
+ * messages, numeric terms excepted, the index keeps the numbers of the entries. A search
+ * intersects the entries designated by the selective criteria of the filter and only
+ * checks these entries.
+ * <p>
+ * The index keeps the same number of entries as the {@link ListHandler} ring buffer. The
+ * numbers of the removed entries are purged from the index when as many entries as the
+ * capacity have been removed, so that adding an entry takes a constant amortized time.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class LogIndex {
+
+    /**
+     * The ratio of the entries under which a criterion is used to select the entries to
+     * check. A less selective criterion is slower than checking all the entries.
+     */
+    private static final int SELECTIVITY_RATIO = 4;
+
+    /** The entries. */
+    private final RingBuffer<LogEntry> entries;
+
+    /** The number of the oldest entry. */
+    private long firstNumber;
+
+    /** The number of entries removed since the last purge. */
+    private int removedCount;
+
+    /** The entries by logger name. */
+    private final TreeMap<String, Postings> loggers = new TreeMap<String, Postings>();
+
+    /** The entries by level value. */
+    private final TreeMap<Integer, Postings> levels = new TreeMap<Integer, Postings>();
+
+    /** The entries by lower-case message term. */
+    private final Map<String, Postings> terms = new HashMap<String, Postings>();
+
+    /**
+     * Creates a new LogIndex.
+     *
+     * @param capacity the maximum number of entries.
+     */
+    LogIndex(final int capacity) {
+        entries = new RingBuffer<LogEntry>(capacity);
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Adds entries, removing the oldest ones if the index is full.
+     *
+     * @param newEntries the entries.
+     */
+    void addAll(final List<LogEntry> newEntries) {
+        for (LogEntry entry : newEntries) {
+            add(entry);
+        }
+    }
+
+    /**
+     * Adds an entry, removing the oldest one if the index is full.
+     *
+     * @param entry the entry.
+     */
+    void add(final LogEntry entry) {
+        long number = firstNumber + entries.size();
+        if (entries.add(entry)) {
+            firstNumber++;
+            removedCount++;
+        }
+        String loggerName = entry.getLoggerName();
+        index(loggers, (loggerName == null) ? "" : loggerName, number); //$NON-NLS-1$
+        index(levels, Integer.valueOf(entry.getLevel().intValue()), number);
+        for (String term : tokenize(entry.getMessage())) {
+            // The numbers are not indexed: they would make the terms countless
+            if (!isNumber(term)) {
+                index(terms, term, number);
+            }
+        }
+        if (removedCount >= entries.getCapacity()) {
+            purge();
+        }
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    void clear() {
+        firstNumber += entries.size();
+        entries.clear();
+        loggers.clear();
+        levels.clear();
+        terms.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Returns the entries accepted by a filter.
+     *
+     * @param filter the filter.
+     * @param limit the maximum number of entries returned; the newest are returned.
+     * @return the accepted entries, oldest first.
+     */
+    List<LogEntry> search(final LogFilter filter, final int limit) {
+        int size = entries.size();
+        // The time is only checked by the filter: the records published by concurrent
+        // threads are not sorted by time
+        long[] numbers = selectNumbers(filter, size / SELECTIVITY_RATIO);
+
+        List<LogEntry> result = new ArrayList<LogEntry>();
+        if (numbers == null) {
+            for (int i = 0; i < size; i++) {
+                LogEntry entry = entries.get(i);
+                if (filter.accepts(entry)) {
+                    result.add(entry);
+                }
+            }
+        } else {
+            for (long number : numbers) {
+                LogEntry entry = entries.get((int) (number - firstNumber));
+                if (filter.accepts(entry)) {
+                    result.add(entry);
+                }
+            }
+        }
+        if (result.size() > limit) {
+            return new ArrayList<LogEntry>(result.subList(result.size() - limit, result.size()));
+        }
+        return result;
+    }
+
+    /**
+     * Selects the numbers of the entries designated by all the selective criteria of a
+     * filter.
+     *
+     * @param filter the filter.
+     * @param maxCount the maximum number of entries designated by a criterion to use it.
+     * @return the sorted numbers of the entries to check, or null to check all the
+     *         entries.
+     */
+    private long[] selectNumbers(final LogFilter filter, final int maxCount) {
+        List<List<Postings>> criteria = new ArrayList<List<Postings>>();
+        if (filter.getLoggerPrefix().length() > 0) {
+            String prefix = filter.getLoggerPrefix();
+            criteria.add(new ArrayList<Postings>(
+                    loggers.subMap(prefix, prefix + Character.MAX_VALUE).values()));
+        }
+        if (filter.getMinLevel() != null) {
+            criteria.add(new ArrayList<Postings>(
+                    levels.tailMap(Integer.valueOf(filter.getMinLevel().intValue())).values()));
+        }
+        for (String token : tokenize(filter.getText())) {
+            if (isNumber(token)) {
+                // The token can be a part of a number, which is not indexed
+                continue;
+            }
+            // A token of the text can be a part of a term of the message
+            List<Postings> selected = new ArrayList<Postings>();
+            for (Map.Entry<String, Postings> term : terms.entrySet()) {
+                if (term.getKey().contains(token)) {
+                    selected.add(term.getValue());
+                }
+            }
+            criteria.add(selected);
+        }
+
+        // Intersect the entries designated by the selective criteria
+        long[] numbers = null;
+        for (List<Postings> criterion : criteria) {
+            int count = count(criterion);
+            if (count <= maxCount) {
+                long[] designated = union(criterion, count);
+                numbers = (numbers == null) ? designated : intersect(numbers, designated);
+            }
+        }
+        return numbers;
+    }
+
+    /**
+     * Returns the sorted numbers designated by postings, without the removed entries.
+     *
+     * @param postings the postings.
+     * @param count the number of entries designated by the postings.
+     * @return the numbers.
+     */
+    private long[] union(final List<Postings> postings, final int count) {
+        long[] numbers = new long[count];
+        int length = 0;
+        for (Postings p : postings) {
+            length = p.copyTo(numbers, length, firstNumber);
+        }
+        if (postings.size() == 1) {
+            return Arrays.copyOf(numbers, length);
+        }
+        // Several postings can designate the same entry
+        Arrays.sort(numbers, 0, length);
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (distinct == 0 || numbers[distinct - 1] != numbers[i]) {
+                numbers[distinct++] = numbers[i];
+            }
+        }
+        return Arrays.copyOf(numbers, distinct);
+    }
+
+    /**
+     * Returns the numbers present in two sorted arrays.
+     *
+     * @param numbers1 the first array.
+     * @param numbers2 the second array.
+     * @return the common numbers, sorted.
+     */
+    private static long[] intersect(final long[] numbers1, final long[] numbers2) {
+        long[] common = new long[Math.min(numbers1.length, numbers2.length)];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < numbers1.length && j < numbers2.length) {
+            if (numbers1[i] < numbers2[j]) {
+                i++;
+            } else if (numbers1[i] > numbers2[j]) {
+                j++;
+            } else {
+                common[length++] = numbers1[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(common, length);
+    }
+
+    /**
+     * Removes the numbers of the removed entries from the index.
+     */
+    private void purge() {
+        purge(loggers);
+        purge(levels);
+        purge(terms);
+        removedCount = 0;
+    }
+
+    /**
+     * Removes the numbers of the removed entries from a map of postings, and the keys
+     * designating no entry.
+     *
+     * @param map the map of postings.
+     */
+    private void purge(final Map<?, Postings> map) {
+        for (Iterator<Postings> it = map.values().iterator(); it.hasNext();) {
+            Postings postings = it.next();
+            postings.removeBefore(firstNumber);
+            if (postings.size() == 0) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Adds the number of an entry to the postings of a key.
+     *
+     * @param <K> the type of the keys.
+     * @param map the map of postings.
+     * @param key the key.
+     * @param number the number of the entry.
+     */
+    private static <K> void index(final Map<K, Postings> map, final K key, final long number) {
+        Postings postings = map.get(key);
+        if (postings == null) {
+            postings = new Postings();
+            map.put(key, postings);
+        }
+        postings.add(number);
+    }
+
+    /**
+     * Returns the number of entries designated by postings.
+     *
+     * @param postings the postings.
+     * @return the number of entries.
+     */
+    private int count(final List<Postings> postings) {
+        long count = 0;
+        for (Postings p : postings) {
+            count += p.sizeFrom(firstNumber);
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns whether a term is made of digits only.
+     *
+     * @param term the term.
+     * @return <code>true</code> if the term is a number.
+     */
+    private static boolean isNumber(final String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (!Character.isDigit(term.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a text into lower-case terms made of letters and digits. The characters are
+     * lowered one by one, like {@link LogFilter#containsIgnoreCase(String, String)}
+     * compares them, so that the terms do not depend on the default locale.
+     *
+     * @param text the text.
+     * @return the terms.
+     */
+    static List<String> tokenize(final String text) {
+        List<String> tokens = new ArrayList<String>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                char[] term = new char[i - start];
+                for (int j = 0; j < term.length; j++) {
+                    term[j] = Character.toLowerCase(text.charAt(start + j));
+                }
+                tokens.add(new String(term));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The sorted numbers of the entries designated by a key.
+     */
+    private static final class Postings {
+
+        /** The initial capacity of the postings. */
+        private static final int INITIAL_CAPACITY = 4;
+
+        /** The numbers. */
+        private long[] numbers = new long[INITIAL_CAPACITY];
+
+        /** The index of the first number. */
+        private int start;
+
+        /** The index following the last number. */
+        private int end;
+
+        /**
+         * Adds a number, greater than or equal to the previous ones.
+         *
+         * @param number the number.
+         */
+        void add(final long number) {
+            if (end > start && numbers[end - 1] == number) {
+                return;
+            }
+            if (end == numbers.length) {
+                if (start > numbers.length / 2) {
+                    // Reuse the space of the removed numbers
+                    System.arraycopy(numbers, start, numbers, 0, end - start);
+                } else {
+                    numbers = Arrays.copyOfRange(numbers, start, numbers.length * 2);
+                }
+                end -= start;
+                start = 0;
+            }
+            numbers[end++] = number;
+        }
+
+        /**
+         * Removes the numbers less than the given number.
+         *
+         * @param first the first number kept.
+         */
+        void removeBefore(final long first) {
+            while (start < end && numbers[start] < first) {
+                start++;
+            }
+            if (start == end) {
+                numbers = new long[INITIAL_CAPACITY];
+                start = 0;
+                end = 0;
+            }
+        }
+
+        /**
+         * Returns the number of numbers.
+         *
+         * @return the number of numbers.
+         */
+        int size() {
+            return end - start;
+        }
+
+        /**
+         * Returns the number of numbers greater than or equal to the given number.
+         *
+         * @param first the first number counted.
+         * @return the number of numbers.
+         */
+        int sizeFrom(final long first) {
+            return end - indexOf(first);
+        }
+
+        /**
+         * Copies the numbers greater than or equal to the given number.
+         *
+         * @param dest the destination array.
+         * @param offset the index of the first number copied in the array.
+         * @param first the first number copied.
+         * @return the index following the last number copied in the array.
+         */
+        int copyTo(final long[] dest, final int offset, final long first) {
+            int from = indexOf(first);
+            System.arraycopy(numbers, from, dest, offset, end - from);
+            return offset + end - from;
+        }
+
+        /**
+         * Returns the index of the first number greater than or equal to the given number.
+         *
+         * @param first the number.
+         * @return the index.
+         */
+        private int indexOf(final long first) {
+            if (start == end || numbers[start] >= first) {
+                return start;
+            }
+            int from = Arrays.binarySearch(numbers, start, end, first);
+            return (from < 0) ? -from - 1 : from;
+        }
+    }
+}
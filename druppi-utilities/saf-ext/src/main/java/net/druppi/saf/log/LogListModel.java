@@ -0,0 +1,111 @@
+/*
+ * LogListModel.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * A list model holding the last log entries in a {@link RingBuffer}. Must be used on
+ * the event dispatch thread.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class LogListModel extends AbstractListModel {
+
+    /** The serial version id. */
+    private static final long serialVersionUID = -3081795442360470117L;
+
+    /** The entries. */
+    private final transient RingBuffer<LogEntry> entries;
+
+    /**
+     * Creates a new LogListModel.
+     *
+     * @param capacity the maximum number of entries.
+     */
+    LogListModel(final int capacity) {
+        entries = new RingBuffer<LogEntry>(capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getElementAt(final int index) {
+        return entries.get(index);
+    }
+
+    /**
+     * Returns an entry.
+     *
+     * @param index the index of the entry, 0 being the oldest one.
+     * @return the entry.
+     */
+    LogEntry getEntry(final int index) {
+        return entries.get(index);
+    }
+
+    /**
+     * Adds entries, removing the oldest ones if the model is full.
+     *
+     * @param newEntries the entries to add.
+     * @return the number of entries removed.
+     */
+    int addAll(final List<LogEntry> newEntries) {
+        // The entries that would be removed right away are not added
+        int first = Math.max(0, newEntries.size() - entries.getCapacity());
+        int removed = 0;
+        for (LogEntry entry : newEntries.subList(first, newEntries.size())) {
+            if (entries.add(entry)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            fireIntervalRemoved(this, 0, removed - 1);
+        }
+        int added = newEntries.size() - first;
+        if (added > 0) {
+            int size = entries.size();
+            fireIntervalAdded(this, size - added, size - 1);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    void clear() {
+        int size = entries.size();
+        entries.clear();
+        if (size > 0) {
+            fireIntervalRemoved(this, 0, size - 1);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.awt.Component;
 import java.awt.Insets;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +34,7 @@ import javax.swing.GroupLayout.Alignment;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextPane;
@@ -63,6 +65,12 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
     /** The serial version id. */
     private static final long serialVersionUID = 7500527913381457890L;
 
+    /** The number of dialogs created, used to name the handlers' MBeans. */
+    private static final AtomicInteger DIALOG_COUNT = new AtomicInteger();
+
+    /** The number of the dialog, which makes its handlers' MBean names unique. */
+    private final int dialogNumber = DIALOG_COUNT.incrementAndGet();
+
     /**
      * Creates new form LoggingDialog.
      *
@@ -96,6 +104,7 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
         toolBar = new JToolBar();
         clearButton = new JButton();
         lockButton = new JToggleButton();
+        listViewButton = new JToggleButton();
         logScrollPane = new JScrollPane();
         logTextPane = new JTextPane();
         controlPanel = new JPanel();
@@ -142,6 +151,14 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
         lockButton.setVerticalTextPosition(SwingConstants.BOTTOM);
         toolBar.add(lockButton);
 
+        listViewButton.setAction(actionMap.get("showListView")); // NOI18N
+        listViewButton.setFocusable(false);
+        listViewButton.setHorizontalTextPosition(SwingConstants.CENTER);
+        listViewButton.setMargin(new Insets(0, 0, 0, 0));
+        listViewButton.setName("listViewButton"); // NOI18N
+        listViewButton.setVerticalTextPosition(SwingConstants.BOTTOM);
+        toolBar.add(listViewButton);
+
         logPanel.add(toolBar, BorderLayout.NORTH);
 
         logScrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_ALWAYS);
@@ -253,8 +270,9 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
         if (handler == null) {
             handler = new TextPaneHandler(logTextPane);
         }
+        registerMBeans();
         final Logger root = Logger.getLogger(""); //$NON-NLS-1$
-        root.addHandler(handler);
+        root.addHandler(getHandler());
 
         levelComboBox.setSelectedItem(new LevelRenderer(root.getLevel()));
     }//GEN-LAST:event_formComponentShown
@@ -266,7 +284,7 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
      */
     private void formComponentHidden(ComponentEvent evt) {//GEN-FIRST:event_formComponentHidden
         final Logger root = Logger.getLogger(""); //$NON-NLS-1$
-        root.removeHandler(handler);
+        root.removeHandler(getHandler());
     }//GEN-LAST:event_formComponentHidden
 
     /**
@@ -313,7 +331,7 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
      */
     @Action
     public void clear() {
-        handler.clear();
+        getHandler().clear();
     }
 
     /**
@@ -321,7 +339,86 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
      */
     @Action
     public void lockScroll() {
-        handler.setScrollLocked(lockButton.isSelected());
+        getHandler().setScrollLocked(lockButton.isSelected());
+    }
+
+    /**
+     * Called when the List View button is pressed. The list view retains many more
+     * records than the text view, since it only renders the visible ones, and can filter
+     * them.
+     */
+    @Action
+    public void showListView() {
+        final Logger root = Logger.getLogger(""); //$NON-NLS-1$
+        final boolean shown = isShowing();
+        if (shown) {
+            root.removeHandler(getHandler());
+        }
+        if (listViewButton.isSelected()) {
+            if (listHandler == null) {
+                logList = new JList();
+                logList.setName("logList"); //$NON-NLS-1$
+                listHandler = new ListHandler(logList, ListHandler.DEFAULT_CAPACITY);
+                registerMBeans();
+                filterBar = new LogFilterBar(getResourceMap(), listHandler);
+            }
+            logScrollPane.setViewportView(logList);
+            logPanel.add(filterBar, BorderLayout.SOUTH);
+        } else {
+            logScrollPane.setViewportView(logTextPane);
+            if (filterBar != null) {
+                logPanel.remove(filterBar);
+            }
+        }
+        logPanel.revalidate();
+        getHandler().setScrollLocked(lockButton.isSelected());
+        if (shown) {
+            root.addHandler(getHandler());
+        }
+    }
+
+    /**
+     * Registers the MBeans of the handlers which are not registered yet, e.g. after the
+     * dialog was disposed. The names include the dialog number to be unique.
+     */
+    private void registerMBeans() {
+        if (handler != null) {
+            handler.registerMBean("text-" + dialogNumber); //$NON-NLS-1$
+        }
+        if (listHandler != null) {
+            listHandler.registerMBean("list-" + dialogNumber); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Disposes the dialog. The handlers are detached from the root logger and their MBeans
+     * are unregistered.
+     */
+    @Override
+    public void dispose() {
+        final Logger root = Logger.getLogger(""); //$NON-NLS-1$
+        if (handler != null) {
+            root.removeHandler(handler);
+            handler.unregisterMBean();
+        }
+        if (listHandler != null) {
+            root.removeHandler(listHandler);
+            listHandler.unregisterMBean();
+            listHandler.close();
+        }
+        super.dispose();
+    }
+
+    /**
+     * Returns the handler of the displayed view.
+     *
+     * @return the handler.
+     */
+    private AsyncHandler<?> getHandler() {
+        if (listViewButton.isSelected()) {
+            return listHandler;
+        }
+        return handler;
     }
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
@@ -332,6 +429,7 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
     private JPanel controlPanel;
     private JComboBox levelComboBox;
     private JLabel levelLabel;
+    private JToggleButton listViewButton;
     private JToggleButton lockButton;
     private JPanel logPanel;
     private JScrollPane logScrollPane;
@@ -346,6 +444,15 @@ public class LoggingDialog<T extends SingleFrameApplication> extends Dialog<T> {
     /** The handler used to write in the textpane. */
     private TextPaneHandler handler;
 
+    /** The list displaying the logs in the list view, created when first displayed. */
+    private JList logList;
+
+    /** The handler used to write in the list. */
+    private ListHandler listHandler;
+
+    /** The bar filtering the records of the list view. */
+    private LogFilterBar filterBar;
+
     /**
      * A renderer for the Level class.
      *
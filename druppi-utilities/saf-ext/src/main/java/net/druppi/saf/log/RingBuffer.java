@@ -0,0 +1,115 @@
+/*
+ * RingBuffer.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+/**
+ * A buffer keeping the last elements added to it. Adding an element to a full buffer
+ * removes the oldest element, so the memory used by the buffer is bounded and adding an
+ * element takes a constant time.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <E> the type of the elements.
+ *
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+final class RingBuffer<E> {
+
+    /** The elements. */
+    private final Object[] elements;
+
+    /** The index of the oldest element. */
+    private int head;
+
+    /** The number of elements. */
+    private int size;
+
+    /**
+     * Creates a new RingBuffer.
+     *
+     * @param capacity the maximum number of elements (must be positive).
+     */
+    RingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive."); //$NON-NLS-1$
+        }
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Adds an element, removing the oldest element if the buffer is full.
+     *
+     * @param element the element.
+     * @return <code>true</code> if the oldest element was removed.
+     */
+    boolean add(final E element) {
+        if (size < elements.length) {
+            elements[(head + size) % elements.length] = element;
+            size++;
+            return false;
+        }
+        elements[head] = element;
+        head = (head + 1) % elements.length;
+        return true;
+    }
+
+    /**
+     * Returns an element.
+     *
+     * @param index the index of the element, 0 being the oldest one.
+     * @return the element.
+     */
+    @SuppressWarnings("unchecked")
+    E get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return (E) elements[(head + index) % elements.length];
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the number of elements.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of elements.
+     *
+     * @return the capacity.
+     */
+    int getCapacity() {
+        return elements.length;
+    }
+
+    /**
+     * Removes all the elements.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            elements[(head + i) % elements.length] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+}
@@ -20,45 +20,57 @@ package net.druppi.saf.log;
 
 import java.awt.Color;
 import java.awt.Rectangle;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.logging.ErrorManager;
-import java.util.logging.Handler;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
-import java.util.logging.SimpleFormatter;
 
 import javax.swing.JTextPane;
 import javax.swing.SwingUtilities;
+import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
+import javax.swing.text.StyleContext;
 
 /**
- * A log handler that writes into a JTextPane.
+ * A log handler that writes into a JTextPane. The JTextPane keeps the last
+ * {@value #BUFFER_SIZE} characters.
+ * <p>
+ * The records are formatted by the publishing threads, and the messages of the same level
+ * share the same immutable attributes. The consecutive messages of the same level are
+ * inserted in the JTextPane at once.
  *
  * @author Olivier Sechet
  * @version 1.0 - Aug 25, 2010
  */
-final class TextPaneHandler extends Handler {
+final class TextPaneHandler extends AsyncHandler<TextPaneHandler.Message> {
 
     /** The maximum number of characters in the console. */
     private static final int BUFFER_SIZE = 80000;
 
+    /** The line separator. */
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator"); //$NON-NLS-1$
+
     /** The JTextPane. */
     private JTextPane textPane;
 
-    /** A messages. */
-    private final List<Message> messages = new ArrayList<Message>();
+    /** The attributes of the messages reporting dropped records. */
+    private static final AttributeSet DROPPED_ATTRIBUTES;
 
-    /** The scrollLocked flag. */
-    private volatile boolean scrollLocked = false;
+    static {
+        StyleContext context = StyleContext.getDefaultStyleContext();
+        AttributeSet att = context.addAttribute(SimpleAttributeSet.EMPTY,
+                StyleConstants.Background, Color.YELLOW);
+        att = context.addAttribute(att, StyleConstants.Foreground, Color.BLACK);
+        DROPPED_ATTRIBUTES = context.addAttribute(att, StyleConstants.Bold, Boolean.TRUE);
+    }
 
-    /** The foreground color associated to specific levels. */
-    private final Map<Level, Color> colors = new HashMap<Level, Color>();
+    /** The attributes of the messages by level. */
+    private final ConcurrentMap<Level, AttributeSet> attributes =
+            new ConcurrentHashMap<Level, AttributeSet>();
 
     /**
      * Creates a new TextPaneHandler.
@@ -67,115 +79,124 @@ final class TextPaneHandler extends Handler {
      */
     public TextPaneHandler(final JTextPane textPane) {
         this.textPane = textPane;
-        setFormatter(new SimpleFormatter());
-        setLevel(Level.ALL);
-
-        colors.put(Level.SEVERE, Color.RED);
-        colors.put(Level.WARNING, Color.ORANGE);
-        colors.put(Level.INFO, Color.BLUE);
-        colors.put(Level.CONFIG, Color.GREEN);
-        colors.put(Level.FINE, Color.GRAY);
-        colors.put(Level.FINER, Color.GRAY);
-        colors.put(Level.FINEST, Color.GRAY);
     }
 
     /**
-     * Clears the JTextPane.
+     * {@inheritDoc}
      */
-    public void clear() {
-        SwingUtilities.invokeLater(new Runnable() {
+    @Override
+    protected Message createItem(final LogRecord record) {
+        String msg = getFormatter().format(record);
+        return new Message(msg, getAttributes(record.getLevel()));
+    }
 
-            @Override
-            public void run() {
-                textPane.setText(""); //$NON-NLS-1$
-            }
-        });
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Message createDroppedItem(final long count) {
+        return new Message(getDroppedMessage(count) + LINE_SEPARATOR, DROPPED_ATTRIBUTES);
     }
 
     /**
-     * Locks/unlocks scroll.
+     * Returns the attributes of the messages of the given level.
      *
-     * @param locked <code>true</code> to lock.
+     * @param level the level.
+     * @return the attributes, shared by all the messages of the level.
      */
-    public void setScrollLocked(final boolean locked) {
-        this.scrollLocked = locked;
+    private AttributeSet getAttributes(final Level level) {
+        AttributeSet att = attributes.get(level);
+        if (att == null) {
+            StyleContext context = StyleContext.getDefaultStyleContext();
+            att = context.addAttribute(SimpleAttributeSet.EMPTY, StyleConstants.Background,
+                    Color.WHITE);
+            Color foreground = getColor(level);
+            if (foreground != null) {
+                att = context.addAttribute(att, StyleConstants.Foreground, foreground);
+            }
+            AttributeSet previous = attributes.putIfAbsent(level, att);
+            if (previous != null) {
+                att = previous;
+            }
+        }
+        return att;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void publish(final LogRecord record) {
-        if (!isLoggable(record)) {
-            return;
-        }
-        String msg;
-        try {
-            msg = getFormatter().format(record);
-        } catch (Exception ex) {
-            // We don't want to throw an exception here, but we
-            // report the exception to any registered ErrorManager.
-            reportError(null, ex, ErrorManager.FORMAT_FAILURE);
-            return;
-        }
-
-        messages.add(new Message(msg, colors.get(record.getLevel()), Color.WHITE));
-        flush();
+    protected void clearView() {
+        textPane.setText(""); //$NON-NLS-1$
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void flush() {
-        SwingUtilities.invokeLater(new Runnable() {
-
-            @Override
-            public void run() {
-                final Rectangle rect = textPane.getVisibleRect();
-                final Document document = textPane.getDocument();
-                for (Message message : messages) {
-                    try {
-                        SimpleAttributeSet att = new SimpleAttributeSet();
-
-                        att.addAttribute(StyleConstants.Foreground, message.getForeground());
-                        att.addAttribute(StyleConstants.Background, message.getBackground());
-
-                        document.insertString(document.getLength(), message.getText(), att);
-                    } catch (final BadLocationException ex) {
-                        // ignore
-                    }
-                }
-                messages.clear();
-
-                if (document.getLength() > BUFFER_SIZE) {
-                    final int size = document.getLength() - BUFFER_SIZE;
-                    try {
-                        document.remove(0, size);
-                    } catch (final BadLocationException ex) {
-                        // ignore
-                    }
-                }
+    protected void write(final List<Message> messages) {
+        int length = 0;
+        for (Message message : messages) {
+            length += message.getText().length();
+        }
+        // The messages that would be removed by the trimming are not inserted
+        int first = 0;
+        while (length > BUFFER_SIZE && first < messages.size() - 1) {
+            length -= messages.get(first).getText().length();
+            first++;
+        }
 
-                if (scrollLocked) {
-                    SwingUtilities.invokeLater(new Runnable() {
+        final Rectangle rect = textPane.getVisibleRect();
+        final Document document = textPane.getDocument();
+        StringBuilder run = new StringBuilder(length);
+        AttributeSet runAttributes = null;
+        for (Message message : messages.subList(first, messages.size())) {
+            if (message.getAttributes() != runAttributes) {
+                insertRun(document, run, runAttributes);
+                runAttributes = message.getAttributes();
+            }
+            run.append(message.getText());
+        }
+        insertRun(document, run, runAttributes);
+
+        if (document.getLength() > BUFFER_SIZE) {
+            final int size = document.getLength() - BUFFER_SIZE;
+            try {
+                document.remove(0, size);
+            } catch (final BadLocationException ex) {
+                // ignore
+            }
+        }
 
-                        @Override
-                        public void run() {
-                            textPane.scrollRectToVisible(rect);
-                        }
-                    });
+        if (isScrollLocked()) {
+            SwingUtilities.invokeLater(new Runnable() {
+
+                @Override
+                public void run() {
+                    textPane.scrollRectToVisible(rect);
                 }
-            }
-        });
+            });
+        }
     }
 
     /**
-     * {@inheritDoc}
+     * Inserts a run of messages at the end of the document, then empties the run.
+     *
+     * @param document the document.
+     * @param run the text of the messages.
+     * @param att the attributes of the messages.
      */
-    @Override
-    public void close() {
-        flush();
+    private static void insertRun(final Document document, final StringBuilder run,
+            final AttributeSet att) {
+        if (run.length() == 0) {
+            return;
+        }
+        try {
+            document.insertString(document.getLength(), run.toString(), att);
+        } catch (final BadLocationException ex) {
+            // ignore
+        }
+        run.setLength(0);
     }
 
     /**
@@ -184,26 +205,22 @@ final class TextPaneHandler extends Handler {
      * @author Olivier Sechet
      * @version 1.0 - Aug 25, 2010
      */
-    private static final class Message {
+    static final class Message {
 
         /** The text of the message. */
-        private String text;
-        /** The foreground color of the message. */
-        private Color foreground;
-        /** The background color of the message. */
-        private Color background;
+        private final String text;
+        /** The attributes of the message, shared by the messages of the same level. */
+        private final AttributeSet attributes;
 
         /**
          * Creates a new TextPaneHandler.Message.
          *
          * @param text the message's text.
-         * @param foreground the foreground color.
-         * @param background the background color.
+         * @param attributes the attributes of the message.
          */
-        public Message(final String text, final Color foreground, final Color background) {
+        public Message(final String text, final AttributeSet attributes) {
             this.text = text;
-            this.foreground = foreground;
-            this.background = background;
+            this.attributes = attributes;
         }
 
         /**
@@ -216,21 +233,12 @@ final class TextPaneHandler extends Handler {
         }
 
         /**
-         * Returns the foreground color.
-         *
-         * @return the foreground color.
-         */
-        public Color getForeground() {
-            return foreground;
-        }
-
-        /**
-         * Returns the background color.
+         * Returns the attributes of the message.
          *
-         * @return the background color.
+         * @return the attributes.
          */
-        public Color getBackground() {
-            return background;
+        public AttributeSet getAttributes() {
+            return attributes;
         }
     }
 }
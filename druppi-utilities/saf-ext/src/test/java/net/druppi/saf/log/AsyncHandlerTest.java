@@ -0,0 +1,238 @@
+/*
+ * AsyncHandlerTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class AsyncHandlerTest {
+
+    /**
+     * Test method for {@link net.druppi.saf.log.AsyncHandler#publish(LogRecord)} with the
+     * {@link DropPolicy#DROP_NEWEST} policy.
+     */
+    @Test
+    public void testDropNewest() throws Exception {
+        TestHandler handler = new TestHandler(3, DropPolicy.DROP_NEWEST);
+        publish(handler, Level.INFO, "0", "1", "2", "3", "4"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        // The records dropped are newer than the records written
+        assertEquals(Arrays.asList("0", "1", "2", AsyncHandler.getDroppedMessage(2)), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                handler.flushWritten());
+        assertEquals(3, handler.getPublishedCount());
+        assertEquals(2, handler.getDroppedCount());
+        assertEquals(0, handler.getQueuedCount());
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.AsyncHandler#publish(LogRecord)} with the
+     * {@link DropPolicy#DROP_OLDEST} policy.
+     */
+    @Test
+    public void testDropOldest() throws Exception {
+        TestHandler handler = new TestHandler(3, DropPolicy.DROP_OLDEST);
+        publish(handler, Level.INFO, "0", "1", "2", "3", "4"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        assertEquals(Arrays.asList(AsyncHandler.getDroppedMessage(2), "2", "3", "4"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                handler.flushWritten());
+        assertEquals(5, handler.getPublishedCount());
+        assertEquals(2, handler.getDroppedCount());
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.AsyncHandler#publish(LogRecord)} with the
+     * {@link DropPolicy#SAMPLE} policy.
+     */
+    @Test
+    public void testSample() throws Exception {
+        TestHandler handler = new TestHandler(2, DropPolicy.SAMPLE);
+        handler.setSampleRate(2);
+        // Once the queue is full, one record in two replaces the oldest one
+        publish(handler, Level.INFO, "0", "1", "2", "3", "4", "5"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+        assertEquals(Arrays.asList(AsyncHandler.getDroppedMessage(4), "3", "5"), //$NON-NLS-1$ //$NON-NLS-2$
+                handler.flushWritten());
+        assertEquals(4, handler.getPublishedCount());
+        assertEquals(4, handler.getDroppedCount());
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.AsyncHandler#publish(LogRecord)} with
+     * records of the reserved level, which are not dropped.
+     */
+    @Test
+    public void testReservedLevel() throws Exception {
+        final TestHandler handler = new TestHandler(1, DropPolicy.DROP_NEWEST);
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                handler.publish(new LogRecord(Level.INFO, "a")); //$NON-NLS-1$
+                handler.publish(new LogRecord(Level.SEVERE, "b")); //$NON-NLS-1$
+                handler.publish(new LogRecord(Level.INFO, "c")); //$NON-NLS-1$
+                handler.publish(new LogRecord(Level.SEVERE, "d")); //$NON-NLS-1$
+            }
+        });
+        assertEquals(3, handler.getQueuedCount());
+        assertEquals(Arrays.asList("a", "b", "d", AsyncHandler.getDroppedMessage(1)), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                handler.flushWritten());
+        assertEquals(1, handler.getDroppedCount());
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.AsyncHandler#setReservedCapacity(int)}.
+     */
+    @Test
+    public void testReservedCapacity() throws Exception {
+        TestHandler handler = new TestHandler(1, DropPolicy.DROP_NEWEST);
+        handler.setReservedCapacity(2);
+        // Beyond the reserved capacity, the records are queued with the others
+        publish(handler, Level.SEVERE, "a", "b", "c", "d"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        assertEquals(3, handler.getQueuedCount());
+        assertEquals(Arrays.asList("a", "b", "c", AsyncHandler.getDroppedMessage(1)), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                handler.flushWritten());
+        assertEquals(0, handler.getQueuedCount());
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.AsyncHandler#resetCounters()}.
+     */
+    @Test
+    public void testResetCounters() throws Exception {
+        TestHandler handler = new TestHandler(1, DropPolicy.DROP_NEWEST);
+        publish(handler, Level.INFO, "0", "1"); //$NON-NLS-1$ //$NON-NLS-2$
+        handler.resetCounters();
+        assertEquals(0, handler.getPublishedCount());
+        assertEquals(0, handler.getDroppedCount());
+        // The drops counted before the reset are not reported
+        assertEquals(Arrays.asList("0"), handler.flushWritten()); //$NON-NLS-1$
+
+        // The sampling starts again
+        handler.setDropPolicy(DropPolicy.SAMPLE);
+        handler.setSampleRate(2);
+        publish(handler, Level.INFO, "2", "3"); //$NON-NLS-1$ //$NON-NLS-2$
+        handler.resetCounters();
+        publish(handler, Level.INFO, "4", "5"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(Arrays.asList("0", AsyncHandler.getDroppedMessage(2), "5"), //$NON-NLS-1$ //$NON-NLS-2$
+                handler.flushWritten());
+    }
+
+    /**
+     * Publishes records on the event dispatch thread, so that the queue is not drained
+     * before all the records are published.
+     *
+     * @param handler the handler.
+     * @param level the level of the records.
+     * @param messages the messages of the records.
+     * @throws InterruptedException if the thread is interrupted.
+     * @throws InvocationTargetException if the publication fails.
+     */
+    private static void publish(final AsyncHandler<?> handler, final Level level,
+            final String... messages) throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                for (String message : messages) {
+                    handler.publish(new LogRecord(level, message));
+                }
+            }
+        });
+    }
+
+    /**
+     * A handler keeping the messages it writes.
+     */
+    private static final class TestHandler extends AsyncHandler<String> {
+
+        /** The messages written, accessed on the event dispatch thread. */
+        private final List<String> written = new ArrayList<String>();
+
+        /**
+         * Creates a new TestHandler.
+         *
+         * @param capacity the capacity of the queue.
+         * @param policy the drop policy.
+         */
+        TestHandler(final int capacity, final DropPolicy policy) {
+            setCapacity(capacity);
+            setDropPolicy(policy);
+        }
+
+        /**
+         * Writes the pending records and returns all the messages written.
+         *
+         * @return the messages written.
+         * @throws InterruptedException if the thread is interrupted.
+         * @throws InvocationTargetException if the write fails.
+         */
+        List<String> flushWritten() throws InterruptedException, InvocationTargetException {
+            flush();
+            final List<String> result = new ArrayList<String>();
+            SwingUtilities.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                    result.addAll(written);
+                }
+            });
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected String createItem(final LogRecord record) {
+            return record.getMessage();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void write(final List<String> newItems) {
+            written.addAll(newItems);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void clearView() {
+            written.clear();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected String createDroppedItem(final long count) {
+            return getDroppedMessage(count);
+        }
+    }
+}
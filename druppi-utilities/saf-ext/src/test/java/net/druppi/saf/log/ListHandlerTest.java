@@ -0,0 +1,236 @@
+/*
+ * ListHandlerTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import javax.swing.JList;
+import javax.swing.ListModel;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class ListHandlerTest {
+
+    /** The maximum number of records retained by the handlers. */
+    private static final int CAPACITY = 100;
+
+    /**
+     * Test method for
+     * {@link net.druppi.saf.log.ListHandler#setFilter(LogFilter, ListHandler.FilterCallback)}.
+     *
+     * @throws Exception if the test cannot run on the event dispatch thread.
+     */
+    @Test
+    public void testSetFilter() throws Exception {
+        JList list = new JList();
+        ListHandler handler = new ListHandler(list, CAPACITY);
+        List<LogEntry> all = new ArrayList<LogEntry>();
+        for (int i = 0; i < 20; i++) {
+            all.add(new LogEntry(i, Level.INFO, "logger", //$NON-NLS-1$
+                    (i % 3 == 0) ? "Disk error " + i : "Saved " + i)); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        write(handler, all);
+        assertEquals(all, getEntries(list.getModel()));
+
+        // The records written while the filter is searched are filtered too
+        LogEntry lateMatch = new LogEntry(20, Level.INFO, "logger", "Late ERROR"); //$NON-NLS-1$ //$NON-NLS-2$
+        LogEntry lateOther = new LogEntry(21, Level.INFO, "logger", "Late"); //$NON-NLS-1$ //$NON-NLS-2$
+        all.add(lateMatch);
+        all.add(lateOther);
+        LogFilter filter = new LogFilter(null, null, 0, "error"); //$NON-NLS-1$
+        assertEquals(8, applyFilter(handler, filter, lateMatch, lateOther));
+        assertEquals(filter.select(all), getEntries(list.getModel()));
+
+        // The new records are filtered when they are written
+        LogEntry newMatch = new LogEntry(22, Level.INFO, "logger", "New error"); //$NON-NLS-1$ //$NON-NLS-2$
+        LogEntry newOther = new LogEntry(23, Level.INFO, "logger", "New"); //$NON-NLS-1$ //$NON-NLS-2$
+        all.add(newMatch);
+        all.add(newOther);
+        write(handler, Arrays.asList(newMatch, newOther));
+        assertEquals(filter.select(all), getEntries(list.getModel()));
+
+        // A new filter searches all the records written so far
+        assertEquals(1, applyFilter(handler, new LogFilter(null, null, 0, "new error"))); //$NON-NLS-1$
+        assertEquals(Arrays.asList(newMatch), getEntries(list.getModel()));
+        assertEquals(2, applyFilter(handler, new LogFilter(null, null, 0, "new"))); //$NON-NLS-1$
+        assertEquals(Arrays.asList(newMatch, newOther), getEntries(list.getModel()));
+
+        // Without filter, all the records are displayed
+        assertEquals(all.size(), applyFilter(handler, null));
+        assertEquals(all, getEntries(list.getModel()));
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.saf.log.ListHandler#setFilter(LogFilter, ListHandler.FilterCallback)}
+     * when only the last search is displayed.
+     *
+     * @throws Exception if the test cannot run on the event dispatch thread.
+     */
+    @Test
+    public void testSetFilterTwice() throws Exception {
+        final JList list = new JList();
+        final ListHandler handler = new ListHandler(list, CAPACITY);
+        write(handler, Arrays.asList(new LogEntry(0, Level.INFO, "a", "first"), //$NON-NLS-1$ //$NON-NLS-2$
+                new LogEntry(1, Level.WARNING, "b", "second"))); //$NON-NLS-1$ //$NON-NLS-2$
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Integer> counts = new ArrayList<Integer>();
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                ListHandler.FilterCallback callback = new ListHandler.FilterCallback() {
+                    @Override
+                    public void filterApplied(final int count, final long millis) {
+                        counts.add(Integer.valueOf(count));
+                        latch.countDown();
+                    }
+                };
+                handler.setFilter(new LogFilter("a", null, 0, null), callback); //$NON-NLS-1$
+                handler.setFilter(new LogFilter(null, Level.WARNING, 0, null), callback);
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        // Once a later search is applied, both searches are done
+        applyFilter(handler, new LogFilter(null, Level.WARNING, 0, null));
+        // The results of the first search were ignored
+        assertEquals(Arrays.asList(Integer.valueOf(1)), counts);
+        assertEquals(1, list.getModel().getSize());
+        assertSame(Level.WARNING, ((LogEntry) list.getModel().getElementAt(0)).getLevel());
+    }
+
+    /**
+     * Test method for
+     * {@link net.druppi.saf.log.ListHandler#setFilter(LogFilter, ListHandler.FilterCallback)}
+     * when no record matches the filter.
+     *
+     * @throws Exception if the test cannot run on the event dispatch thread.
+     */
+    @Test
+    public void testSetFilterNoMatch() throws Exception {
+        JList list = new JList();
+        ListHandler handler = new ListHandler(list, CAPACITY);
+        write(handler, Arrays.asList(new LogEntry(0, Level.INFO, "a", "first"))); //$NON-NLS-1$ //$NON-NLS-2$
+
+        LogFilter filter = new LogFilter(null, null, 0, "missing"); //$NON-NLS-1$
+        LogEntry late = new LogEntry(1, Level.INFO, "a", "late"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(0, applyFilter(handler, filter, late));
+        assertEquals(0, list.getModel().getSize());
+        write(handler, Arrays.asList(new LogEntry(2, Level.INFO, "a", "new"))); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(0, list.getModel().getSize());
+
+        assertEquals(3, applyFilter(handler, null));
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.ListHandler#close()}.
+     *
+     * @throws Exception if the test cannot run on the event dispatch thread.
+     */
+    @Test
+    public void testClose() throws Exception {
+        JList list = new JList();
+        final ListHandler handler = new ListHandler(list, CAPACITY);
+        LogEntry first = new LogEntry(0, Level.INFO, "a", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+        write(handler, Arrays.asList(first));
+        handler.close();
+
+        // The records written once the handler is closed are displayed, not indexed
+        LogEntry late = new LogEntry(1, Level.INFO, "a", "late"); //$NON-NLS-1$ //$NON-NLS-2$
+        write(handler, Arrays.asList(late));
+        assertEquals(Arrays.asList(first, late), getEntries(list.getModel()));
+    }
+
+    /**
+     * Writes entries on the event dispatch thread.
+     *
+     * @param handler the handler.
+     * @param entries the entries.
+     * @throws Exception if the entries cannot be written.
+     */
+    private static void write(final ListHandler handler, final List<LogEntry> entries)
+            throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                handler.write(entries);
+            }
+        });
+    }
+
+    /**
+     * Applies a filter and waits for its results.
+     *
+     * @param handler the handler.
+     * @param filter the filter.
+     * @param written the entries written while the filter is searched.
+     * @return the number of entries displayed.
+     * @throws Exception if the filter cannot be applied.
+     */
+    private static int applyFilter(final ListHandler handler, final LogFilter filter,
+            final LogEntry... written) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final int[] count = new int[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                handler.setFilter(filter, new ListHandler.FilterCallback() {
+                    @Override
+                    public void filterApplied(final int displayed, final long millis) {
+                        count[0] = displayed;
+                        latch.countDown();
+                    }
+                });
+                if (written.length > 0) {
+                    handler.write(Arrays.asList(written));
+                }
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        return count[0];
+    }
+
+    /**
+     * Returns the entries of a list model.
+     *
+     * @param model the model.
+     * @return the entries.
+     */
+    private static List<LogEntry> getEntries(final ListModel model) {
+        List<LogEntry> entries = new ArrayList<LogEntry>();
+        for (int i = 0; i < model.getSize(); i++) {
+            entries.add((LogEntry) model.getElementAt(i));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * LogFilterTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.logging.Level;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class LogFilterTest {
+
+    /** An entry used by the tests. */
+    private static final LogEntry ENTRY = new LogEntry(1000, Level.INFO,
+            "net.druppi.saf.Application", "Loading the TITLE resource"); //$NON-NLS-1$ //$NON-NLS-2$
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogFilter#accepts(LogEntry)}.
+     */
+    @Test
+    public void testAccepts() {
+        assertTrue(new LogFilter(null, null, 0, null).isEmpty());
+        assertTrue(new LogFilter(null, null, 0, null).accepts(ENTRY));
+
+        assertTrue(new LogFilter(null, Level.INFO, 0, null).accepts(ENTRY));
+        assertFalse(new LogFilter(null, Level.WARNING, 0, null).accepts(ENTRY));
+
+        assertTrue(new LogFilter(null, null, 1000, null).accepts(ENTRY));
+        assertFalse(new LogFilter(null, null, 1001, null).accepts(ENTRY));
+
+        assertTrue(new LogFilter("net.druppi", null, 0, null).accepts(ENTRY)); //$NON-NLS-1$
+        assertFalse(new LogFilter("org", null, 0, null).accepts(ENTRY)); //$NON-NLS-1$
+        assertFalse(new LogFilter("net", null, 0, null).accepts( //$NON-NLS-1$
+                new LogEntry(1000, Level.INFO, null, "message"))); //$NON-NLS-1$
+
+        assertTrue(new LogFilter(null, null, 0, "title RES").accepts(ENTRY)); //$NON-NLS-1$
+        assertFalse(new LogFilter(null, null, 0, "titles").accepts(ENTRY)); //$NON-NLS-1$
+
+        LogFilter filter = new LogFilter("net", Level.FINE, 500, "loading"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertFalse(filter.isEmpty());
+        assertTrue(filter.accepts(ENTRY));
+        assertEquals(Arrays.asList(ENTRY), filter.select(Arrays.asList(ENTRY,
+                new LogEntry(1000, Level.FINEST, "net", "loading")))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogFilter#containsIgnoreCase(String, String)}.
+     */
+    @Test
+    public void testContainsIgnoreCase() {
+        assertTrue(LogFilter.containsIgnoreCase("abc", "")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(LogFilter.containsIgnoreCase("abc", "ABC")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(LogFilter.containsIgnoreCase("xxAbCxx", "aBc")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(LogFilter.containsIgnoreCase("xxabc", "ABC")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertFalse(LogFilter.containsIgnoreCase("ab", "abc")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertFalse(LogFilter.containsIgnoreCase("xxabd", "ABC")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogFilter#containsIgnoreCase(String, String)}
+     * with a default locale whose case mappings differ from the English ones.
+     */
+    @Test
+    public void testContainsIgnoreCaseTurkish() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR")); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            assertTrue(LogFilter.containsIgnoreCase("TITLE", "title")); //$NON-NLS-1$ //$NON-NLS-2$
+            assertTrue(LogFilter.containsIgnoreCase("title", "TITLE")); //$NON-NLS-1$ //$NON-NLS-2$
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
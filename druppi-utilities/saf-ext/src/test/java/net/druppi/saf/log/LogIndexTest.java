@@ -0,0 +1,185 @@
+/*
+ * LogIndexTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.logging.Level;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class LogIndexTest {
+
+    /** The logger names of the entries. */
+    private static final String[] LOGGERS = {
+        "net.druppi.saf", "net.druppi.saf.log", "net.druppi.util", "org.jdesktop", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    };
+
+    /** The levels of the entries. */
+    private static final Level[] LEVELS = {
+        Level.FINE, Level.CONFIG, Level.INFO, Level.WARNING, Level.SEVERE,
+    };
+
+    /** The words of the messages. */
+    private static final String[] WORDS = {
+        "Loading", "resource", "TITLE", "icon", "cache", "miss", "Saved", "preferences", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+    };
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogIndex#tokenize(String)}.
+     */
+    @Test
+    public void testTokenize() {
+        assertEquals(Arrays.asList("loading", "title", "42", "x"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                LogIndex.tokenize("  Loading 'TITLE': 42 (x)")); //$NON-NLS-1$
+        assertEquals(new ArrayList<String>(), LogIndex.tokenize(" -- ")); //$NON-NLS-1$
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogIndex#tokenize(String)} with a default
+     * locale whose case mappings differ from the English ones.
+     */
+    @Test
+    public void testTokenizeTurkish() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR")); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            assertEquals(Arrays.asList("title"), LogIndex.tokenize("TITLE")); //$NON-NLS-1$ //$NON-NLS-2$
+
+            LogIndex index = new LogIndex(100);
+            List<LogEntry> entries = createEntries(100, new Random(1));
+            index.addAll(entries);
+            LogFilter filter = new LogFilter(null, null, 0, "title"); //$NON-NLS-1$
+            assertEquals(filter.select(entries), index.search(filter, Integer.MAX_VALUE));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogIndex#search(LogFilter, int)}. The
+     * results must be the ones of a scan of the entries, including once the oldest
+     * entries were removed.
+     */
+    @Test
+    public void testSearch() {
+        Random random = new Random(7);
+        LogIndex index = new LogIndex(100);
+        List<LogEntry> entries = createEntries(1000, random);
+        for (int added = 0; added < entries.size(); added += 50) {
+            index.addAll(entries.subList(added, added + 50));
+            List<LogEntry> retained = entries.subList(Math.max(0, added - 50), added + 50);
+            assertEquals(retained.size(), index.size());
+            for (int i = 0; i < 20; i++) {
+                LogFilter filter = createFilter(random, entries.get(added).getMillis());
+                assertEquals(filter.select(retained),
+                        index.search(filter, Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogIndex#search(LogFilter, int)} with a
+     * minimum time and entries not sorted by time.
+     */
+    @Test
+    public void testSearchUnsorted() {
+        LogIndex index = new LogIndex(10);
+        List<LogEntry> entries = new ArrayList<LogEntry>();
+        for (long millis : new long[] {30, 0, 40, 10, 20}) {
+            entries.add(new LogEntry(millis, Level.INFO, "logger", "Message")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        index.addAll(entries);
+        LogFilter filter = new LogFilter(null, null, 25, null);
+        assertEquals(Arrays.asList(entries.get(0), entries.get(2)),
+                index.search(filter, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogIndex#search(LogFilter, int)} with a
+     * limit and for {@link net.druppi.saf.log.LogIndex#clear()}.
+     */
+    @Test
+    public void testSearchLimit() {
+        LogIndex index = new LogIndex(100);
+        List<LogEntry> entries = createEntries(100, new Random(3));
+        index.addAll(entries);
+        LogFilter all = new LogFilter(null, null, 0, null);
+        assertEquals(entries.subList(90, 100), index.search(all, 10));
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(new ArrayList<LogEntry>(), index.search(all, 10));
+        index.addAll(entries.subList(0, 5));
+        assertEquals(entries.subList(0, 5), index.search(all, 10));
+    }
+
+    /**
+     * Creates entries with random loggers, levels and messages, roughly sorted by time as
+     * the records published by concurrent threads.
+     *
+     * @param count the number of entries.
+     * @param random the random generator.
+     * @return the entries.
+     */
+    private static List<LogEntry> createEntries(final int count, final Random random) {
+        List<LogEntry> entries = new ArrayList<LogEntry>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder message = new StringBuilder();
+            for (int j = random.nextInt(4); j >= 0; j--) {
+                message.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            message.append(random.nextInt(1000));
+            entries.add(new LogEntry(i * 10L + random.nextInt(50), LEVELS[random.nextInt(LEVELS.length)],
+                    LOGGERS[random.nextInt(LOGGERS.length)], message.toString()));
+        }
+        return entries;
+    }
+
+    /**
+     * Creates a filter combining random criteria.
+     *
+     * @param random the random generator.
+     * @param millis a time around which the minimum time is chosen.
+     * @return the filter.
+     */
+    private static LogFilter createFilter(final Random random, final long millis) {
+        String prefix = random.nextBoolean() ? null : LOGGERS[random.nextInt(LOGGERS.length)]
+                .substring(0, 3 + random.nextInt(10));
+        Level level = random.nextBoolean() ? null : LEVELS[random.nextInt(LEVELS.length)];
+        long minMillis = random.nextBoolean() ? 0 : millis - random.nextInt(1000);
+        String text = null;
+        if (random.nextBoolean()) {
+            String word = WORDS[random.nextInt(WORDS.length)].toUpperCase(Locale.ENGLISH);
+            text = word.substring(random.nextInt(3));
+        } else if (random.nextBoolean()) {
+            text = String.valueOf(random.nextInt(100));
+        }
+        return new LogFilter(prefix, level, minMillis, text);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * LogListModelTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+
+import javax.swing.JList;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class LogListModelTest {
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogListModel#addAll(List)}.
+     */
+    @Test
+    public void testAddAll() {
+        LogListModel model = new LogListModel(3);
+        List<String> events = listen(model);
+        assertEquals(0, model.addAll(entries(0, 2)));
+        assertEquals(Arrays.asList("added 0-1"), events); //$NON-NLS-1$
+        assertEquals(2, model.getSize());
+
+        // The entries that do not fit remove the oldest ones
+        events.clear();
+        assertEquals(2, model.addAll(entries(2, 3)));
+        assertEquals(Arrays.asList("removed 0-1", "added 0-2"), events); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(2L, model.getEntry(0).getMillis());
+        assertEquals(4L, model.getEntry(2).getMillis());
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.LogListModel#addAll(List)} with no entry.
+     */
+    @Test
+    public void testAddAllEmpty() {
+        LogListModel model = new LogListModel(3);
+        JList list = new JList(model);
+        List<String> events = listen(model);
+        List<LogEntry> none = Collections.emptyList();
+        assertEquals(0, model.addAll(none));
+        assertEquals(0, events.size());
+
+        model.addAll(entries(0, 2));
+        list.setSelectedIndex(1);
+        events.clear();
+        assertEquals(0, model.addAll(none));
+        assertEquals(0, events.size());
+        assertEquals(1, list.getSelectedIndex());
+    }
+
+    /**
+     * Records the events of a model.
+     *
+     * @param model the model.
+     * @return the list receiving the events.
+     */
+    private static List<String> listen(final LogListModel model) {
+        final List<String> events = new ArrayList<String>();
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(final ListDataEvent e) {
+                events.add("added " + e.getIndex0() + "-" + e.getIndex1()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
+            @Override
+            public void intervalRemoved(final ListDataEvent e) {
+                events.add("removed " + e.getIndex0() + "-" + e.getIndex1()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
+            @Override
+            public void contentsChanged(final ListDataEvent e) {
+                events.add("changed"); //$NON-NLS-1$
+            }
+        });
+        return events;
+    }
+
+    /**
+     * Creates entries.
+     *
+     * @param from the time of the first entry.
+     * @param count the number of entries.
+     * @return the entries.
+     */
+    private static List<LogEntry> entries(final int from, final int count) {
+        List<LogEntry> entries = new ArrayList<LogEntry>();
+        for (int i = from; i < from + count; i++) {
+            entries.add(new LogEntry(i, Level.INFO, "logger", "Message " + i)); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return entries;
+    }
+}
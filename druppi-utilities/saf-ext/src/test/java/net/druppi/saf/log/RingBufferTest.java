@@ -0,0 +1,99 @@
+/*
+ * RingBufferTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class RingBufferTest {
+
+    /**
+     * Test method for {@link net.druppi.saf.log.RingBuffer#add(Object)} and
+     * {@link net.druppi.saf.log.RingBuffer#get(int)}.
+     */
+    @Test
+    public void testAdd() {
+        RingBuffer<Integer> buffer = new RingBuffer<Integer>(3);
+        assertEquals(3, buffer.getCapacity());
+        assertFalse(buffer.add(Integer.valueOf(0)));
+        assertFalse(buffer.add(Integer.valueOf(1)));
+        assertFalse(buffer.add(Integer.valueOf(2)));
+        assertEquals(3, buffer.size());
+
+        // The buffer is full: each new element removes the oldest one
+        for (int i = 3; i < 10; i++) {
+            assertTrue(buffer.add(Integer.valueOf(i)));
+            assertEquals(3, buffer.size());
+            for (int j = 0; j < 3; j++) {
+                assertEquals(Integer.valueOf(i - 2 + j), buffer.get(j));
+            }
+        }
+
+        try {
+            buffer.get(3);
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (IndexOutOfBoundsException ex) {
+            // no op: normal situation
+        }
+        try {
+            buffer.get(-1);
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (IndexOutOfBoundsException ex) {
+            // no op: normal situation
+        }
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.RingBuffer#clear()}.
+     */
+    @Test
+    public void testClear() {
+        RingBuffer<String> buffer = new RingBuffer<String>(2);
+        buffer.add("a"); //$NON-NLS-1$
+        buffer.add("b"); //$NON-NLS-1$
+        buffer.add("c"); //$NON-NLS-1$
+        buffer.clear();
+        assertEquals(0, buffer.size());
+
+        assertFalse(buffer.add("d")); //$NON-NLS-1$
+        assertEquals("d", buffer.get(0)); //$NON-NLS-1$
+        assertEquals(1, buffer.size());
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.RingBuffer#RingBuffer(int)}.
+     */
+    @Test
+    public void testInvalidCapacity() {
+        try {
+            new RingBuffer<String>(0);
+            fail("Should throw an exception."); //$NON-NLS-1$
+        } catch (IllegalArgumentException ex) {
+            // no op: normal situation
+        }
+    }
+}
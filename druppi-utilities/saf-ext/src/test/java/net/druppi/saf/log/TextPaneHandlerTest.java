@@ -0,0 +1,166 @@
+/*
+ * TextPaneHandlerTest.java
+ *
+ * Copyright (C) 2026 Olivier Sechet
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.druppi.saf.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.swing.JTextPane;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.StyleConstants;
+
+import net.druppi.saf.log.TextPaneHandler.Message;
+
+import org.junit.Test;
+
+/**
+ * @author Olivier Sechet
+ * @version 1.0 - Oct 18, 2026
+ */
+public class TextPaneHandlerTest {
+
+    /** The maximum number of characters kept by the handler. */
+    private static final int BUFFER_SIZE = 80000;
+
+    /**
+     * Test method for {@link net.druppi.saf.log.TextPaneHandler#createItem(LogRecord)}.
+     */
+    @Test
+    public void testSharedAttributes() {
+        TextPaneHandler handler = new TextPaneHandler(new JTextPane());
+        Message a = handler.createItem(new LogRecord(Level.INFO, "a")); //$NON-NLS-1$
+        Message b = handler.createItem(new LogRecord(Level.INFO, "b")); //$NON-NLS-1$
+        Message c = handler.createItem(new LogRecord(Level.WARNING, "c")); //$NON-NLS-1$
+        assertSame(a.getAttributes(), b.getAttributes());
+        assertNotSame(a.getAttributes(), c.getAttributes());
+        assertEquals(Color.BLUE, StyleConstants.getForeground(a.getAttributes()));
+        assertEquals(Color.ORANGE, StyleConstants.getForeground(c.getAttributes()));
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.TextPaneHandler#write(List)}. The
+     * consecutive messages of the same level are inserted at once.
+     *
+     * @throws BadLocationException if the document cannot be read.
+     */
+    @Test
+    public void testWriteRuns() throws BadLocationException {
+        JTextPane textPane = new JTextPane();
+        TextPaneHandler handler = new TextPaneHandler(textPane);
+        AttributeSet info = handler.createItem(new LogRecord(Level.INFO, "")).getAttributes(); //$NON-NLS-1$
+        AttributeSet warning = handler.createItem(
+                new LogRecord(Level.WARNING, "")).getAttributes(); //$NON-NLS-1$
+        List<Integer> inserts = recordInserts(textPane.getDocument());
+
+        handler.write(Arrays.asList(new Message("ab\n", info), //$NON-NLS-1$
+                new Message("cd\n", info), new Message("ef\n", warning), //$NON-NLS-1$ //$NON-NLS-2$
+                new Message("gh\n", info))); //$NON-NLS-1$
+        Document document = textPane.getDocument();
+        assertEquals("ab\ncd\nef\ngh\n", document.getText(0, document.getLength())); //$NON-NLS-1$
+        assertEquals(Arrays.asList(Integer.valueOf(6), Integer.valueOf(3), Integer.valueOf(3)),
+                inserts);
+    }
+
+    /**
+     * Test method for {@link net.druppi.saf.log.TextPaneHandler#write(List)}. The
+     * document keeps the last characters and the messages that would be removed right
+     * away are not inserted.
+     *
+     * @throws BadLocationException if the document cannot be read.
+     */
+    @Test
+    public void testWriteTrim() throws BadLocationException {
+        JTextPane textPane = new JTextPane();
+        TextPaneHandler handler = new TextPaneHandler(textPane);
+        AttributeSet info = handler.createItem(new LogRecord(Level.INFO, "")).getAttributes(); //$NON-NLS-1$
+        Document document = textPane.getDocument();
+        List<Integer> inserts = recordInserts(document);
+
+        int length = 30000;
+        handler.write(Arrays.asList(new Message(repeat('a', length), info),
+                new Message(repeat('b', length), info), new Message(repeat('c', length), info),
+                new Message(repeat('d', length), info)));
+        // Only the last two messages fit
+        assertEquals(Arrays.asList(Integer.valueOf(2 * length)), inserts);
+        assertEquals(2 * length, document.getLength());
+        assertEquals("c", document.getText(0, 1)); //$NON-NLS-1$
+
+        handler.write(Arrays.asList(new Message(repeat('e', length), info),
+                new Message(repeat('f', length), info)));
+        // The oldest characters are removed
+        assertEquals(repeat('d', BUFFER_SIZE - 2 * length) + repeat('e', length)
+                + repeat('f', length), document.getText(0, document.getLength()));
+
+        // A message longer than the buffer is inserted, then trimmed
+        handler.write(Arrays.asList(new Message(repeat('g', BUFFER_SIZE + 1), info)));
+        assertEquals(repeat('g', BUFFER_SIZE), document.getText(0, document.getLength()));
+    }
+
+    /**
+     * Records the length of each insertion in a document.
+     *
+     * @param document the document.
+     * @return the lengths of the insertions, updated when the document changes.
+     */
+    private static List<Integer> recordInserts(final Document document) {
+        final List<Integer> inserts = new ArrayList<Integer>();
+        document.addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(final DocumentEvent e) {
+                inserts.add(Integer.valueOf(e.getLength()));
+            }
+
+            @Override
+            public void removeUpdate(final DocumentEvent e) {
+                // no op
+            }
+
+            @Override
+            public void changedUpdate(final DocumentEvent e) {
+                // no op
+            }
+        });
+        return inserts;
+    }
+
+    /**
+     * Returns a string repeating a character.
+     *
+     * @param c the character.
+     * @param count the number of characters.
+     * @return the string.
+     */
+    private static String repeat(final char c, final int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}